@@ -0,0 +1,105 @@
+package nl.tudelft.sem.template.orders.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the query behind getOrder, an order looked up by its id, with 8 concurrent clients.
+ * Every call borrows a connection, prepares the statement and runs it, as a repository call does.
+ *
+ * <p>{@code driverManager} is the DriverManagerDataSource H2Config used to return, which opens a new
+ * physical connection per call. {@code pooled} is the data source H2Config returns now.</p>
+ *
+ * <p>Run with {@code ./gradlew jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class DataSourceBenchmark {
+    private static final String URL = "jdbc:h2:mem:dataSourceBenchmark;DB_CLOSE_DELAY=-1";
+    private static final String FIND_BY_ID = "SELECT id, customer_id, vendor_id, status, total_price "
+            + "FROM customer_order WHERE id = ?";
+
+    @Param({"driverManager", "pooled"})
+    private String dataSourceType;
+
+    private DataSource dataSource;
+    private UUID orderId;
+
+    /**
+     * Creates the data source and an order to look up
+     */
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        if ("pooled".equals(dataSourceType)) {
+            StandardEnvironment environment = new StandardEnvironment();
+            environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+                    Map.of("jdbc.driverClassName", "org.h2.Driver", "jdbc.url", URL)));
+            dataSource = new H2Config(environment).dataSource(new SimpleMeterRegistry());
+        } else {
+            DriverManagerDataSource driverManager = new DriverManagerDataSource();
+            driverManager.setDriverClassName("org.h2.Driver");
+            driverManager.setUrl(URL);
+            dataSource = driverManager;
+        }
+
+        orderId = UUID.randomUUID();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS customer_order (id UUID PRIMARY KEY, customer_id UUID, "
+                    + "vendor_id UUID, status VARCHAR(32), total_price DOUBLE)");
+            statement.execute("INSERT INTO customer_order VALUES ('" + orderId + "', RANDOM_UUID(), RANDOM_UUID(), "
+                    + "'PENDING', 10.0)");
+        }
+    }
+
+    /**
+     * Closes the pool
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    /**
+     * Looks up the order
+     */
+    @Benchmark
+    public String getOrder() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND_BY_ID)) {
+            statement.setObject(1, orderId);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getString("status") : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order history and menu lookups against 1M orders, from 100k customers at 1k vendors, and 20k dishes.
+ * {@code indexed=false} is the schema as it was, {@code indexed=true} adds the indexes declared on the
+ * Order and Dish entities.
+ *
+ * <p>Run with {@code ./gradlew jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecondaryIndexBenchmark {
+    private static final int ORDERS = 1_000_000;
+    private static final int CUSTOMERS = 100_000;
+    private static final int VENDORS = 1_000;
+    private static final int DISHES = 20_000;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement vendorHistory;
+    private PreparedStatement customerHistory;
+    private PreparedStatement menu;
+    private final List<UUID> vendorIds = new ArrayList<>();
+    private final List<UUID> customerIds = new ArrayList<>();
+
+    /**
+     * Creates and fills the tables
+     */
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:secondaryIndexBenchmark" + indexed);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE vendor_ids (n INT PRIMARY KEY, id UUID) AS "
+                    + "SELECT X, RANDOM_UUID() FROM SYSTEM_RANGE(0, " + (VENDORS - 1) + ")");
+            statement.execute("CREATE TABLE customer_ids (n INT PRIMARY KEY, id UUID) AS "
+                    + "SELECT X, RANDOM_UUID() FROM SYSTEM_RANGE(0, " + (CUSTOMERS - 1) + ")");
+            statement.execute("CREATE TABLE customer_order (id UUID PRIMARY KEY, vendor_id UUID, customer_id UUID, "
+                    + "status INT, order_time TIMESTAMP, total_price DOUBLE)");
+            statement.execute("INSERT INTO customer_order SELECT RANDOM_UUID(), "
+                    + "(SELECT id FROM vendor_ids WHERE n = MOD(X, " + VENDORS + ")), "
+                    + "(SELECT id FROM customer_ids WHERE n = MOD(X * 7, " + CUSTOMERS + ")), "
+                    + "MOD(X, 7), DATEADD('SECOND', X, TIMESTAMP '2023-01-01 00:00:00'), 10.0 "
+                    + "FROM SYSTEM_RANGE(1, " + ORDERS + ")");
+            statement.execute("CREATE TABLE dish (id UUID PRIMARY KEY, vendor_id UUID, is_deleted BOOLEAN, "
+                    + "name VARCHAR(255), price DOUBLE)");
+            statement.execute("INSERT INTO dish SELECT RANDOM_UUID(), "
+                    + "(SELECT id FROM vendor_ids WHERE n = MOD(X, " + VENDORS + ")), MOD(X, 10) = 0, 'Dish', 10.0 "
+                    + "FROM SYSTEM_RANGE(1, " + DISHES + ")");
+            if (indexed) {
+                statement.execute("CREATE INDEX idx_customer_order_vendor_status_time "
+                        + "ON customer_order (vendor_id, status, order_time)");
+                statement.execute("CREATE INDEX idx_customer_order_customer_time "
+                        + "ON customer_order (customer_id, order_time)");
+                statement.execute("CREATE INDEX idx_dish_vendor_deleted ON dish (vendor_id, is_deleted)");
+            }
+            statement.execute("ANALYZE");
+
+            try (ResultSet result = statement.executeQuery("SELECT id FROM vendor_ids")) {
+                while (result.next()) {
+                    vendorIds.add(result.getObject(1, UUID.class));
+                }
+            }
+            try (ResultSet result = statement.executeQuery("SELECT id FROM customer_ids")) {
+                while (result.next()) {
+                    customerIds.add(result.getObject(1, UUID.class));
+                }
+            }
+        }
+
+        vendorHistory = connection.prepareStatement("SELECT * FROM customer_order "
+                + "WHERE vendor_id = ? AND status = ? ORDER BY order_time DESC");
+        customerHistory = connection.prepareStatement("SELECT * FROM customer_order "
+                + "WHERE customer_id = ? ORDER BY order_time DESC");
+        menu = connection.prepareStatement("SELECT * FROM dish WHERE vendor_id = ? AND is_deleted = FALSE");
+    }
+
+    /**
+     * Drops the database
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private static int count(PreparedStatement query) throws SQLException {
+        int rows = 0;
+        try (ResultSet result = query.executeQuery()) {
+            while (result.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    /**
+     * Orders of a vendor with a given status, newest first
+     */
+    @Benchmark
+    public int vendorHistory() throws SQLException {
+        vendorHistory.setObject(1, random(vendorIds));
+        vendorHistory.setInt(2, ThreadLocalRandom.current().nextInt(7));
+        return count(vendorHistory);
+    }
+
+    /**
+     * Orders of a customer, newest first
+     */
+    @Benchmark
+    public int customerHistory() throws SQLException {
+        customerHistory.setObject(1, random(customerIds));
+        return count(customerHistory);
+    }
+
+    /**
+     * Dishes on the menu of a vendor
+     */
+    @Benchmark
+    public int menu() throws SQLException {
+        menu.setObject(1, random(vendorIds));
+        return count(menu);
+    }
+}
@@ -0,0 +1,112 @@
+package nl.tudelft.sem.template.orders.validator;
+
+import nl.tudelft.sem.template.model.UpdateDishQtyRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of rejecting invalid addDishToOrder requests, which matters most under abusive traffic.
+ * The request has a user but no order, so it is rejected by the ORDER check, before any service is called.
+ *
+ * <p>{@code listScan} is the DataValidator as it was before validation plans: a {@code List.contains}
+ * per field and a new exception, with stack trace, per rejected request. {@code compiledPlan} is the
+ * current DataValidator.</p>
+ *
+ * <p>Run with {@code ./gradlew jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataValidatorBenchmark {
+    private static final List<DataValidationField> FIELDS = ValidatedOperation.ADD_DISH_TO_ORDER.getFields();
+
+    private DataValidator compiled;
+    private ListScanValidator listScan;
+    private ValidatorRequest invalid;
+
+    /**
+     * Creates both validators and the invalid request
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        compiled = new DataValidator(null, null, null, FIELDS);
+        listScan = new ListScanValidator(FIELDS);
+
+        UpdateDishQtyRequest updateDishQtyRequest = new UpdateDishQtyRequest();
+        updateDishQtyRequest.setQuantity(1);
+        invalid = new ValidatorRequest(UUID.randomUUID(), UserType.CUSTOMER, null, UUID.randomUUID(),
+                updateDishQtyRequest, null, null, null, null);
+    }
+
+    /**
+     * Rejects the request with the compiled plan
+     */
+    @Benchmark
+    public HttpStatus compiledPlan() {
+        try {
+            compiled.handle(invalid);
+            return HttpStatus.OK;
+        } catch (ValidationFailureException e) {
+            return e.getFailureStatus();
+        }
+    }
+
+    /**
+     * Rejects the request by scanning the field list
+     */
+    @Benchmark
+    public HttpStatus listScan() {
+        try {
+            listScan.handle(invalid);
+            return HttpStatus.OK;
+        } catch (StackTracedFailure e) {
+            return e.status;
+        }
+    }
+
+    /**
+     * The checks of the previous DataValidator that run before its ORDER check fails
+     */
+    private static final class ListScanValidator {
+        private final transient List<DataValidationField> fields;
+
+        ListScanValidator(List<DataValidationField> fields) {
+            this.fields = fields;
+        }
+
+        boolean handle(ValidatorRequest request) {
+            if (fields.contains(DataValidationField.USER) && request.getUserUUID() == null) {
+                throw new StackTracedFailure(HttpStatus.BAD_REQUEST);
+            }
+            if (fields.contains(DataValidationField.ORDER) && request.getOrderUUID() == null) {
+                throw new StackTracedFailure(HttpStatus.BAD_REQUEST);
+            }
+            throw new IllegalStateException("The benchmark request should be rejected by the ORDER check");
+        }
+    }
+
+    /**
+     * ValidationFailureException as it was: allocated per failure, with a stack trace
+     */
+    private static final class StackTracedFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient HttpStatus status;
+
+        StackTracedFailure(HttpStatus status) {
+            super();
+            this.status = status;
+        }
+    }
+}
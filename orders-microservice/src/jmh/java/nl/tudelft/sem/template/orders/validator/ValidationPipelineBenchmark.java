@@ -0,0 +1,136 @@
+package nl.tudelft.sem.template.orders.validator;
+
+import nl.tudelft.sem.template.orders.domain.IDishService;
+import nl.tudelft.sem.template.orders.domain.IOrderService;
+import nl.tudelft.sem.template.orders.integration.AdminFacade;
+import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.integration.VendorFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Compares validating a getVendors request with validators obtained from the application context per request,
+ * as the controllers used to do, against the prebuilt pipeline of the operation.
+ * The facades always answer immediately, so only the cost of building and running the chain is measured.
+ *
+ * <p>Run with {@code ./gradlew jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationPipelineBenchmark {
+    private AnnotationConfigApplicationContext applicationContext;
+    private ValidationPipelines validationPipelines;
+    private ValidatorRequest request;
+
+    /**
+     * Prototype validator beans, the way they were defined before the pipelines existed
+     */
+    @Configuration
+    public static class PrototypeValidatorConfig {
+        @Autowired
+        private transient IOrderService orderService;
+        @Autowired
+        private transient IDishService dishService;
+        @Autowired
+        private transient CustomerFacade customerFacade;
+        @Autowired
+        private transient VendorFacade vendorFacade;
+        @Autowired
+        private transient AdminFacade adminFacade;
+
+        /**
+         * New data validator for every lookup
+         */
+        @Bean
+        @org.springframework.context.annotation.Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+        public DataValidator getDataValidator(List<DataValidationField> fields) {
+            return new DataValidator(orderService, dishService, vendorFacade, fields);
+        }
+
+        /**
+         * New authorization validator for every lookup
+         */
+        @Bean
+        @org.springframework.context.annotation.Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+        public UserAuthorizationValidator getAuthValidator() {
+            return new UserAuthorizationValidator(customerFacade, vendorFacade, orderService, dishService,
+                    adminFacade);
+        }
+    }
+
+    /**
+     * Sets up both ways of validating, with facades that accept every customer
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        IOrderService orderService = mock(IOrderService.class, withSettings().stubOnly());
+        IDishService dishService = mock(IDishService.class, withSettings().stubOnly());
+        CustomerFacade customerFacade = mock(CustomerFacade.class, withSettings().stubOnly());
+        VendorFacade vendorFacade = mock(VendorFacade.class, withSettings().stubOnly());
+        AdminFacade adminFacade = mock(AdminFacade.class, withSettings().stubOnly());
+        when(customerFacade.checkRoleById(any())).thenReturn(true);
+        when(customerFacade.existsById(any())).thenReturn(true);
+
+        applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.registerBean(IOrderService.class, () -> orderService);
+        applicationContext.registerBean(IDishService.class, () -> dishService);
+        applicationContext.registerBean(CustomerFacade.class, () -> customerFacade);
+        applicationContext.registerBean(VendorFacade.class, () -> vendorFacade);
+        applicationContext.registerBean(AdminFacade.class, () -> adminFacade);
+        applicationContext.register(PrototypeValidatorConfig.class);
+        applicationContext.refresh();
+
+        validationPipelines = ValidationPipelines.sequential(orderService, dishService, customerFacade, vendorFacade,
+                adminFacade);
+
+        request = new ValidatorRequest();
+        request.setUserUUID(UUID.randomUUID());
+        request.setUserType(UserType.CUSTOMER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    /**
+     * Looks up and links new validators for the request
+     */
+    @Benchmark
+    public boolean prototypeBeans() {
+        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER));
+        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
+        dataValidator.setNext(userAuthorizationValidator);
+        return dataValidator.handle(request);
+    }
+
+    /**
+     * Uses the pipeline built at startup
+     */
+    @Benchmark
+    public boolean prebuiltPipeline() {
+        return validationPipelines.get(ValidatedOperation.GET_VENDORS).validate(request);
+    }
+}
@@ -0,0 +1,170 @@
+package nl.tudelft.sem.template.orders.authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import nl.tudelft.sem.template.orders.integration.UserRole;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies role tokens: JWTs signed with HS256 using {@code jwt.secret}, that carry the UUID
+ * and role of a user. A verified token proves the role of the user without asking the Users microservice.
+ *
+ * <p>The signing key is derived from the secret once, and every thread keeps its own initialized Mac,
+ * so verifying a token costs one HMAC and no allocation of key material. Only tokens with the exact header
+ * this service issues are accepted, so the algorithm cannot be swapped by the sender.</p>
+ */
+@Component
+public class JwtTokenService {
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    // The length of the HS256 output, shorter secrets make the signing key weaker than the signature
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final transient ThreadLocal<Mac> macs;
+    private final transient Duration ttl;
+    private final transient Clock clock;
+
+    /**
+     * Constructor for JwtTokenService. The secret has no default, as anyone who knows it can issue tokens
+     * for any user and role.
+     *
+     * @param secret     secret the tokens are signed with, at least 32 bytes
+     * @param ttlSeconds how long an issued token is valid
+     * @throws IllegalArgumentException if the secret is missing or shorter than 32 bytes
+     */
+    @Autowired
+    public JwtTokenService(@Value("${jwt.secret}") String secret,
+                           @Value("${jwt.ttl-seconds:3600}") long ttlSeconds) {
+        this(secret, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    /**
+     * Testing constructor
+     */
+    public JwtTokenService(String secret, Duration ttl, Clock clock) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("jwt.secret must be set to at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                e.printStackTrace();
+                throw new RuntimeException(e);
+            }
+        });
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * How long issued tokens are valid
+     *
+     * @return the time to live of a token
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Issues a token for a user. The caller is responsible for having checked the role of the user.
+     *
+     * @param userId id of the user
+     * @param role   role of the user
+     * @return the signed token
+     */
+    public String issue(UUID userId, UserRole role) {
+        ObjectNode payload = MAPPER.createObjectNode()
+                .put("sub", userId.toString())
+                .put("role", role.name())
+                .put("exp", clock.instant().plus(ttl).getEpochSecond());
+        try {
+            String signingInput = HEADER + "." + ENCODER.encodeToString(MAPPER.writeValueAsBytes(payload));
+            return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Verifies the signature and expiry of a token
+     *
+     * @param token the token
+     * @return the claims of the token, or empty if it is malformed, not signed by this service or expired
+     */
+    public Optional<TokenClaims> verify(String token) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = token.lastIndexOf('.');
+        if (headerEnd < 0 || headerEnd == payloadEnd || !HEADER.equals(token.substring(0, headerEnd))) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(payloadEnd + 1));
+            if (!MessageDigest.isEqual(sign(token.substring(0, payloadEnd)), signature)) {
+                return Optional.empty();
+            }
+
+            JsonNode payload = MAPPER.readTree(DECODER.decode(token.substring(headerEnd + 1, payloadEnd)));
+            Instant expiresAt = Instant.ofEpochSecond(payload.path("exp").asLong());
+            if (!clock.instant().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(UUID.fromString(payload.path("sub").asText()),
+                    UserRole.valueOf(payload.path("role").asText()), expiresAt));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the bearer token of the request that is currently being handled
+     *
+     * @return the token, or empty if the request has none or no request is being handled
+     */
+    public Optional<String> currentBearerToken() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return Optional.empty();
+        }
+        String header = ((ServletRequestAttributes) attributes).getRequest().getHeader(AUTHORIZATION_HEADER);
+        if (header == null || !header.startsWith(BEARER)) {
+            return Optional.empty();
+        }
+        return Optional.of(header.substring(BEARER.length()).trim());
+    }
+
+    private byte[] sign(String signingInput) {
+        return macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+}
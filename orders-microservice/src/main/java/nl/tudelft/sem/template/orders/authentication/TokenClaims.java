@@ -0,0 +1,40 @@
+package nl.tudelft.sem.template.orders.authentication;
+
+import nl.tudelft.sem.template.orders.integration.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The verified contents of a role token: who the user is, which role they have, and until when.
+ */
+public final class TokenClaims {
+    private final transient UUID userId;
+    private final transient UserRole role;
+    private final transient Instant expiresAt;
+
+    /**
+     * Constructor for TokenClaims
+     *
+     * @param userId    id of the user
+     * @param role      role of the user
+     * @param expiresAt moment the token expires
+     */
+    public TokenClaims(UUID userId, UserRole role, Instant expiresAt) {
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,151 @@
+package nl.tudelft.sem.template.orders.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Second-level cache of Hibernate. Dishes, their allergens and ingredients, and the dish lists of vendor menus
+ * are kept in bounded Caffeine caches, behind the JCache API. Hibernate updates or invalidates the cached dishes
+ * when a dish is written, and drops cached menus when any dish changes, so reads never see a stale dish.
+ *
+ * <p>Every region is created here, and Hibernate fails to start if an entity or query asks for a region
+ * that does not exist, so nothing is cached without bounds. Hits, misses, puts and removals of every region
+ * are published as cache.* metrics, and the hit ratio as cache.hit.ratio.</p>
+ */
+@Configuration
+public class CacheConfig {
+    public static final String DISH_REGION = "dishes";
+    public static final String DISH_ALLERGENS_REGION = "dish-allergens";
+    public static final String DISH_INGREDIENTS_REGION = "dish-ingredients";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final String CACHE_MANAGER_TAG = "cacheManager";
+    private static final List<String> DISH_REGIONS = List.of(DISH_REGION, DISH_ALLERGENS_REGION,
+            DISH_INGREDIENTS_REGION);
+    private static final List<String> QUERY_REGIONS = List.of(DishRepository.MENU_CACHE_REGION, QUERY_RESULTS_REGION);
+
+    /**
+     * Creates the cache regions. Every application context gets its own cache manager, so contexts never share
+     * cached entities.
+     *
+     * @param dishMaximumSize      maximum number of dishes, and of allergen and ingredient lists, that are cached
+     * @param queryMaximumSize     maximum number of query results that are cached
+     * @param expireAfterWriteSeconds time after which a cached entry is reloaded even if it was not invalidated
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${dishes.cache.maximum-size:10000}") long dishMaximumSize,
+                                              @Value("${dishes.cache.query-maximum-size:1000}") long queryMaximumSize,
+                                              @Value("${dishes.cache.expire-after-write-seconds:3600}")
+                                                      long expireAfterWriteSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("orders-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        Duration expireAfterWrite = Duration.ofSeconds(expireAfterWriteSeconds);
+
+        for (String region : DISH_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(OptionalLong.of(dishMaximumSize), expireAfterWrite));
+        }
+        for (String region : QUERY_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(OptionalLong.of(queryMaximumSize), expireAfterWrite));
+        }
+        // Holds one timestamp per table. Cached query results are only valid while it holds the timestamps
+        // of their tables, so it is neither bounded nor expired
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration(OptionalLong.empty(), null));
+        return cacheManager;
+    }
+
+    /**
+     * Makes Hibernate store its second-level cache in the regions of the cache manager
+     *
+     * @param hibernateCacheManager the cache manager
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Publishes the statistics of every cache region
+     *
+     * @param hibernateCacheManager the cache manager
+     * @return the binder of the cache metrics
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = hibernateCacheManager.getCache(name);
+                JCacheMetrics.monitor(registry, cache, CACHE_MANAGER_TAG, "hibernate");
+                bindHitRatio(registry, cache);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(OptionalLong maximumSize,
+                                                                            Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate caches disassembled state that it never modifies, so entries need not be copied
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(maximumSize);
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        return configuration;
+    }
+
+    private static void bindHitRatio(MeterRegistry registry, Cache<?, ?> cache) {
+        CacheStatisticsMXBean statistics = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                statisticsName(cache), CacheStatisticsMXBean.class);
+        Gauge.builder("cache.hit.ratio", statistics, stats -> stats.getCacheHitPercentage() / 100)
+                .description("Share of the lookups of a second-level cache region that were hits")
+                .tag("cache", cache.getName())
+                .tag(CACHE_MANAGER_TAG, "hibernate")
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static ObjectName statisticsName(Cache<?, ?> cache) {
+        try {
+            return new ObjectName("javax.cache:type=CacheStatistics"
+                    + ",CacheManager=" + sanitize(cache.getCacheManager().getURI().toString())
+                    + ",Cache=" + sanitize(cache.getName()));
+        } catch (MalformedObjectNameException e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll(",|:|=|\n", ".");
+    }
+}
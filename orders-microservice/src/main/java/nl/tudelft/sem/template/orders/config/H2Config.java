@@ -1,5 +1,8 @@
 package nl.tudelft.sem.template.orders.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
 import lombok.Getter;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -8,7 +11,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -20,6 +22,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EntityScan("nl.tudelft.sem.template.model")
 @EnableTransactionManagement
 public class H2Config {
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 30_000;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
 
     @Getter
     private final Environment environment;
@@ -29,18 +34,31 @@ public class H2Config {
     }
 
     /**
-     * Set up the connection to the database.
+     * Set up the connection pool to the database.
+     * Connections are opened once and reused, instead of opening a new physical connection per query.
+     * H2 caches the prepared statements of every pooled connection, and the pool publishes its
+     * active, idle and pending connections and acquire times as hikaricp.* metrics.
      *
+     * @param meterRegistry registry the pool metrics are published to
      * @return The data source.
      */
     @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(environment.getProperty("jdbc.driverClassName"));
-        dataSource.setUrl(environment.getProperty("jdbc.url"));
-        dataSource.setUsername(environment.getProperty("jdbc.user"));
-        dataSource.setPassword(environment.getProperty("jdbc.pass"));
+    public DataSource dataSource(MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("orders");
+        config.setDriverClassName(environment.getProperty("jdbc.driverClassName"));
+        config.setJdbcUrl(environment.getProperty("jdbc.url"));
+        config.setUsername(environment.getProperty("jdbc.user"));
+        config.setPassword(environment.getProperty("jdbc.pass"));
+        config.setMaximumPoolSize(environment.getProperty("jdbc.pool.maximum-pool-size", Integer.class,
+                DEFAULT_POOL_SIZE));
+        config.setMinimumIdle(environment.getProperty("jdbc.pool.minimum-idle", Integer.class, DEFAULT_POOL_SIZE));
+        config.setConnectionTimeout(environment.getProperty("jdbc.pool.connection-timeout-ms", Long.class,
+                DEFAULT_CONNECTION_TIMEOUT_MS));
+        config.addDataSourceProperty("QUERY_CACHE_SIZE", environment.getProperty("jdbc.pool.statement-cache-size",
+                Integer.class, DEFAULT_STATEMENT_CACHE_SIZE));
+        config.setMetricRegistry(meterRegistry);
 
-        return dataSource;
+        return new HikariDataSource(config);
     }
 }
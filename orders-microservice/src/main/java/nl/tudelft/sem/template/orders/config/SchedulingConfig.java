@@ -0,0 +1,12 @@
+package nl.tudelft.sem.template.orders.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs, such as the refresh of the vendor directory.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -3,15 +3,16 @@ package nl.tudelft.sem.template.orders.controllers;
 import nl.tudelft.sem.template.api.AdminApi;
 import nl.tudelft.sem.template.orders.domain.IOrderService;
 import nl.tudelft.sem.template.model.Order;
-import nl.tudelft.sem.template.orders.integration.AdminFacade;
-import nl.tudelft.sem.template.orders.validator.DataValidationField;
-import nl.tudelft.sem.template.orders.validator.DataValidator;
-import nl.tudelft.sem.template.orders.validator.UserAuthorizationValidator;
+import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.validator.UserType;
+import nl.tudelft.sem.template.orders.validator.ValidatedOperation;
 import nl.tudelft.sem.template.orders.validator.ValidationFailureException;
+import nl.tudelft.sem.template.orders.validator.ValidationPipeline;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
 import nl.tudelft.sem.template.orders.validator.ValidatorRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -24,50 +25,60 @@ public class AdminController implements AdminApi {
 
 
     private final transient IOrderService orderService;
-    private final transient ApplicationContext applicationContext;
+    private final transient CustomerFacade customerFacade;
+    private final transient ValidationPipelines validationPipelines;
 
     /**
      * Constructs an AdminController. Should only be called manually during testing
      */
     @Autowired
-    public AdminController(IOrderService orderService, ApplicationContext applicationContext) {
+    public AdminController(IOrderService orderService, CustomerFacade customerFacade,
+                           ValidationPipelines validationPipelines) {
         this.orderService = orderService;
-        this.applicationContext = applicationContext;
+        this.customerFacade = customerFacade;
+        this.validationPipelines = validationPipelines;
     }
 
     /**
      * GET /admin/{adminId}/orders : View all orders
-     * Allows an admin to view all orders in the system.
+     * Allows an admin to view all orders in the system, newest first, one page at a time.
      *
      * @param adminId The UUID of the admin. (required)
-     * @return List of all orders. (status code 200)
-     *         or Bad Request - Invalid admin UUID. (status code 400)
+     * @param limit Maximum number of orders in the page. (optional, default to 50)
+     * @param pageToken Token of the page, from the X-Next-Page-Token header of the previous page. (optional)
+     * @return A page of all orders, newest first. (status code 200)
+     *         or Bad Request - Invalid admin UUID, page size or page token. (status code 400)
      *         or Unauthorized - User is not an admin. (status code 403)
      *         or Not Found - Admin not found. (status code 404)
      *         or Internal Server Error - An unexpected error occurred on the server. (status code 500)
      */
 
     @Override
-    public ResponseEntity<List<Order>> adminGetAllOrders(UUID adminId) {
+    public ResponseEntity<List<Order>> adminGetAllOrders(UUID adminId, Integer limit, String pageToken) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADMIN_GET_ALL_ORDERS);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(adminId);
         request.setUserType(UserType.ADMIN);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
+        OrderCursor after;
+        int pageSize;
         try {
-            List<Order> orders = orderService.findAll();
-            return ResponseEntity.ok(orders);
+            after = OrderCursor.fromToken(pageToken);
+            pageSize = OrderPage.checkLimit(limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            return orderService.findPage(after, pageSize).toResponse();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -88,24 +99,20 @@ public class AdminController implements AdminApi {
     @Override
     public ResponseEntity<Order> adminGetOrder(UUID adminId, UUID orderId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADMIN_GET_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(adminId);
         request.setUserType(UserType.ADMIN);
         request.setOrderUUID(orderId);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Order order = orderService.findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, orderService);
         return ResponseEntity.ok(order);
     }
 
@@ -126,19 +133,15 @@ public class AdminController implements AdminApi {
     @Override
     public ResponseEntity<Order> adminUpdateOrder(UUID adminId, UUID orderId, Order updatedOrder) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADMIN_UPDATE_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(adminId);
         request.setUserType(UserType.ADMIN);
         request.setOrderUUID(orderId);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -168,19 +171,15 @@ public class AdminController implements AdminApi {
     @Override
     public ResponseEntity<Void> adminRemoveOrder(UUID adminId, UUID orderId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADMIN_REMOVE_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(adminId);
         request.setUserType(UserType.ADMIN);
         request.setOrderUUID(orderId);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -193,4 +192,38 @@ public class AdminController implements AdminApi {
         }
     }
 
+    /**
+     * DELETE /admin/{adminId}/customer/{customerId}/cache : Evict a customer from the cache
+     * Allows an admin to drop the cached profile of a customer, for example after their allergens or location changed.
+     *
+     * @param adminId    The UUID of the admin. (required)
+     * @param customerId The UUID of the customer to evict. (required)
+     * @return Customer evicted from the cache. (status code 200)
+     *         or Bad Request - Invalid admin or customer UUID. (status code 400)
+     *         or Unauthorized - User is not an admin. (status code 401)
+     *         or Not Found - Admin not found. (status code 404)
+     */
+    @Override
+    public ResponseEntity<Void> adminEvictCustomer(UUID adminId, UUID customerId) {
+        //Chain of responsibility validation
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADMIN_EVICT_CUSTOMER);
+        //Create and fill validation request
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(adminId);
+        request.setUserType(UserType.ADMIN);
+        try {
+            validationPipeline.validate(request);
+        } catch (ValidationFailureException e) {
+            return ResponseEntity.status(e.getFailureStatus()).build();
+        }
+
+        if (customerId == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        customerFacade.evictCustomer(customerId);
+        return ResponseEntity.ok().build();
+    }
+
 }
@@ -27,18 +27,19 @@ import nl.tudelft.sem.template.orders.integration.CustomerFacade;
 import nl.tudelft.sem.template.orders.external.PaymentMock;
 import nl.tudelft.sem.template.orders.external.CustomerDTO;
 import nl.tudelft.sem.template.orders.external.VendorDTO;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
 import nl.tudelft.sem.template.orders.services.ServiceManager;
 import nl.tudelft.sem.template.orders.services.VendorService;
-import nl.tudelft.sem.template.orders.validator.DataValidationField;
-import nl.tudelft.sem.template.orders.validator.DataValidator;
-import nl.tudelft.sem.template.orders.validator.UserAuthorizationValidator;
 import nl.tudelft.sem.template.orders.validator.UserType;
+import nl.tudelft.sem.template.orders.validator.ValidatedOperation;
 import nl.tudelft.sem.template.orders.validator.ValidationFailureException;
+import nl.tudelft.sem.template.orders.validator.ValidationPipeline;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
 import nl.tudelft.sem.template.orders.validator.ValidatorRequest;
 import org.aspectj.weaver.ast.Or;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -49,7 +50,7 @@ public class CustomerController implements CustomerApi {
     private final transient IVendorMapper IVendorMapper;
     private final transient CustomerFacade customerFacade;
     private final transient VendorFacade vendorFacade;
-    private final transient ApplicationContext applicationContext;
+    private final transient ValidationPipelines validationPipelines;
     private final transient PaymentMock paymentMock;
     private transient  ServiceManager serviceManager;
 
@@ -65,13 +66,13 @@ public class CustomerController implements CustomerApi {
     public CustomerController(IVendorMapper vendorMapper,
                               ServiceManager serviceManager,
                               CustomerFacade customerFacade, VendorFacade vendorFacade,
-                              ApplicationContext applicationContext,
+                              ValidationPipelines validationPipelines,
                               PaymentMock paymentMock) {
         this.IVendorMapper = vendorMapper;
         this.serviceManager = serviceManager;
         this.customerFacade = customerFacade;
         this.vendorFacade = vendorFacade;
-        this.applicationContext = applicationContext;
+        this.validationPipelines = validationPipelines;
         this.paymentMock = paymentMock;
     }
 
@@ -97,17 +98,14 @@ public class CustomerController implements CustomerApi {
     public ResponseEntity<List<Vendor>> getVendors(UUID customerId, String name,
                                                    Integer minAvgPrice, Integer maxAvgPrice) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_VENDORS);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(customerId);
         request.setUserType(UserType.CUSTOMER);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -143,19 +141,15 @@ public class CustomerController implements CustomerApi {
     @Override
     public ResponseEntity<Order> createOrder(UUID customerId, CreateOrderRequest createOrderRequest) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.CREATEORDERREQUEST));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.CREATE_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(customerId);
         request.setUserType(UserType.CUSTOMER);
         request.setCreateOrderRequest(createOrderRequest);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -192,31 +186,24 @@ public class CustomerController implements CustomerApi {
     @Override
     public ResponseEntity<List<Dish>> getVendorDishes(UUID customerId, UUID orderId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_VENDOR_DISHES);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(customerId);
         request.setUserType(UserType.CUSTOMER);
         request.setOrderUUID(orderId);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
         // Get the vendor's dishes from the repository
         List<Dish> vendorDishes = serviceManager.getDishService().findAllByVendorId(order.getVendorId());
 
-        CustomerDTO customer = customerFacade.requestCustomer(customerId);
-
-
         List<Dish> dishesToRemove = serviceManager.getOrderService().getDishesForCustomer(order.getVendorId(), customerId);
         vendorDishes.removeAll(dishesToRemove);
 
@@ -245,26 +232,21 @@ public class CustomerController implements CustomerApi {
     public ResponseEntity<Order> addDishToOrder(UUID customerId, UUID orderId,
                                                 UUID dishId, UpdateDishQtyRequest updateDishQtyRequest) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.DISH,
-                        DataValidationField.ORDER, DataValidationField.UPDATEDISHQTYREQUEST));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADD_DISH_TO_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER, orderId, dishId,
                 updateDishQtyRequest, null, null, null, null);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
         // Fetch order
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
-        Dish dishToAdd = serviceManager.getDishService().findById(dishId);
+        Dish dishToAdd = request.getEntities().getDish(dishId, serviceManager.getDishService());
 
         Optional<OrderedDish> existingOrderedDish = serviceManager.getOrderService().orderedDishInOrder(order, dishId);
 
@@ -309,12 +291,8 @@ public class CustomerController implements CustomerApi {
     @Override
     public ResponseEntity<Order> removeDishFromOrder(UUID customerId, UUID orderId, UUID dishId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER, DataValidationField.DISH));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.REMOVE_DISH_FROM_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(customerId);
@@ -322,12 +300,12 @@ public class CustomerController implements CustomerApi {
         request.setOrderUUID(orderId);
         request.setDishUUID(dishId);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
         // Check if the dish is part of the order
         List<OrderedDish> orderedDishes = order.getDishes();
@@ -376,23 +354,18 @@ public class CustomerController implements CustomerApi {
     public ResponseEntity<Order> updateDishQty(UUID customerId, UUID orderId,
                                                UUID dishId, UpdateDishQtyRequest updateDishQtyRequest) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER,
-                        DataValidationField.DISH, DataValidationField.UPDATEDISHQTYREQUEST));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.UPDATE_DISH_QTY);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER,
                 orderId, dishId, updateDishQtyRequest, null, null, null, null);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
         // Get the current list of ordered dishes in the order
         List<OrderedDish> orderedDishes = order.getDishes();
@@ -433,22 +406,18 @@ public class CustomerController implements CustomerApi {
     @Override
     public ResponseEntity<Order> getOrder(UUID customerId, UUID orderId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER,
                 orderId, null, null, null, null, null, null);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
         return ResponseEntity.ok(order);
     }
@@ -457,41 +426,48 @@ public class CustomerController implements CustomerApi {
 
     /**
      * GET /customer/{customerId}/history : Get list of previous orders
-     * Returns a list of previous orders for the specified user.
+     * Returns a list of previous orders for the specified user, newest first, one page at a time.
      *
      * @param customerId  (required)
-     * @return List of previous orders. (status code 200)
-     *         or Bad Request - Invalid request parameters. (status code 400)
+     * @param limit Maximum number of orders in the page. (optional, default to 50)
+     * @param pageToken Token of the page, from the X-Next-Page-Token header of the previous page. (optional)
+     * @return A page of previous orders, newest first. (status code 200)
+     *         or Bad Request - Invalid request parameters, page size or page token. (status code 400)
      *         or Unauthorized - Not a customer user. (status code 401)
      *         or Not Found - User does not exist. (status code 404)
      *         or Internal Server Error - An unexpected error occured on the server. (status code 500)
      */
     @Override
-    public ResponseEntity<List<Order>> getPersonalOrderHistory(UUID customerId) {
+    public ResponseEntity<List<Order>> getPersonalOrderHistory(UUID customerId, Integer limit, String pageToken) {
         // Chain of responsibility validation
-        // Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        // Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        // Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_PERSONAL_ORDER_HISTORY);
         // Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER, null,
                 null, null, null, null, null, null);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        // Fetch the list of previous orders for the customer
-        List<Order> orders = serviceManager.getOrderService().findOrdersByCustomerId(customerId);
-        if (orders.isEmpty()) {
+        OrderCursor after;
+        int pageSize;
+        try {
+            after = OrderCursor.fromToken(pageToken);
+            pageSize = OrderPage.checkLimit(limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        // Fetch the page of previous orders for the customer
+        OrderPage page = serviceManager.getOrderService().findOrdersByCustomerId(customerId, after, pageSize);
+        if (page.getOrders().isEmpty() && after == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        // Return the list of orders
-        return ResponseEntity.ok(orders);
+        // Return the page of orders
+        return page.toResponse();
     }
 
     /**
@@ -511,24 +487,19 @@ public class CustomerController implements CustomerApi {
     @Override
     public ResponseEntity<OrderedDish> getDishFromOrder(UUID customerId, UUID orderId, UUID dishId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER,
-                        DataValidationField.DISH));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_DISH_FROM_ORDER);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER,
                 orderId, dishId, null, null, null, null, null);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Dish dish = serviceManager.getDishService().findById(dishId);
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Dish dish = request.getEntities().getDish(dishId, serviceManager.getDishService());
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
         List<OrderedDish> dishes = order.getDishes();
 
         for (OrderedDish orderedDish : dishes) {
@@ -559,29 +530,26 @@ public class CustomerController implements CustomerApi {
     @Override
     public ResponseEntity<Order> reorder(UUID customerId, UUID orderId, Address address) {
         // Chain of responsibility validation
-        // Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        // Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        // Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.REORDER);
         // Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER, orderId,
                 null, null, null, null, null, null);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
         // Fetch the previous order
-        Order previousOrder = serviceManager.getOrderService().findById(orderId);
+        Order previousOrder = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
         List<OrderedDish> orderedDishes = new ArrayList<>();
         for (OrderedDish od : previousOrder.getDishes()) {
             OrderedDish orderedDish = new OrderedDish();
             orderedDish.setQuantity(od.getQuantity());
             orderedDish.setDish(od.getDish());
+            orderedDishes.add(orderedDish);
         }
 
         // Create a new order with identical contents
@@ -617,24 +585,19 @@ public class CustomerController implements CustomerApi {
     public ResponseEntity<Order> updateSpecialRequirements(UUID customerId, UUID orderId,
                                                        UpdateSpecialRequirementsRequest updateSpecialRequirementsRequest) {
         // Chain of responsibility validation
-        // Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER,
-                        DataValidationField.UPDATESPECIALREQUIREMENTSREQUEST));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        // Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        // Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.UPDATE_SPECIAL_REQUIREMENTS);
         // Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER, orderId,
                 null, null, null, null,
                 updateSpecialRequirementsRequest, null);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
         order.setSpecialRequirements(updateSpecialRequirementsRequest.getSpecialRequirements());
         Order updatedOrder = serviceManager.getOrderService().save(order);
@@ -660,26 +623,21 @@ public class CustomerController implements CustomerApi {
     public ResponseEntity<Void> payOrder(UUID customerId, UUID orderId, PayOrderRequest payOrderRequest) {
 
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER,
-                        DataValidationField.PAYORDERREQUEST));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-
-        // Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.PAY_ORDER);
+
         // Create and fill validation request
         ValidatorRequest request = new ValidatorRequest(customerId, UserType.CUSTOMER, orderId,
             null, null, null, null,
                 null, payOrderRequest);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
         // Fetch order
-        Order order = serviceManager.getOrderService().findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, serviceManager.getOrderService());
 
         boolean paymentSuccess = paymentMock.pay(orderId, payOrderRequest);
 
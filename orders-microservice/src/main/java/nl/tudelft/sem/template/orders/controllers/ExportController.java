@@ -0,0 +1,96 @@
+package nl.tudelft.sem.template.orders.controllers;
+
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.orders.services.OrderExportService;
+import nl.tudelft.sem.template.orders.validator.UserType;
+import nl.tudelft.sem.template.orders.validator.ValidatedOperation;
+import nl.tudelft.sem.template.orders.validator.ValidationFailureException;
+import nl.tudelft.sem.template.orders.validator.ValidationPipeline;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
+import nl.tudelft.sem.template.orders.validator.ValidatorRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Maps its endpoint by hand instead of implementing the generated ExportApi, because the generated method
+ * returns the whole export as one String, and the export is streamed instead.
+ */
+@RestController
+public class ExportController {
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final transient OrderExportService exportService;
+    private final transient ValidationPipelines validationPipelines;
+
+    /**
+     * Constructor for ExportController
+     *
+     * @param exportService       service writing the export
+     * @param validationPipelines validation pipelines of all operations
+     */
+    @Autowired
+    public ExportController(OrderExportService exportService, ValidationPipelines validationPipelines) {
+        this.exportService = exportService;
+        this.validationPipelines = validationPipelines;
+    }
+
+    /**
+     * GET /export/{adminId}/orders : Export orders as newline-delimited JSON
+     * Allows an admin to export all orders, oldest first, one JSON order per line.
+     * The orders are written while they are read from the database.
+     *
+     * @param adminId The UUID of the admin. (required)
+     * @param status Only export orders with this status. (optional)
+     * @param from Only export orders placed at or after this time. (optional)
+     * @param to Only export orders placed before this time. (optional)
+     * @return The orders, one JSON order per line, oldest first. (status code 200)
+     *         or Bad Request - Invalid admin UUID, status or time range. (status code 400)
+     *         or Unauthorized - User is not an admin. (status code 401)
+     *         or Not Found - Admin does not exist. (status code 404)
+     *         or Internal Server Error - An unexpected error occurred on the server. (status code 500)
+     */
+    @GetMapping(value = "/export/{adminId}/orders", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> adminExportOrders(
+            @PathVariable("adminId") UUID adminId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        //Chain of responsibility validation
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADMIN_EXPORT_ORDERS);
+        //Create and fill validation request
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(adminId);
+        request.setUserType(UserType.ADMIN);
+        try {
+            validationPipeline.validate(request);
+        } catch (ValidationFailureException e) {
+            return ResponseEntity.status(e.getFailureStatus()).build();
+        }
+
+        Status statusFilter;
+        try {
+            statusFilter = status == null ? null : Status.fromValue(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        StreamingResponseBody body = out -> exportService.export(statusFilter, from, to, out);
+        return ResponseEntity.ok(body);
+    }
+}
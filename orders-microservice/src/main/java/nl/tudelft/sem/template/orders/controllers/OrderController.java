@@ -4,28 +4,27 @@ import nl.tudelft.sem.template.api.OrderApi;
 import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.model.UpdateOrderStatusRequest;
 import nl.tudelft.sem.template.orders.domain.IOrderService;
-import nl.tudelft.sem.template.orders.validator.DataValidationField;
-import nl.tudelft.sem.template.orders.validator.DataValidator;
+import nl.tudelft.sem.template.orders.validator.ValidatedOperation;
 import nl.tudelft.sem.template.orders.validator.ValidationFailureException;
+import nl.tudelft.sem.template.orders.validator.ValidationPipeline;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
 import nl.tudelft.sem.template.orders.validator.ValidatorRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
 public class OrderController implements OrderApi {
     private final transient IOrderService orderService;
-    private final transient ApplicationContext applicationContext;
+    private final transient ValidationPipelines validationPipelines;
 
     @Autowired
-    public OrderController(IOrderService orderService, ApplicationContext applicationContext) {
+    public OrderController(IOrderService orderService, ValidationPipelines validationPipelines) {
         this.orderService = orderService;
-        this.applicationContext = applicationContext;
+        this.validationPipelines = validationPipelines;
     }
 
     /**
@@ -57,14 +56,13 @@ public class OrderController implements OrderApi {
         }
 
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.UPDATEORDERSTATUSREQUEST));
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.UPDATE_ORDER_STATUS);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUpdateOrderStatusRequest(updateOrderStatusRequest);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -0,0 +1,63 @@
+package nl.tudelft.sem.template.orders.controllers;
+
+import nl.tudelft.sem.template.api.TokenApi;
+import nl.tudelft.sem.template.model.ExchangeRoleTokenRequest;
+import nl.tudelft.sem.template.model.RoleToken;
+import nl.tudelft.sem.template.orders.authentication.JwtTokenService;
+import nl.tudelft.sem.template.orders.integration.RoleResolver;
+import nl.tudelft.sem.template.orders.integration.UserRole;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+public class TokenController implements TokenApi {
+    private final transient RoleResolver roleResolver;
+    private final transient JwtTokenService tokenService;
+
+    /**
+     * Constructor for TokenController
+     *
+     * @param roleResolver resolves the roles of users with the users microservice
+     * @param tokenService issues the role tokens
+     */
+    @Autowired
+    public TokenController(RoleResolver roleResolver, JwtTokenService tokenService) {
+        this.roleResolver = roleResolver;
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * POST /token/{userId} : Exchange a user ID for a signed role token
+     * Checks once with the users microservice that the user has the requested role and no other role,
+     * like the authorization of requests without a token does, and returns a signed token carrying the UUID
+     * and role of the user.
+     *
+     * @param userId                   (required)
+     * @param exchangeRoleTokenRequest (required)
+     * @return Signed role token of the user. (status code 200)
+     *      or Bad Request - Invalid user UUID or role. (status code 400)
+     *      or Unauthorized - User does not exist, does not have the role or has another role. (status code 401)
+     *      or Service Unavailable - The users microservice cannot be reached. (status code 503)
+     *      or Internal Server Error - An unexpected error occurred on the server. (status code 500)
+     */
+    @Override
+    public ResponseEntity<RoleToken> exchangeRoleToken(UUID userId, ExchangeRoleTokenRequest exchangeRoleTokenRequest) {
+        if (userId == null || exchangeRoleTokenRequest == null || exchangeRoleTokenRequest.getRole() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        UserRole role = UserRole.valueOf(exchangeRoleTokenRequest.getRole().name());
+        if (!roleResolver.hasRole(userId, role) || !roleResolver.hasNoRoleOtherThan(userId, role)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        RoleToken roleToken = new RoleToken();
+        roleToken.setToken(tokenService.issue(userId, role));
+        roleToken.setExpiresIn(tokenService.getTtl().toSeconds());
+        return ResponseEntity.ok(roleToken);
+    }
+}
@@ -7,14 +7,15 @@ import nl.tudelft.sem.template.orders.VendorNotFoundException;
 import nl.tudelft.sem.template.orders.domain.IDishService;
 import nl.tudelft.sem.template.orders.domain.IOrderService;
 import nl.tudelft.sem.template.orders.domain.IVendorService;
-import nl.tudelft.sem.template.orders.validator.DataValidationField;
-import nl.tudelft.sem.template.orders.validator.DataValidator;
-import nl.tudelft.sem.template.orders.validator.UserAuthorizationValidator;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.validator.UserType;
+import nl.tudelft.sem.template.orders.validator.ValidatedOperation;
 import nl.tudelft.sem.template.orders.validator.ValidationFailureException;
+import nl.tudelft.sem.template.orders.validator.ValidationPipeline;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
 import nl.tudelft.sem.template.orders.validator.ValidatorRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -30,7 +31,7 @@ public class VendorController implements VendorApi {
     private final transient IDishService dishService;
     private final transient IOrderService orderService;
     private final transient IVendorService vendorService;
-    private final transient ApplicationContext applicationContext;
+    private final transient ValidationPipelines validationPipelines;
 
     /**
      * Creates an instance of the VendorController.
@@ -42,12 +43,12 @@ public class VendorController implements VendorApi {
     @Autowired
     public VendorController(IDishService dishService,
                             IOrderService orderService, IVendorService vendorService,
-                            ApplicationContext applicationContext) {
+                            ValidationPipelines validationPipelines) {
 
         this.dishService = dishService;
         this.orderService = orderService;
         this.vendorService = vendorService;
-        this.applicationContext = applicationContext;
+        this.validationPipelines = validationPipelines;
     }
 
     /**
@@ -60,17 +61,14 @@ public class VendorController implements VendorApi {
     @Override
     public ResponseEntity<Dish> addDishToMenu(UUID vendorId, Dish dish) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.ADD_DISH_TO_MENU);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
         request.setUserType(UserType.VENDOR);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -103,10 +101,7 @@ public class VendorController implements VendorApi {
     @Override
     public ResponseEntity<Void> removeDishFromMenu(UUID vendorId, UUID dishId) {
 
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER,
-                DataValidationField.DISH));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        dataValidator.setNext(userAuthorizationValidator);
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.REMOVE_DISH_FROM_MENU);
 
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
@@ -114,7 +109,7 @@ public class VendorController implements VendorApi {
         request.setUserType(UserType.VENDOR);
 
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -146,10 +141,7 @@ public class VendorController implements VendorApi {
      */
     @Override
     public ResponseEntity<Dish> updateDishDetails(UUID vendorId, UUID dishId, Dish dish) {
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER,
-                DataValidationField.DISH));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        dataValidator.setNext(userAuthorizationValidator);
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.UPDATE_DISH_DETAILS);
 
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
@@ -157,7 +149,7 @@ public class VendorController implements VendorApi {
         request.setUserType(UserType.VENDOR);
 
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -188,16 +180,13 @@ public class VendorController implements VendorApi {
      */
     public ResponseEntity<List<Dish>> getOwnDishes(UUID vendorId) {
 
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-
-        dataValidator.setNext(userAuthorizationValidator);
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_OWN_DISHES);
 
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
         request.setUserType(UserType.VENDOR);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
@@ -225,23 +214,19 @@ public class VendorController implements VendorApi {
     @Override
     public ResponseEntity<Dish> getDish(UUID vendorId, UUID dishId) {
 
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class, List.of(DataValidationField.USER,
-            DataValidationField.DISH));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-
-        dataValidator.setNext(userAuthorizationValidator);
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_DISH);
 
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
         request.setDishUUID(dishId);
         request.setUserType(UserType.VENDOR);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Dish dish = dishService.findById(dishId);
+        Dish dish = request.getEntities().getDish(dishId, dishService);
         return ResponseEntity.ok(dish);
     }
 
@@ -260,24 +245,20 @@ public class VendorController implements VendorApi {
     @Override
     public ResponseEntity<Order> getOrderDetails(UUID vendorId, UUID orderId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_ORDER_DETAILS);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
         request.setUserType(UserType.VENDOR);
         request.setOrderUUID(orderId);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        Order order = orderService.findById(orderId);
+        Order order = request.getEntities().getOrder(orderId, orderService);
 
         return ResponseEntity.ok(order);
     }
@@ -286,36 +267,44 @@ public class VendorController implements VendorApi {
      * GET /vendor/{vendorId}/orders : Get orders for a vendor
      * A vendor can ask for all of their orders.
      * They only receive orders that have been paid for, so the ones with status \&quot;accepted\&quot;.
+     * Orders are returned newest first, one page at a time. A page can hold fewer orders than the limit
+     * when some of the orders it covers are not paid.
      *
      * @param vendorId (required)
-     * @return List of orders for the vendor (status code 200)
-     *     or Bad Request - Invalid request parameters. (status code 400)
+     * @param limit Maximum number of orders in the page. (optional, default to 50)
+     * @param pageToken Token of the page, from the X-Next-Page-Token header of the previous page. (optional)
+     * @return A page of orders for the vendor, newest first (status code 200)
+     *     or Bad Request - Invalid request parameters, page size or page token. (status code 400)
      *     or Unauthorized - User is not a vendor (status code 401)
      *     or Vendor not found (status code 404)
      *     or Internal Server Error - An unexpected error occurred on the server. (status code 500)
      */
     @Override
-    public ResponseEntity<List<Order>> getVendorOrders(UUID vendorId) {
+    public ResponseEntity<List<Order>> getVendorOrders(UUID vendorId, Integer limit, String pageToken) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_VENDOR_ORDERS);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
         request.setUserType(UserType.VENDOR);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
+        OrderCursor after;
+        int pageSize;
         try {
-            List<Order> orders = vendorService.getVendorOrders(vendorId);
-            return ResponseEntity.ok(orders);
+            after = OrderCursor.fromToken(pageToken);
+            pageSize = OrderPage.checkLimit(limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            return vendorService.getVendorOrders(vendorId, after, pageSize).toResponse();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -336,23 +325,24 @@ public class VendorController implements VendorApi {
     @Override
     public ResponseEntity<List<Order>> getCustomerOrderHistory(UUID vendorId, UUID customerId) {
         //Chain of responsibility validation
-        //Get Validators
-        DataValidator dataValidator = applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER));
-        UserAuthorizationValidator userAuthorizationValidator = applicationContext.getBean(UserAuthorizationValidator.class);
-        //Set validation chain
-        dataValidator.setNext(userAuthorizationValidator);
+        //Get prebuilt validation pipeline
+        ValidationPipeline validationPipeline = validationPipelines.get(ValidatedOperation.GET_CUSTOMER_ORDER_HISTORY);
         //Create and fill validation request
         ValidatorRequest request = new ValidatorRequest();
         request.setUserUUID(vendorId);
         request.setUserType(UserType.VENDOR);
         try {
-            dataValidator.handle(request);
+            validationPipeline.validate(request);
         } catch (ValidationFailureException e) {
             return ResponseEntity.status(e.getFailureStatus()).build();
         }
 
-        List<Order> vendorOrderList = this.getVendorOrders(vendorId).getBody();
+        List<Order> vendorOrderList;
+        try {
+            vendorOrderList = vendorService.getVendorOrders(vendorId);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
 
         if (vendorOrderList == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -3,6 +3,8 @@ package nl.tudelft.sem.template.orders.domain;
 import nl.tudelft.sem.template.model.Dish;
 import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.model.OrderedDish;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +15,8 @@ public interface IOrderService {
 
     List<Order> findAll();
 
+    OrderPage findPage(OrderCursor after, int limit);
+
     Order save(Order order);
 
     void delete(UUID orderId);
@@ -23,5 +27,7 @@ public interface IOrderService {
 
     List<Order> findOrdersByCustomerId(UUID customerId);
 
+    OrderPage findOrdersByCustomerId(UUID customerId, OrderCursor after, int limit);
+
     List<Dish> getDishesForCustomer(UUID vendorId, UUID customerId);
 }
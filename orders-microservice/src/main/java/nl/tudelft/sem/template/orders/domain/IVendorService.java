@@ -4,6 +4,8 @@ import nl.tudelft.sem.template.model.Address;
 import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.model.Vendor;
 import nl.tudelft.sem.template.orders.external.VendorDTO;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 
 import java.util.List;
 import java.util.UUID;
@@ -18,5 +20,7 @@ public interface IVendorService {
 
     List<Order> getVendorOrders(UUID vendorID);
 
+    OrderPage getVendorOrders(UUID vendorID, OrderCursor after, int limit);
+
     List<Vendor> getFilteredVendorEntities(String name, Integer minAvgPrice, Integer maxAvgPrice, Address customerLocation);
 }
@@ -1,18 +1,24 @@
 package nl.tudelft.sem.template.orders.integration;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Looks up admins in the Users microservice at {@code users.url}, the same service the customer and vendor
+ * lookups use.
+ */
 @Component
 public class AdminFacade {
 
-    private static final String USERS_URL = "https://localhost:8088";
-    private static final HttpClient CLIENT = HttpClient.newBuilder().build();
+    private final transient RoleResolver roleResolver;
+
+    @Autowired
+    public AdminFacade(RoleResolver roleResolver) {
+        this.roleResolver = roleResolver;
+    }
 
     /**
      * Checks if an admin with a specific ID exists
@@ -21,23 +27,9 @@ public class AdminFacade {
      * @return true iff the admin exists in the database
      */
     public boolean existsById(UUID adminId) {
-        return sendGetRequest(USERS_URL + "/admins/" + adminId).statusCode() == 200;
-    }
-
-    private HttpResponse<String> sendGetRequest(String uri) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(uri))
-                .GET()
-                .build();
-        try {
-            return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        }
+        return roleResolver.hasRole(adminId, UserRole.ADMIN);
     }
 
-
     /**
      * Verifies that the user with the given UUID is an admin.
      *
@@ -45,26 +37,26 @@ public class AdminFacade {
      * @return true if the user is an admin, false otherwise
      */
     public boolean checkRoleById(UUID userId) {
-        if (isRole(userId, "/customers/")) {
-            return false;
-        }
-        if (isRole(userId, "/couriers/")) {
-            return false;
-        }
-        if (isRole(userId, "/vendors/")) {
-            return false;
-        }
-        return true;
+        return roleResolver.hasNoRoleOtherThan(userId, UserRole.ADMIN);
+    }
+
+    /**
+     * Asynchronous version of {@link #existsById(UUID)}
+     *
+     * @param adminId id to check
+     * @return future completing with true iff the admin exists in the database
+     */
+    public CompletableFuture<Boolean> existsByIdAsync(UUID adminId) {
+        return roleResolver.hasRoleAsync(adminId, UserRole.ADMIN);
     }
 
     /**
-     * Helper method. Queries the Users microservice for the specified ID, using a certain path.
+     * Asynchronous version of {@link #checkRoleById(UUID)}
      *
-     * @param userId user id
-     * @param path   path
-     * @return true if the status code is 200
+     * @param userId the id of the user
+     * @return future completing with true if the user is an admin, false otherwise
      */
-    private boolean isRole(UUID userId, String path) {
-        return sendGetRequest(USERS_URL + path + userId).statusCode() == 200;
+    public CompletableFuture<Boolean> checkRoleByIdAsync(UUID userId) {
+        return roleResolver.hasNoRoleOtherThanAsync(userId, UserRole.ADMIN);
     }
 }
@@ -0,0 +1,97 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Thread-safe circuit breaker. After a number of consecutive failed calls the circuit opens and calls are
+ * rejected without being made. Once the open duration has passed, a single trial call is let through:
+ * if it succeeds the circuit closes again, if it fails the circuit stays open for another period.
+ */
+public final class CircuitBreaker {
+    /**
+     * State of a circuit breaker
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final transient int failureThreshold;
+    private final transient Duration openDuration;
+    private final transient Clock clock;
+
+    private transient State state = State.CLOSED;
+    private transient int failures;
+    private transient Instant openedAt;
+    private transient boolean trialInProgress;
+
+    /**
+     * Constructor for CircuitBreaker
+     *
+     * @param failureThreshold number of consecutive failures after which the circuit opens
+     * @param openDuration     how long the circuit stays open before a trial call is allowed
+     * @param clock            clock used to decide when the open duration has passed
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks permission to make a call. Every permitted call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return true iff the call may be made
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInProgress = true;
+                return true;
+            default:
+                if (trialInProgress) {
+                    return false;
+                }
+                trialInProgress = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a successful call, which closes the circuit
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        trialInProgress = false;
+    }
+
+    /**
+     * Records a failed call, which opens the circuit if it was a trial call or the failure threshold is reached
+     */
+    public synchronized void onFailure() {
+        trialInProgress = false;
+        failures++;
+        if (state != State.CLOSED || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
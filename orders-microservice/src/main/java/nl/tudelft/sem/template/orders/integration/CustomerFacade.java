@@ -1,31 +1,67 @@
 package nl.tudelft.sem.template.orders.integration;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import nl.tudelft.sem.template.orders.external.CustomerDTO;
 import nl.tudelft.sem.template.orders.mappers.interfaces.ICustomerMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Client class that interacts with the Adapter (CustomerMapper) through the Interface (ICustomerMapper).
  * Serves for communication with users microservice and uses the Adapter to convert responses
  * to a suitable format for our usages
  * Includes methods for business logic that involve external service calls (used for authorization).
+ *
+ * <p>Customers are cached with a soft and a hard TTL. A customer past its soft TTL is still returned at once,
+ * while it is refreshed in the background, and the response is marked as stale. Only a customer past its
+ * hard TTL has to be fetched again before it can be returned.</p>
  */
 @Component
 public class CustomerFacade {
-    private static final String USERS_URL = "https://gyyl7.wiremockapi.cloud";
     private static final String DELIVERY_URL = "https://localhost:8081";
-    private static final HttpClient CLIENT = HttpClient.newBuilder().build();
-    private final transient ICustomerMapper customerMapper;
+    private final transient RoleResolver roleResolver;
+    private final transient UsersClient usersClient;
+    private final transient HttpResponse.BodyHandler<Supplier<CustomerDTO>> customerBody;
+    private final transient LoadingCache<UUID, CustomerDTO> customerCache;
+    private final transient Duration softTtl;
 
+    /**
+     * Constructor for CustomerFacade
+     *
+     * @param customerMapper customer mapper
+     * @param roleResolver   role resolver
+     * @param usersClient    client for the users microservice
+     * @param softTtlSeconds how long a cached customer is fresh
+     * @param hardTtlSeconds how long a customer stays cached, serving it stale after the soft TTL
+     * @param maxSize        maximum number of customers kept in the cache
+     * @param meterRegistry  registry the cache hit/miss metrics are published to
+     */
     @Autowired
-    public CustomerFacade(ICustomerMapper customerMapper) {
-        this.customerMapper = customerMapper;
+    public CustomerFacade(ICustomerMapper customerMapper, RoleResolver roleResolver, UsersClient usersClient,
+                          @Value("${users.customer-cache.soft-ttl-seconds:60}") long softTtlSeconds,
+                          @Value("${users.customer-cache.hard-ttl-seconds:600}") long hardTtlSeconds,
+                          @Value("${users.customer-cache.max-size:10000}") long maxSize,
+                          MeterRegistry meterRegistry) {
+        this.roleResolver = roleResolver;
+        this.usersClient = usersClient;
+        this.customerBody = UsersClient.streaming(customerMapper::toDTO);
+        this.softTtl = Duration.ofSeconds(softTtlSeconds);
+        this.customerCache = Caffeine.newBuilder()
+                .refreshAfterWrite(softTtl)
+                .expireAfterWrite(Duration.ofSeconds(hardTtlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build(this::fetchCustomer);
+        CaffeineCacheMetrics.monitor(meterRegistry, customerCache, "customers");
     }
 
     /**
@@ -35,7 +71,7 @@ public class CustomerFacade {
      * @return true iff the customer exists in the database
      */
     public boolean existsById(UUID customerId) {
-        return sendGetRequest(USERS_URL + "/customers/" + customerId).statusCode() == 200;
+        return roleResolver.hasRole(customerId, UserRole.CUSTOMER);
     }
 
     /**
@@ -46,58 +82,65 @@ public class CustomerFacade {
      * @return true iff the user is a customer
      */
     public boolean checkRoleById(UUID userId) {
-        if (isRole(userId, "/vendors/")) {
-            return false;
-        }
-        if (isRole(userId, "/couriers/")) {
-            return false;
-        }
-        if (isRole(userId, "/admins/")) {
-            return false;
-        }
-        return true;
+        return roleResolver.hasNoRoleOtherThan(userId, UserRole.CUSTOMER);
     }
 
     /**
-     * Helper method. Queries the Users microservice for the specified ID, using a certain path.
+     * Asynchronous version of {@link #existsById(UUID)}
      *
-     * @param userId user id
-     * @param path   path
-     * @return true iff the status code is 200
+     * @param customerId id
+     * @return future completing with true iff the customer exists in the database
      */
-    private boolean isRole(UUID userId, String path) {
-        return sendGetRequest(USERS_URL + path + userId).statusCode() == 200;
+    public CompletableFuture<Boolean> existsByIdAsync(UUID customerId) {
+        return roleResolver.hasRoleAsync(customerId, UserRole.CUSTOMER);
+    }
+
+    /**
+     * Asynchronous version of {@link #checkRoleById(UUID)}
+     *
+     * @param userId the id of the user
+     * @return future completing with true iff the user is a customer
+     */
+    public CompletableFuture<Boolean> checkRoleByIdAsync(UUID userId) {
+        return roleResolver.hasNoRoleOtherThanAsync(userId, UserRole.CUSTOMER);
     }
 
 
     /**
-     * Requests customer from the Users microservice
+     * Requests customer from the Users microservice. Customers are cached, and concurrent
+     * requests for the same customer wait for a single call to the Users microservice.
      *
      * @param customerId id of that customer
      * @return CustomerDTO object containing all relevant attributes
      */
     public CustomerDTO requestCustomer(UUID customerId) {
-        String uri = USERS_URL + "/customers/" + customerId;
-        return customerMapper.toDTO(sendGetRequest(uri).body());
+        boolean stale = customerCache.policy().refreshAfterWrite()
+                .flatMap(policy -> policy.ageOf(customerId))
+                .map(age -> age.compareTo(softTtl) >= 0)
+                .orElse(false);
+        if (stale) {
+            StaleResponse.mark();
+        }
+        return customerCache.get(customerId);
+    }
+
+    private CustomerDTO fetchCustomer(UUID customerId) {
+        CustomerDTO customer = usersClient.send(usersClient.newRequest("/customers/" + customerId).build(),
+                customerBody).body().get();
+        if (customer == null) {
+            throw new RuntimeException("Customer " + customerId + " could not be retrieved");
+        }
+        return customer;
     }
 
     /**
-     * Send a GET request to a specified uri
+     * Removes a customer from the cache, so that changes to their allergens or location
+     * are picked up by the next request.
      *
-     * @param uri uri
-     * @return the request that was created
+     * @param customerId id of that customer
      */
-    private HttpResponse<String> sendGetRequest(String uri) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(uri))
-                .GET()
-                .build();
-        try {
-            return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        }
+    public void evictCustomer(UUID customerId) {
+        customerCache.invalidate(customerId);
     }
 
 }
@@ -0,0 +1,21 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import java.util.Locale;
+
+/**
+ * Microservices this service depends on. Each downstream has its own circuit breaker and bulkhead,
+ * so an outage of one of them does not affect calls to the others.
+ */
+public enum Downstream {
+    USERS,
+    DELIVERY;
+
+    /**
+     * Name of the downstream as used in configuration properties and metric tags
+     *
+     * @return lower case name
+     */
+    public String getTag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,95 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Circuit breaker and bulkhead for one downstream microservice.
+ * The bulkhead limits how many calls to the downstream can be in progress at the same time,
+ * so a slow downstream cannot tie up all request threads. Calls that are rejected by either of them
+ * fail immediately with a DownstreamUnavailableException.
+ *
+ * <p>Published metrics, all tagged with the downstream:
+ * {@code downstream.circuit.state} (0 closed, 1 open, 2 half open),
+ * {@code downstream.bulkhead.available} (free call slots) and
+ * {@code downstream.rejected} (tagged with {@code reason=circuit_open} or {@code reason=bulkhead_full}).</p>
+ */
+public class DownstreamGuard {
+    private final transient Downstream downstream;
+    private final transient CircuitBreaker circuitBreaker;
+    private final transient Semaphore bulkhead;
+    private final transient Counter circuitOpen;
+    private final transient Counter bulkheadFull;
+
+    /**
+     * Constructor for DownstreamGuard
+     *
+     * @param downstream     the guarded downstream
+     * @param circuitBreaker circuit breaker of the downstream
+     * @param maxConcurrent  maximum number of calls in progress at the same time
+     * @param meterRegistry  registry the metrics are published to
+     */
+    public DownstreamGuard(Downstream downstream, CircuitBreaker circuitBreaker, int maxConcurrent,
+                           MeterRegistry meterRegistry) {
+        this.downstream = downstream;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrent);
+
+        Gauge.builder("downstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the circuit breaker: 0 closed, 1 open, 2 half open")
+                .tag("downstream", downstream.getTag())
+                .register(meterRegistry);
+        Gauge.builder("downstream.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Number of additional calls that can be made concurrently")
+                .tag("downstream", downstream.getTag())
+                .register(meterRegistry);
+        this.circuitOpen = Counter.builder("downstream.rejected")
+                .description("Calls that were rejected without being made")
+                .tag("downstream", downstream.getTag())
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.bulkheadFull = Counter.builder("downstream.rejected")
+                .description("Calls that were rejected without being made")
+                .tag("downstream", downstream.getTag())
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Asks permission to make a call. Every permitted call must be followed by {@link #release(boolean)}.
+     *
+     * @throws DownstreamUnavailableException if the circuit is open or the bulkhead is full
+     */
+    public void acquire() {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadFull.increment();
+            throw new DownstreamUnavailableException(downstream, "too many calls in progress");
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            circuitOpen.increment();
+            throw new DownstreamUnavailableException(downstream, "circuit open");
+        }
+    }
+
+    /**
+     * Reports the outcome of a permitted call
+     *
+     * @param success whether the downstream answered properly
+     */
+    public void release(boolean success) {
+        bulkhead.release();
+        if (success) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+}
@@ -0,0 +1,55 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the DownstreamGuard of every downstream microservice. Each downstream is configured with
+ * {@code downstream.<name>.failure-threshold}, {@code downstream.<name>.open-ms}
+ * and {@code downstream.<name>.max-concurrent}.
+ */
+@Component
+public class DownstreamGuards {
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_OPEN_MS = 10_000;
+    private static final int DEFAULT_MAX_CONCURRENT = 64;
+
+    private final transient Map<Downstream, DownstreamGuard> guards = new EnumMap<>(Downstream.class);
+
+    /**
+     * Constructor for DownstreamGuards
+     *
+     * @param environment   environment the configuration is read from
+     * @param meterRegistry registry the metrics are published to
+     */
+    @Autowired
+    public DownstreamGuards(Environment environment, MeterRegistry meterRegistry) {
+        for (Downstream downstream : Downstream.values()) {
+            String prefix = "downstream." + downstream.getTag() + ".";
+            CircuitBreaker circuitBreaker = new CircuitBreaker(
+                    environment.getProperty(prefix + "failure-threshold", Integer.class, DEFAULT_FAILURE_THRESHOLD),
+                    Duration.ofMillis(environment.getProperty(prefix + "open-ms", Long.class, DEFAULT_OPEN_MS)),
+                    Clock.systemUTC());
+            guards.put(downstream, new DownstreamGuard(downstream, circuitBreaker,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, DEFAULT_MAX_CONCURRENT),
+                    meterRegistry));
+        }
+    }
+
+    /**
+     * Returns the guard of a downstream
+     *
+     * @param downstream the downstream
+     * @return its guard
+     */
+    public DownstreamGuard get(Downstream downstream) {
+        return guards.get(downstream);
+    }
+}
@@ -0,0 +1,30 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown instead of calling a downstream microservice when its circuit is open
+ * or too many calls to it are already in progress.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DownstreamUnavailableException extends RuntimeException {
+    static final long serialVersionUID = -6204873356813049125L;
+
+    private final transient Downstream downstream;
+
+    /**
+     * Construct a DownstreamUnavailableException
+     *
+     * @param downstream the unavailable downstream
+     * @param reason     why the call was not made
+     */
+    public DownstreamUnavailableException(Downstream downstream, String reason) {
+        super(downstream.getTag() + " unavailable: " + reason, null, false, false);
+        this.downstream = downstream;
+    }
+
+    public Downstream getDownstream() {
+        return downstream;
+    }
+}
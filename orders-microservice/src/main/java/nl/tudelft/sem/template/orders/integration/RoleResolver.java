@@ -0,0 +1,308 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Works out which roles a user has in the Users microservice and caches the answer.
+ * All facades go through this class for their role and existence checks, so a single resolution
+ * answers every authorization question about a user until the cache entry expires.
+ *
+ * <p>On a cache miss, all role endpoints are queried in parallel. The asynchronous checks complete
+ * as soon as their answer is known, so a cold check costs roughly a single round trip.</p>
+ *
+ * <p>Cached roles past their soft TTL are still used, while they are resolved again in the background,
+ * and the response is marked as stale. Only roles past their hard TTL have to be resolved again
+ * before a check can complete. A refresh that fails, or in which a role endpoint does not answer
+ * with 200 or 404, leaves the cached roles in place, so they are served until their hard TTL.</p>
+ */
+@Component
+public class RoleResolver {
+    private static final int OK = 200;
+    private static final int NOT_FOUND = 404;
+
+    private final transient UsersClient usersClient;
+    private final transient UnknownUserCache unknownUsers;
+    private final transient Cache<UUID, Set<UserRole>> roleCache;
+    private final transient Duration softTtl;
+    private final transient Map<UUID, RoleProbe> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for RoleResolver
+     *
+     * @param usersClient    client for the users microservice
+     * @param unknownUsers   cache of user IDs known not to exist
+     * @param softTtlSeconds how long resolved roles are fresh
+     * @param hardTtlSeconds how long resolved roles stay cached, used stale after the soft TTL
+     * @param maxSize        maximum number of users kept in the cache
+     */
+    @Autowired
+    public RoleResolver(UsersClient usersClient, UnknownUserCache unknownUsers,
+                        @Value("${users.role-cache.soft-ttl-seconds:300}") long softTtlSeconds,
+                        @Value("${users.role-cache.hard-ttl-seconds:900}") long hardTtlSeconds,
+                        @Value("${users.role-cache.max-size:10000}") long maxSize) {
+        this.usersClient = usersClient;
+        this.unknownUsers = unknownUsers;
+        this.softTtl = Duration.ofSeconds(softTtlSeconds);
+        this.roleCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(hardTtlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Resolves all roles of a user. Users that have at least one role are cached, unknown IDs
+     * are only remembered briefly by the UnknownUserCache, as they may be registered at any moment.
+     * Fails with a DownstreamUnavailableException if a role endpoint does not answer with 200 or 404.
+     *
+     * @param userId id of the user
+     * @return the roles of the user, empty if the user does not exist
+     */
+    public Set<UserRole> resolveRoles(UUID userId) {
+        return await(resolveRolesAsync(userId));
+    }
+
+    /**
+     * Resolves all roles of a user without blocking.
+     *
+     * @param userId id of the user
+     * @return future completing with the roles of the user, empty if the user does not exist
+     */
+    public CompletableFuture<Set<UserRole>> resolveRolesAsync(UUID userId) {
+        return probe(userId).all;
+    }
+
+    /**
+     * Checks if the user has a specific role
+     *
+     * @param userId id of the user
+     * @param role   role to check
+     * @return true iff the user has the role
+     */
+    public boolean hasRole(UUID userId, UserRole role) {
+        return await(hasRoleAsync(userId, role));
+    }
+
+    /**
+     * Checks if the user has a specific role without blocking.
+     * Completes as soon as the endpoint of that role has answered.
+     *
+     * @param userId id of the user
+     * @param role   role to check
+     * @return future completing with true iff the user has the role
+     */
+    public CompletableFuture<Boolean> hasRoleAsync(UUID userId, UserRole role) {
+        return probe(userId).roles.get(role);
+    }
+
+    /**
+     * Checks that the user has no role other than the given one.
+     * Users that do not exist at all also pass this check, existence is verified separately.
+     *
+     * @param userId id of the user
+     * @param role   the only role the user is allowed to have
+     * @return true iff the user has no other role
+     */
+    public boolean hasNoRoleOtherThan(UUID userId, UserRole role) {
+        return await(hasNoRoleOtherThanAsync(userId, role));
+    }
+
+    /**
+     * Checks that the user has no role other than the given one, without blocking.
+     * Completes with false as soon as any other role is found.
+     *
+     * @param userId id of the user
+     * @param role   the only role the user is allowed to have
+     * @return future completing with true iff the user has no other role
+     */
+    public CompletableFuture<Boolean> hasNoRoleOtherThanAsync(UUID userId, UserRole role) {
+        RoleProbe probe = probe(userId);
+        List<CompletableFuture<Boolean>> others = probe.roles.entrySet().stream()
+                .filter(entry -> entry.getKey() != role)
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        for (CompletableFuture<Boolean> other : others) {
+            other.thenAccept(found -> {
+                if (found) {
+                    result.complete(false);
+                }
+            });
+        }
+        CompletableFuture.allOf(others.toArray(new CompletableFuture[0])).whenComplete((v, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Removes a user from the cache, forcing the next check to query the Users microservice.
+     *
+     * @param userId id of the user
+     */
+    public void invalidate(UUID userId) {
+        roleCache.invalidate(userId);
+        unknownUsers.invalidate(userId);
+    }
+
+    /**
+     * Returns the probe for a user. Served from the caches if possible, otherwise joins the probe that
+     * is already in flight for this user, or starts a new one.
+     *
+     * @param userId user id
+     * @return probe for the user
+     */
+    private RoleProbe probe(UUID userId) {
+        Set<UserRole> cached = roleCache.getIfPresent(userId);
+        if (cached != null) {
+            if (isStale(userId)) {
+                StaleResponse.mark();
+                // Replaces the cached roles only if it completes normally, see startProbe
+                startProbe(userId);
+            }
+            return new RoleProbe(cached);
+        }
+        if (unknownUsers.isUnknown(userId)) {
+            return new RoleProbe(Collections.emptySet());
+        }
+        return startProbe(userId);
+    }
+
+    private boolean isStale(UUID userId) {
+        return roleCache.policy().expireAfterWrite()
+                .flatMap(policy -> policy.ageOf(userId))
+                .map(age -> age.compareTo(softTtl) >= 0)
+                .orElse(false);
+    }
+
+    /**
+     * Joins the probe that is already in flight for this user, or starts a new one
+     * whose result replaces the cached roles.
+     *
+     * @param userId user id
+     * @return probe for the user
+     */
+    private RoleProbe startProbe(UUID userId) {
+        RoleProbe probe = new RoleProbe();
+        RoleProbe existing = inFlight.putIfAbsent(userId, probe);
+        if (existing != null) {
+            return existing;
+        }
+
+        probe.roles.forEach((role, future) -> usersClient.getAsync(role.getPath() + userId)
+                .thenApply(RoleResolver::hasRole)
+                .whenComplete((found, e) -> {
+                    if (e != null) {
+                        future.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                    } else {
+                        future.complete(found);
+                    }
+                }));
+        // Only a probe in which every role got a definitive answer completes normally and is cached
+        probe.all.whenComplete((roles, e) -> {
+            if (e == null && roles.isEmpty()) {
+                roleCache.invalidate(userId);
+                unknownUsers.markUnknown(userId);
+            } else if (e == null) {
+                roleCache.put(userId, roles);
+            }
+            inFlight.remove(userId, probe);
+        });
+        return probe;
+    }
+
+    /**
+     * Reads the answer of a role endpoint. Only 200 and 404 are definitive, any other status means the
+     * Users microservice could not answer, and must neither be cached nor be taken as a missing role.
+     *
+     * @param response response of the role endpoint
+     * @return true iff the user has the role
+     * @throws DownstreamUnavailableException if the response is not definitive
+     */
+    private static boolean hasRole(HttpResponse<String> response) {
+        switch (response.statusCode()) {
+            case OK:
+                return true;
+            case NOT_FOUND:
+                return false;
+            default:
+                throw new DownstreamUnavailableException(Downstream.USERS,
+                        "role endpoint answered with status " + response.statusCode());
+        }
+    }
+
+    /**
+     * Waits for a future, rethrowing failures the same way the blocking requests used to.
+     *
+     * @param future future to wait for
+     * @param <T>    result type
+     * @return the result of the future
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DownstreamUnavailableException) {
+                throw (DownstreamUnavailableException) e.getCause();
+            }
+            e.printStackTrace();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * The outstanding role queries for one user. Every role has its own future,
+     * so checks can complete before all endpoints have answered.
+     */
+    private static final class RoleProbe {
+        private final transient Map<UserRole, CompletableFuture<Boolean>> roles = new EnumMap<>(UserRole.class);
+        private final transient CompletableFuture<Set<UserRole>> all;
+
+        RoleProbe() {
+            for (UserRole role : UserRole.values()) {
+                roles.put(role, new CompletableFuture<>());
+            }
+            this.all = CompletableFuture.allOf(roles.values().toArray(new CompletableFuture[0]))
+                    .thenApply(v -> collectRoles());
+        }
+
+        RoleProbe(Set<UserRole> known) {
+            for (UserRole role : UserRole.values()) {
+                roles.put(role, CompletableFuture.completedFuture(known.contains(role)));
+            }
+            this.all = CompletableFuture.completedFuture(known);
+        }
+
+        private Set<UserRole> collectRoles() {
+            Set<UserRole> found = EnumSet.noneOf(UserRole.class);
+            roles.forEach((role, future) -> {
+                if (future.join()) {
+                    found.add(role);
+                }
+            });
+            return Collections.unmodifiableSet(found);
+        }
+    }
+}
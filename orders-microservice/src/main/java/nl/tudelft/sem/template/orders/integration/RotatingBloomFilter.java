@@ -0,0 +1,138 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of UUIDs whose entries expire.
+ * Two generations are kept: new entries go into the current generation, lookups check both.
+ * Every rotation period the older generation is dropped, so an entry is remembered for at least
+ * one and at most two rotation periods.
+ *
+ * <p>Like any Bloom filter it can report an ID it has never seen (with the configured false positive
+ * probability per generation), but never misses an ID that was added within the last rotation period.</p>
+ */
+public final class RotatingBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final transient int bitCount;
+    private final transient int hashCount;
+    private final transient Duration rotationPeriod;
+    private final transient Clock clock;
+
+    private transient volatile AtomicLongArray current;
+    private transient volatile AtomicLongArray previous;
+    private transient volatile Instant rotatedAt;
+
+    /**
+     * Constructor for RotatingBloomFilter
+     *
+     * @param expectedInsertions number of IDs expected to be added per rotation period
+     * @param falsePositiveRate  desired false positive probability, between 0 and 1
+     * @param rotationPeriod     how long a generation is kept as the current one
+     * @param clock              clock used to decide when to rotate
+     */
+    public RotatingBloomFilter(long expectedInsertions, double falsePositiveRate, Duration rotationPeriod, Clock clock) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException();
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - Long.SIZE, Math.max(Long.SIZE, bits));
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * LN2));
+        this.rotationPeriod = rotationPeriod;
+        this.clock = clock;
+        this.current = newGeneration();
+        this.previous = newGeneration();
+        this.rotatedAt = clock.instant();
+    }
+
+    /**
+     * Adds an ID to the filter
+     *
+     * @param id id to add
+     */
+    public void put(UUID id) {
+        rotateIfDue();
+        AtomicLongArray bits = current;
+        long hash1 = mix(id.getMostSignificantBits());
+        long hash2 = mix(id.getLeastSignificantBits());
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(hash1 + i * hash2);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long old;
+            do {
+                old = bits.get(word);
+                if ((old & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, old, old | mask));
+        }
+    }
+
+    /**
+     * Checks whether an ID may have been added to the filter recently
+     *
+     * @param id id to check
+     * @return false if the ID was definitely not added, true if it probably was
+     */
+    public boolean mightContain(UUID id) {
+        rotateIfDue();
+        long hash1 = mix(id.getMostSignificantBits());
+        long hash2 = mix(id.getLeastSignificantBits());
+        return contains(current, hash1, hash2) || contains(previous, hash1, hash2);
+    }
+
+    /**
+     * Drops the older generation and starts a new, empty current generation
+     */
+    public synchronized void rotate() {
+        previous = current;
+        current = newGeneration();
+        rotatedAt = clock.instant();
+    }
+
+    private void rotateIfDue() {
+        if (!clock.instant().isBefore(rotatedAt.plus(rotationPeriod))) {
+            synchronized (this) {
+                if (!clock.instant().isBefore(rotatedAt.plus(rotationPeriod))) {
+                    rotate();
+                }
+            }
+        }
+    }
+
+    private boolean contains(AtomicLongArray bits, long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(hash1 + i * hash2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(long hash) {
+        return (int) ((hash & Long.MAX_VALUE) % bitCount);
+    }
+
+    private AtomicLongArray newGeneration() {
+        return new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreads the bits of the input over the whole output
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,35 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Marks the response to the current request as served from stale data, with a {@code Warning: 110} header.
+ * The caches of the facades call this when they return an entry that is past its soft TTL,
+ * which happens while the Users microservice is slow or unavailable.
+ */
+public final class StaleResponse {
+    public static final String HEADER = "Warning";
+    public static final String VALUE = "110 - \"Response is Stale\"";
+
+    private StaleResponse() {
+    }
+
+    /**
+     * Adds the stale warning to the response of the current request.
+     * Does nothing when not called while handling a request.
+     */
+    public static void mark() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response != null && !response.containsHeader(HEADER)) {
+            response.setHeader(HEADER, VALUE);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers for a short time which user IDs are known not to exist in the Users microservice,
+ * so repeated requests for unknown IDs can be rejected without any remote call.
+ *
+ * <p>IDs are kept in a bounded cache. For high volumes of unknown IDs, a Bloom filter can be enabled in front
+ * of it, which remembers far more IDs in a fixed amount of memory, at the cost of rejecting an existing user
+ * with a small, configurable probability until the filter rotates.</p>
+ */
+@Component
+public class UnknownUserCache {
+    private final transient Cache<UUID, Boolean> unknownUsers;
+    private final transient RotatingBloomFilter bloomFilter;
+
+    /**
+     * Constructor for UnknownUserCache
+     *
+     * @param ttlSeconds              how long an unknown ID is remembered
+     * @param maxSize                 maximum number of unknown IDs kept in the cache
+     * @param bloomEnabled            whether to also keep unknown IDs in a Bloom filter
+     * @param bloomInsertions         expected number of unknown IDs per TTL period
+     * @param bloomFpp                desired false positive probability of the Bloom filter
+     */
+    @Autowired
+    public UnknownUserCache(@Value("${users.unknown-cache.ttl-seconds:30}") long ttlSeconds,
+                            @Value("${users.unknown-cache.max-size:100000}") long maxSize,
+                            @Value("${users.unknown-cache.bloom.enabled:false}") boolean bloomEnabled,
+                            @Value("${users.unknown-cache.bloom.expected-insertions:1000000}") long bloomInsertions,
+                            @Value("${users.unknown-cache.bloom.fpp:0.0001}") double bloomFpp) {
+        this(ttlSeconds, maxSize, bloomEnabled
+                ? new RotatingBloomFilter(bloomInsertions, bloomFpp,
+                        Duration.ofSeconds(ttlSeconds), Clock.systemUTC())
+                : null);
+    }
+
+    /**
+     * Testing constructor
+     *
+     * @param bloomFilter Bloom filter to use, or null to only use the cache
+     */
+    public UnknownUserCache(long ttlSeconds, long maxSize, RotatingBloomFilter bloomFilter) {
+        this.unknownUsers = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+        this.bloomFilter = bloomFilter;
+    }
+
+    /**
+     * Checks if a user ID was recently found not to exist
+     *
+     * @param userId id of the user
+     * @return true iff the user is known not to exist
+     */
+    public boolean isUnknown(UUID userId) {
+        return unknownUsers.getIfPresent(userId) != null
+                || bloomFilter != null && bloomFilter.mightContain(userId);
+    }
+
+    /**
+     * Records that a user ID does not exist
+     *
+     * @param userId id of the user
+     */
+    public void markUnknown(UUID userId) {
+        unknownUsers.put(userId, Boolean.TRUE);
+        if (bloomFilter != null) {
+            bloomFilter.put(userId);
+        }
+    }
+
+    /**
+     * Forgets that a user ID does not exist, for example because the user just registered.
+     * IDs in the Bloom filter cannot be removed and only disappear when the filter rotates.
+     *
+     * @param userId id of the user
+     */
+    public void invalidate(UUID userId) {
+        unknownUsers.invalidate(userId);
+    }
+}
@@ -0,0 +1,19 @@
+package nl.tudelft.sem.template.orders.integration;
+
+/**
+ * Roles a user can have in the Users microservice, together with the path under which
+ * users of that role can be queried.
+ */
+public enum UserRole {
+    CUSTOMER("/customers/"), VENDOR("/vendors/"), COURIER("/couriers/"), ADMIN("/admins/");
+
+    private final String path;
+
+    UserRole(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,407 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * HTTP client for the Users microservice, shared by all facades.
+ * Identical GET requests that are sent while one of them is still in flight are coalesced:
+ * they all wait for the response of the first request instead of opening their own connection.
+ *
+ * <p>Every call has a deadline, after which it fails with a TimeoutException. The deadline defaults to
+ * {@code users.http.deadline-ms} and can be set per call with {@link HttpRequest.Builder#timeout(Duration)}.
+ * When hedging is enabled, a GET that has not been answered within the configured latency percentile
+ * of recent calls is sent a second time, and whichever response arrives first is used.</p>
+ *
+ * <p>The number of requests actually sent and the number of coalesced requests are published
+ * as the {@code users.client.requests} counter, tagged with {@code outcome=sent} or {@code outcome=coalesced}.
+ * Hedged requests and calls that exceeded their deadline are counted in {@code users.client.hedged}
+ * and {@code users.client.deadline.exceeded}.</p>
+ *
+ * <p>All calls go through the DownstreamGuard of the Users microservice. While its circuit is open, or too many
+ * calls are in progress, calls fail immediately with a DownstreamUnavailableException. Server errors, timeouts
+ * and connection failures count as failures for the circuit breaker.</p>
+ */
+@Component
+public class UsersClient {
+    private static final int SUCCESS_CLASS = 2;
+    private static final int SERVER_ERROR = 500;
+    private static final int LATENCY_WINDOW = 1024;
+    private static final HttpResponse.BodyHandler<String> STRING_BODY = HttpResponse.BodyHandlers.ofString();
+
+    private final transient HttpClient client;
+    private final transient String usersUrl;
+    private final transient Duration deadline;
+    private final transient boolean hedging;
+    private final transient double hedgePercentile;
+    private final transient Duration minHedgeDelay;
+    private final transient DownstreamGuard guard;
+    private final transient LatencyWindow latencies = new LatencyWindow(LATENCY_WINDOW);
+    private final transient Map<List<Object>, CompletableFuture<? extends HttpResponse<?>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final transient Counter sent;
+    private final transient Counter coalesced;
+    private final transient Counter hedged;
+    private final transient Counter deadlineExceeded;
+
+    /**
+     * Constructor for UsersClient
+     *
+     * @param usersUrl        base url of the users microservice
+     * @param meterRegistry   registry the request counters are published to
+     * @param connectTimeout  maximum time to establish a connection, in milliseconds
+     * @param deadline        default maximum duration of a call, in milliseconds
+     * @param hedging         whether slow GET requests are hedged
+     * @param hedgePercentile latency percentile of recent calls after which a request is hedged
+     * @param minHedgeDelay   minimum time to wait before hedging, in milliseconds
+     * @param guards          circuit breakers and bulkheads of the downstream microservices
+     */
+    @Autowired
+    public UsersClient(@Value("${users.url}") String usersUrl, MeterRegistry meterRegistry,
+                       @Value("${users.http.connect-timeout-ms:1000}") long connectTimeout,
+                       @Value("${users.http.deadline-ms:2000}") long deadline,
+                       @Value("${users.http.hedge.enabled:false}") boolean hedging,
+                       @Value("${users.http.hedge.percentile:0.95}") double hedgePercentile,
+                       @Value("${users.http.hedge.min-delay-ms:20}") long minHedgeDelay,
+                       DownstreamGuards guards) {
+        this(HttpClient.newBuilder().connectTimeout(Duration.ofMillis(connectTimeout)).build(), usersUrl,
+                meterRegistry, Duration.ofMillis(deadline), hedging, hedgePercentile, Duration.ofMillis(minHedgeDelay),
+                guards.get(Downstream.USERS));
+    }
+
+    /**
+     * Testing constructor, without hedging
+     */
+    public UsersClient(HttpClient client, String usersUrl, MeterRegistry meterRegistry) {
+        this(client, usersUrl, meterRegistry, Duration.ofSeconds(2), false, 0, Duration.ZERO);
+    }
+
+    /**
+     * Testing constructor, with a circuit breaker that opens after 5 failures
+     */
+    public UsersClient(HttpClient client, String usersUrl, MeterRegistry meterRegistry, Duration deadline,
+                       boolean hedging, double hedgePercentile, Duration minHedgeDelay) {
+        this(client, usersUrl, meterRegistry, deadline, hedging, hedgePercentile, minHedgeDelay,
+                new DownstreamGuard(Downstream.USERS, new CircuitBreaker(5, Duration.ofSeconds(10), Clock.systemUTC()),
+                        Integer.MAX_VALUE, meterRegistry));
+    }
+
+    /**
+     * Testing constructor
+     */
+    public UsersClient(HttpClient client, String usersUrl, MeterRegistry meterRegistry, Duration deadline,
+                       boolean hedging, double hedgePercentile, Duration minHedgeDelay, DownstreamGuard guard) {
+        this.client = client;
+        this.guard = guard;
+        this.usersUrl = usersUrl;
+        this.deadline = deadline;
+        this.hedging = hedging;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelay = minHedgeDelay;
+        this.sent = Counter.builder("users.client.requests")
+                .description("Requests to the users microservice")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("users.client.requests")
+                .description("Requests to the users microservice")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        this.hedged = Counter.builder("users.client.hedged")
+                .description("Requests to the users microservice that were sent a second time because they were slow")
+                .register(meterRegistry);
+        this.deadlineExceeded = Counter.builder("users.client.deadline.exceeded")
+                .description("Calls to the users microservice that did not complete before their deadline")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a GET request for a path of the users microservice
+     *
+     * @param path path, starting with a slash
+     * @return request builder, to which headers can still be added
+     */
+    public HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(usersUrl + path))
+                .timeout(deadline)
+                .GET();
+    }
+
+    /**
+     * Creates a body handler that decodes successful responses straight from the network stream,
+     * without reading the body into a String first. Decoding happens on the first call to the supplier,
+     * on the calling thread, so the HttpClient threads are never blocked on the stream.
+     * The decoded value is kept, so the response can be shared by coalesced requests.
+     * Unsuccessful responses are discarded and supply null.
+     *
+     * <p>Coalescing requires the same handler instance, so create the handler once and reuse it.</p>
+     *
+     * @param decoder function decoding the body
+     * @param <T>     type of the decoded body
+     * @return body handler
+     */
+    public static <T> HttpResponse.BodyHandler<Supplier<T>> streaming(Function<InputStream, T> decoder) {
+        return responseInfo -> responseInfo.statusCode() / 100 == SUCCESS_CLASS
+                ? HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                        body -> new DecodedBody<>(body, decoder))
+                : HttpResponse.BodySubscribers.replacing(() -> null);
+    }
+
+    /**
+     * Send a GET request to a path of the users microservice
+     *
+     * @param path path, starting with a slash
+     * @return the response
+     */
+    public HttpResponse<String> get(String path) {
+        return send(newRequest(path).build());
+    }
+
+    /**
+     * Send a GET request to a path of the users microservice without blocking
+     *
+     * @param path path, starting with a slash
+     * @return future completing with the response
+     */
+    public CompletableFuture<HttpResponse<String>> getAsync(String path) {
+        return sendAsync(newRequest(path).build());
+    }
+
+    /**
+     * Send a request and wait for its response
+     *
+     * @param request request
+     * @return the response
+     */
+    public HttpResponse<String> send(HttpRequest request) {
+        return send(request, STRING_BODY);
+    }
+
+    /**
+     * Send a request and wait for its response
+     *
+     * @param request     request
+     * @param bodyHandler handler for the response body
+     * @param <T>         type of the response body
+     * @return the response
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        try {
+            return sendAsync(request, bodyHandler).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DownstreamUnavailableException) {
+                throw (DownstreamUnavailableException) e.getCause();
+            }
+            e.printStackTrace();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Send a request without blocking, reading the body as a String
+     *
+     * @param request request
+     * @return future completing with the response
+     */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        return sendAsync(request, STRING_BODY);
+    }
+
+    /**
+     * Send a request without blocking. If an identical GET request with the same body handler is already
+     * in flight, no new request is sent and the response of that request is returned instead.
+     * Every caller gets its own future, so completing or cancelling it does not affect the other callers.
+     * The call fails with a TimeoutException once the timeout of the request, or the default deadline, has passed,
+     * and with a DownstreamUnavailableException if the guard of the Users microservice rejects it.
+     *
+     * @param request     request
+     * @param bodyHandler handler for the response body, part of what makes two requests identical
+     * @param <T>         type of the response body
+     * @return future completing with the response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> bodyHandler) {
+        List<Object> key = List.of(request.method(), request.uri(), request.headers().map(), bodyHandler);
+
+        CompletableFuture<HttpResponse<T>> call = new CompletableFuture<>();
+        // Only GETs are safe to share, every other request is sent even if an identical one is in flight
+        CompletableFuture<? extends HttpResponse<?>> existing = "GET".equals(request.method())
+                ? inFlight.putIfAbsent(key, call) : null;
+        if (existing != null) {
+            coalesced.increment();
+            return ((CompletableFuture<HttpResponse<T>>) existing).copy();
+        }
+
+        try {
+            guard.acquire();
+        } catch (DownstreamUnavailableException e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            return call.copy();
+        }
+
+        call.orTimeout(request.timeout().orElse(deadline).toMillis(), TimeUnit.MILLISECONDS);
+        // The caller gets a stage of the bookkeeping, so the guard and counters are updated before it completes
+        CompletableFuture<HttpResponse<T>> result = call.whenComplete((response, e) -> {
+            inFlight.remove(key, call);
+            guard.release(e == null && (response == null || response.statusCode() < SERVER_ERROR));
+            if (e instanceof TimeoutException || e instanceof HttpTimeoutException) {
+                deadlineExceeded.increment();
+            }
+        });
+
+        AtomicInteger pending = new AtomicInteger();
+        attempt(request, bodyHandler, call, pending);
+        if (hedging && "GET".equals(request.method())) {
+            long delay = Math.max(minHedgeDelay.toMillis(), latencies.percentile(hedgePercentile));
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                if (!call.isDone()) {
+                    hedged.increment();
+                    attempt(request, bodyHandler, call, pending);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Sends one attempt of a call. The first attempt to answer completes the call,
+     * responses that arrive after that are discarded. A failed attempt only fails the call
+     * if no other attempt is still pending.
+     */
+    private <T> void attempt(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                             CompletableFuture<HttpResponse<T>> call, AtomicInteger pending) {
+        sent.increment();
+        pending.incrementAndGet();
+        long start = System.nanoTime();
+        client.sendAsync(request, bodyHandler).whenComplete((response, e) -> {
+            int remaining = pending.decrementAndGet();
+            if (e != null) {
+                if (remaining == 0) {
+                    call.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                }
+                return;
+            }
+            latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            if (!call.complete(response)) {
+                discard(response);
+            }
+        });
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response != null && response.body() instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) response.body()).close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Response body that is decoded once, on first use
+     *
+     * @param <T> type of the decoded body
+     */
+    private static final class DecodedBody<T> implements Supplier<T>, AutoCloseable {
+        private final transient InputStream body;
+        private final transient Function<InputStream, T> decoder;
+        private transient T value;
+        private transient RuntimeException failure;
+        private transient boolean decoded;
+
+        DecodedBody(InputStream body, Function<InputStream, T> decoder) {
+            this.body = body;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public synchronized T get() {
+            if (!decoded) {
+                decoded = true;
+                try (InputStream in = body) {
+                    value = decoder.apply(in);
+                } catch (IOException e) {
+                    failure = new UncheckedIOException(e);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+
+        /**
+         * Closes the body if it was never decoded, releasing the connection
+         */
+        @Override
+        public synchronized void close() throws IOException {
+            if (!decoded) {
+                decoded = true;
+                failure = new IllegalStateException("Response body was discarded");
+                body.close();
+            }
+        }
+    }
+
+    /**
+     * Latencies of the most recent calls, used to decide when to hedge
+     */
+    private static final class LatencyWindow {
+        private final transient long[] samples;
+        private transient int next;
+        private transient int size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        /**
+         * Returns the given percentile of the recorded latencies, or 0 if nothing was recorded yet
+         */
+        synchronized long percentile(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
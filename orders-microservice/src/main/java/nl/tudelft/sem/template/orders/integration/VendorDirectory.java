@@ -0,0 +1,232 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.tudelft.sem.template.orders.external.VendorDTO;
+import nl.tudelft.sem.template.orders.mappers.interfaces.IVendorMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory replica of the vendor list of the Users microservice.
+ * The replica is refreshed in the background, using a conditional GET so that an unchanged list
+ * is not downloaded and parsed again. A changed list is decoded while it streams in.
+ * Readers always see one complete snapshot, as a refresh swaps the whole snapshot at once.
+ *
+ * <p>If refreshes keep failing, the snapshot is still served until it is older than the hard TTL, and responses
+ * served from a snapshot older than the soft TTL are marked as stale. Reading such a snapshot also starts
+ * a refresh in the background. A snapshot past its hard TTL is only replaced by loading the list again.</p>
+ *
+ * <p>The time since the last successful refresh is exposed as the {@code vendor.directory.staleness} metric.</p>
+ */
+@Component
+public class VendorDirectory {
+    private static final int OK = 200;
+    private static final int NOT_MODIFIED = 304;
+
+    private static final String VENDORS_PATH = "/vendors";
+
+    private final transient UsersClient usersClient;
+    private final transient Duration deadline;
+    private final transient Duration softTtl;
+    private final transient Duration hardTtl;
+    private final transient HttpResponse.BodyHandler<Supplier<List<VendorDTO>>> vendorsBody;
+    private final transient Clock clock;
+    private final transient AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final transient AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * Constructor for VendorDirectory
+     *
+     * @param usersClient   client for the users microservice
+     * @param vendorMapper  mapper used to parse the vendor list
+     * @param meterRegistry registry the staleness metric is published to
+     * @param deadline      maximum duration of a refresh, in milliseconds
+     * @param softTtl       age after which the snapshot is served as stale, in milliseconds
+     * @param hardTtl       age after which the snapshot is no longer served, in milliseconds
+     */
+    @Autowired
+    public VendorDirectory(UsersClient usersClient, IVendorMapper vendorMapper, MeterRegistry meterRegistry,
+                           @Value("${users.vendor-directory.deadline-ms:10000}") long deadline,
+                           @Value("${users.vendor-directory.soft-ttl-ms:60000}") long softTtl,
+                           @Value("${users.vendor-directory.hard-ttl-ms:600000}") long hardTtl) {
+        this(usersClient, vendorMapper, meterRegistry, Clock.systemUTC(), Duration.ofMillis(deadline),
+                Duration.ofMillis(softTtl), Duration.ofMillis(hardTtl));
+    }
+
+    /**
+     * Testing constructor
+     */
+    public VendorDirectory(UsersClient usersClient, IVendorMapper vendorMapper, MeterRegistry meterRegistry,
+                           Clock clock, Duration deadline, Duration softTtl, Duration hardTtl) {
+        this.usersClient = usersClient;
+        this.deadline = deadline;
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+        this.vendorsBody = UsersClient.streaming(vendorMapper::toDTO);
+        this.clock = clock;
+
+        Gauge.builder("vendor.directory.staleness", this, VendorDirectory::getStalenessSeconds)
+                .description("Seconds since the vendor directory was last confirmed up to date")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns all vendors. Only the very first call, before any refresh has succeeded, goes over the network.
+     *
+     * @return an unmodifiable list of all vendors
+     */
+    public List<VendorDTO> getVendors() {
+        return current().vendors;
+    }
+
+    /**
+     * Looks up a vendor in the directory
+     *
+     * @param vendorId id of the vendor
+     * @return the vendor, or empty if it is not in the current snapshot
+     */
+    public Optional<VendorDTO> findById(UUID vendorId) {
+        return Optional.ofNullable(current().byId.get(vendorId));
+    }
+
+    /**
+     * Refreshes the directory. If the Users microservice reports that the vendor list did not change,
+     * the current snapshot is kept and only marked as fresh. Failures leave the current snapshot in place.
+     */
+    @Scheduled(initialDelayString = "${users.vendor-directory.initial-delay-ms:0}",
+            fixedDelayString = "${users.vendor-directory.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Seconds since the directory was last confirmed to be up to date
+     *
+     * @return staleness in seconds, NaN if the directory has never been loaded
+     */
+    public double getStalenessSeconds() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return Double.NaN;
+        }
+        return Duration.between(current.fetchedAt, clock.instant()).toMillis() / 1000.0;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return load();
+        }
+        Duration age = Duration.between(current.fetchedAt, clock.instant());
+        if (age.compareTo(hardTtl) >= 0) {
+            return load();
+        }
+        if (age.compareTo(softTtl) >= 0) {
+            StaleResponse.mark();
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    private void refreshInBackground() {
+        if (refreshing.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Fetches the vendor list, conditionally if a previous snapshot exists, and swaps in the result
+     *
+     * @return the new snapshot
+     */
+    private Snapshot load() {
+        Snapshot previous = snapshot.get();
+        HttpRequest.Builder builder = usersClient.newRequest(VENDORS_PATH).timeout(deadline);
+        if (previous != null && previous.etag != null) {
+            builder.header("If-None-Match", previous.etag);
+        }
+        if (previous != null && previous.lastModified != null) {
+            builder.header("If-Modified-Since", previous.lastModified);
+        }
+
+        HttpResponse<Supplier<List<VendorDTO>>> response = usersClient.send(builder.build(), vendorsBody);
+        Snapshot next;
+        if (response.statusCode() == NOT_MODIFIED && previous != null) {
+            next = previous.confirmedAt(clock.instant());
+        } else if (response.statusCode() == OK) {
+            next = new Snapshot(response.body().get(),
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null),
+                    clock.instant());
+        } else {
+            throw new RuntimeException("Unexpected status " + response.statusCode() + " from " + VENDORS_PATH);
+        }
+
+        snapshot.set(next);
+        return next;
+    }
+
+    /**
+     * Immutable view of the vendor list at one point in time
+     */
+    private static final class Snapshot {
+        private final transient List<VendorDTO> vendors;
+        private final transient Map<UUID, VendorDTO> byId;
+        private final transient String etag;
+        private final transient String lastModified;
+        private final transient Instant fetchedAt;
+
+        Snapshot(List<VendorDTO> vendors, String etag, String lastModified, Instant fetchedAt) {
+            this(Collections.unmodifiableList(vendors),
+                    vendors.stream()
+                            .filter(vendor -> vendor.getVendorId() != null)
+                            .collect(Collectors.toUnmodifiableMap(VendorDTO::getVendorId,
+                                    Function.identity(), (first, second) -> first)),
+                    etag, lastModified, fetchedAt);
+        }
+
+        private Snapshot(List<VendorDTO> vendors, Map<UUID, VendorDTO> byId, String etag,
+                         String lastModified, Instant fetchedAt) {
+            this.vendors = vendors;
+            this.byId = byId;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fetchedAt = fetchedAt;
+        }
+
+        Snapshot confirmedAt(Instant instant) {
+            return new Snapshot(vendors, byId, etag, lastModified, instant);
+        }
+    }
+}
@@ -1,45 +1,42 @@
 package nl.tudelft.sem.template.orders.integration;
 
 import nl.tudelft.sem.template.orders.external.VendorDTO;
-import nl.tudelft.sem.template.orders.mappers.interfaces.IVendorMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Client class that interacts with the Adapter (VendorMapper) through the Interface (IVendorMapper).
- * Serves for communication with users microservice and uses the Adapter to convert responses
- * to a suitable format for our usages
+ * Client class for vendor data of the users microservice.
+ * Vendors are served from the local VendorDirectory replica, which uses the Adapter (VendorMapper)
+ * to convert responses to a suitable format for our usages.
  * Includes methods for business logic that involve external service calls (used for authorization).
  */
 @Component
 public class VendorFacade {
 
-    private static final String USERS_URL = "https://gyyl7.wiremockapi.cloud";
-    private static final String DELIVERY_URL = "https://localhost:8081";
-    private static final HttpClient CLIENT = HttpClient.newBuilder().build();
-    private final transient IVendorMapper IVendorMapper;
+    private final transient VendorDirectory vendorDirectory;
+    private final transient RoleResolver roleResolver;
 
-    @SuppressWarnings("checkstyle:ParameterName")
     @Autowired
-    public VendorFacade(IVendorMapper vendorMapper) {
-        this.IVendorMapper = vendorMapper;
+    public VendorFacade(VendorDirectory vendorDirectory, RoleResolver roleResolver) {
+        this.vendorDirectory = vendorDirectory;
+        this.roleResolver = roleResolver;
     }
 
     /**
-     * Checks if a vendor with a specified ID exists
+     * Checks if a vendor with a specified ID exists.
+     * Vendors in the local directory are confirmed without a network call, others are looked up
+     * remotely, as they may have registered since the last refresh.
      *
      * @param vendorId id
      * @return true iff the vendor exists in the database
      */
     public boolean existsById(UUID vendorId) {
-        return sendGetRequest(USERS_URL + "/vendors/" + vendorId).statusCode() == 200;
+        return vendorDirectory.findById(vendorId).isPresent()
+                || roleResolver.hasRole(vendorId, UserRole.VENDOR);
     }
 
     /**
@@ -50,55 +47,38 @@ public class VendorFacade {
      * @return true iff the user is a vendor
      */
     public boolean checkRoleById(UUID userId) {
-        if (isRole(userId, "/customers/")) {
-            return false;
-        }
-        if (isRole(userId, "/couriers/")) {
-            return false;
-        }
-        if (isRole(userId, "/admins/")) {
-            return false;
-        }
-        return true;
+        return roleResolver.hasNoRoleOtherThan(userId, UserRole.VENDOR);
     }
 
     /**
-     * Helper method. Queries the Users microservice for the specified ID, using a certain path.
+     * Asynchronous version of {@link #existsById(UUID)}
      *
-     * @param userId user id
-     * @param path path
-     * @return true iff the status code is 200
+     * @param vendorId id
+     * @return future completing with true iff the vendor exists in the database
      */
-    private boolean isRole(UUID userId, String path) {
-        return sendGetRequest(USERS_URL + path + userId).statusCode() == 200;
+    public CompletableFuture<Boolean> existsByIdAsync(UUID vendorId) {
+        if (vendorDirectory.findById(vendorId).isPresent()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return roleResolver.hasRoleAsync(vendorId, UserRole.VENDOR);
     }
 
     /**
-     * Request all vendors from the Users microservice
+     * Asynchronous version of {@link #checkRoleById(UUID)}
      *
-     * @return a list of VendorDTO
+     * @param userId the id of the user
+     * @return future completing with true iff the user is a vendor
      */
-    public List<VendorDTO> requestVendors() {
-        String uri = USERS_URL + "/vendors";
-        return IVendorMapper.toDTO(sendGetRequest(uri).body());
+    public CompletableFuture<Boolean> checkRoleByIdAsync(UUID userId) {
+        return roleResolver.hasNoRoleOtherThanAsync(userId, UserRole.VENDOR);
     }
 
     /**
-     * Send a GET request to a specified uri
+     * Request all vendors. Served from the local vendor directory.
      *
-     * @param uri uri
-     * @return the request that was created
+     * @return a list of VendorDTO
      */
-    private HttpResponse<String> sendGetRequest(String uri) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(uri))
-                .GET()
-                .build();
-        try {
-            return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        }
+    public List<VendorDTO> requestVendors() {
+        return vendorDirectory.getVendors();
     }
 }
@@ -1,12 +1,14 @@
 package nl.tudelft.sem.template.orders.mappers;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import nl.tudelft.sem.template.orders.external.CustomerDTO;
 import nl.tudelft.sem.template.orders.mappers.interfaces.ICustomerMapper;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
+
 /**
  * Adapter class in the Adapter design pattern. Implements ICustomerMapper interface.
  * Used for converting JSON response data into CustomerDTO objects.
@@ -15,7 +17,10 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class CustomerMapper implements ICustomerMapper {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // ObjectReaders are immutable and thread-safe, so one is built up front and shared by all calls
+    private static final ObjectReader CUSTOMER_READER = new ObjectMapper()
+            .readerFor(CustomerDTO.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
     /**
      * This method maps a JSON response object to a CustomerDTO
@@ -25,17 +30,32 @@ public class CustomerMapper implements ICustomerMapper {
      */
     public CustomerDTO toDTO(String responseBody) {
         try {
-            OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            var res = OBJECT_MAPPER.readValue(responseBody, new TypeReference<CustomerDTO>() {
-            });
-            if (res.equals(new CustomerDTO())) {
-                throw new RuntimeException();
-            }
+            return validate(CUSTOMER_READER.readValue(responseBody));
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
 
-            return res;
+    /**
+     * This method maps a JSON response stream to a CustomerDTO, without buffering the body into a String first
+     *
+     * @param responseBody JSON
+     * @return CustomerDTO after parsing
+     */
+    public CustomerDTO toDTO(InputStream responseBody) {
+        try {
+            return validate(CUSTOMER_READER.readValue(responseBody));
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException(e);
         }
     }
+
+    private static CustomerDTO validate(CustomerDTO customer) {
+        if (customer.equals(new CustomerDTO())) {
+            throw new RuntimeException();
+        }
+        return customer;
+    }
 }
@@ -1,14 +1,23 @@
 package nl.tudelft.sem.template.orders.mappers;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import nl.tudelft.sem.template.model.Vendor;
 import nl.tudelft.sem.template.orders.external.VendorDTO;
 import nl.tudelft.sem.template.orders.mappers.interfaces.IVendorMapper;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Adapter class in the Adapter design pattern. Implements IVendorMapper interface.
@@ -17,7 +26,10 @@ import java.util.List;
  */
 @Component
 public class VendorMapper implements IVendorMapper {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // ObjectReaders are immutable and thread-safe, so one is built up front and shared by all calls
+    private static final ObjectReader VENDOR_READER = new ObjectMapper()
+            .readerFor(VendorDTO.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
 
     /**
      * This method maps a VendorDTO to a Vendor
@@ -56,17 +68,62 @@ public class VendorMapper implements IVendorMapper {
      * @return List of VendorDTO
      */
     public List<VendorDTO> toDTO(String responseBody) {
-        try {
-            OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            var res = OBJECT_MAPPER.readValue(responseBody, new TypeReference<List<VendorDTO>>() {});
-            if (res.contains(new VendorDTO())) {
-                throw new RuntimeException();
-            }
+        try (Stream<VendorDTO> vendors = stream(VENDOR_READER.readValues(responseBody))) {
+            return vendors.collect(Collectors.toList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * This method maps a JSON response stream to a List of VendorDTOs, without buffering the body into a String first
+     *
+     * @param responseBody JSON
+     * @return List of VendorDTO
+     */
+    public List<VendorDTO> toDTO(InputStream responseBody) {
+        try (Stream<VendorDTO> vendors = toDTOStream(responseBody)) {
+            return vendors.collect(Collectors.toList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
 
-            return res;
+    /**
+     * This method lazily maps a JSON response stream to VendorDTOs. Each vendor is parsed only when the stream
+     * reaches it, so consumers can start working before the whole response has arrived.
+     * The stream should be closed after use, which also closes the response body.
+     *
+     * @param responseBody JSON
+     * @return Stream of VendorDTO
+     */
+    public Stream<VendorDTO> toDTOStream(InputStream responseBody) {
+        try {
+            return stream(VENDOR_READER.readValues(responseBody));
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    private static Stream<VendorDTO> stream(MappingIterator<VendorDTO> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .map(VendorMapper::validate)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static VendorDTO validate(VendorDTO vendor) {
+        if (vendor.equals(new VendorDTO())) {
+            throw new RuntimeException();
+        }
+        return vendor;
+    }
+}
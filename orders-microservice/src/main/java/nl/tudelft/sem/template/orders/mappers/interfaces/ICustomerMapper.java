@@ -2,6 +2,8 @@ package nl.tudelft.sem.template.orders.mappers.interfaces;
 
 import nl.tudelft.sem.template.orders.external.CustomerDTO;
 
+import java.io.InputStream;
+
 /**
  * Client interface in the Adapter design pattern. Declares methods for mapping
  * data to DTOs.
@@ -10,4 +12,6 @@ public interface ICustomerMapper {
 
     CustomerDTO toDTO(String responseBody);
 
+    CustomerDTO toDTO(InputStream responseBody);
+
 }
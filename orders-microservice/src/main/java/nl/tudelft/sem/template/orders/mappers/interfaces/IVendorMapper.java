@@ -3,7 +3,9 @@ package nl.tudelft.sem.template.orders.mappers.interfaces;
 import nl.tudelft.sem.template.model.Vendor;
 import nl.tudelft.sem.template.orders.external.VendorDTO;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Client interface in the Adapter design pattern. Declares methods for mapping
@@ -13,6 +15,10 @@ public interface IVendorMapper {
 
     List<VendorDTO> toDTO(String responseBody);
 
+    List<VendorDTO> toDTO(InputStream responseBody);
+
+    Stream<VendorDTO> toDTOStream(InputStream responseBody);
+
     VendorDTO toDTO(Vendor vendor);
 
     Vendor toEntity(VendorDTO vendorDTO);
@@ -0,0 +1,94 @@
+package nl.tudelft.sem.template.orders.pagination;
+
+import nl.tudelft.sem.template.model.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of an order in order lists, which are sorted newest first on (orderTime, ID).
+ * A page starts right after the cursor of the last order of the previous page, so it is found with an index
+ * seek instead of skipping all earlier orders. Orders without an order time come last, and their cursors
+ * have no time.
+ *
+ * <p>Clients get the cursor as an opaque page token.</p>
+ */
+public final class OrderCursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final char SEPARATOR = '/';
+
+    private final transient OffsetDateTime orderTime;
+    private final transient UUID id;
+
+    /**
+     * Constructor for OrderCursor
+     *
+     * @param orderTime time of the order, or null if the order has no time
+     * @param id        id of the order
+     */
+    public OrderCursor(OffsetDateTime orderTime, UUID id) {
+        this.orderTime = orderTime;
+        this.id = id;
+    }
+
+    /**
+     * Returns the cursor of an order
+     *
+     * @param order the order
+     * @return its cursor
+     */
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getOrderTime(), order.getID());
+    }
+
+    public OffsetDateTime getOrderTime() {
+        return orderTime;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Encodes the cursor as a page token
+     *
+     * @return the page token
+     */
+    public String toToken() {
+        String time = orderTime == null ? "" : orderTime.toInstant().toString();
+        String cursor = time + SEPARATOR + id;
+        return ENCODER.encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a page token
+     *
+     * @param token the page token, or null for the first page
+     * @return the cursor the page starts after, or null for the first page
+     * @throws IllegalArgumentException if the token was not issued by this service
+     */
+    public static OrderCursor fromToken(String token) {
+        if (token == null) {
+            return null;
+        }
+
+        String cursor = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+        int separator = cursor.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        String time = cursor.substring(0, separator);
+        try {
+            return new OrderCursor(time.isEmpty() ? null : Instant.parse(time).atOffset(ZoneOffset.UTC),
+                    UUID.fromString(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package nl.tudelft.sem.template.orders.pagination;
+
+import nl.tudelft.sem.template.model.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * One page of an order list, and the cursor of the next page.
+ * Controllers return the orders as the body and the cursor as the X-Next-Page-Token header,
+ * which is absent on the last page.
+ */
+public final class OrderPage {
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 100;
+
+    private final transient List<Order> orders;
+    private final transient OrderCursor next;
+
+    /**
+     * Constructor for OrderPage
+     *
+     * @param orders orders of the page
+     * @param next   cursor the next page starts after, or null if this is the last page
+     */
+    public OrderPage(List<Order> orders, OrderCursor next) {
+        this.orders = orders;
+        this.next = next;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public OrderCursor getNext() {
+        return next;
+    }
+
+    /**
+     * Checks the page size requested by a client
+     *
+     * @param limit requested page size, or null for the default
+     * @return the page size
+     * @throws IllegalArgumentException if the page size is out of range
+     */
+    public static int checkLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page size out of range");
+        }
+        return limit;
+    }
+
+    /**
+     * Builds the 200 OK response of the page
+     *
+     * @return the orders, with the token of the next page in the X-Next-Page-Token header
+     */
+    public ResponseEntity<List<Order>> toResponse() {
+        HttpHeaders headers = new HttpHeaders();
+        if (next != null) {
+            headers.set(NEXT_PAGE_TOKEN_HEADER, next.toToken());
+        }
+        return ResponseEntity.ok().headers(headers).body(orders);
+    }
+}
@@ -0,0 +1,11 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import nl.tudelft.sem.template.model.ArchivedDish;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ArchivedDishRepository extends JpaRepository<ArchivedDish, UUID> {
+}
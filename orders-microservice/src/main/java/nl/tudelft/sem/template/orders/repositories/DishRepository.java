@@ -1,18 +1,87 @@
 package nl.tudelft.sem.template.orders.repositories;
 
 import nl.tudelft.sem.template.model.Dish;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
 public interface DishRepository extends JpaRepository<Dish, UUID> {
+    String MENU_CACHE_REGION = "dish-menus";
+
+    /**
+     * Finds all dishes of a vendor, including deleted ones. The ids of the result are kept in the query cache,
+     * which Hibernate invalidates whenever a dish is written, and the dishes themselves come from the entity cache.
+     *
+     * @param vendorId id of the vendor
+     * @return the dishes of the vendor
+     */
     @Query("SELECT d FROM Dish d WHERE d.vendorId = :vendorId")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = MENU_CACHE_REGION)})
     List<Dish> getDishesByVendorId(@Param("vendorId") UUID vendorId);
 
-}
+    /**
+     * Finds the dishes on the menu of a vendor. Deleted dishes are filtered out by the database,
+     * using the index on vendor and deleted flag, so they are never loaded. Cached like getDishesByVendorId.
+     *
+     * @param vendorId id of the vendor
+     * @return the dishes of the vendor that are not deleted
+     */
+    @Query("SELECT d FROM Dish d WHERE d.vendorId = :vendorId AND d.isDeleted = false")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = MENU_CACHE_REGION)})
+    List<Dish> getActiveDishesByVendorId(@Param("vendorId") UUID vendorId);
+
+    /**
+     * Finds a dish that is not deleted. The dish is looked up by id, so it is served by the entity cache,
+     * which a query filtering on the deleted flag would bypass.
+     *
+     * @param dishId id of the dish
+     * @return the dish, or empty if it does not exist or is deleted
+     */
+    default Optional<Dish> findActiveById(UUID dishId) {
+        return findById(dishId).filter(dish -> !Boolean.TRUE.equals(dish.getIsDeleted()));
+    }
+
+    /**
+     * Finds dishes that were deleted before a point in time and that no ordered dish refers to,
+     * longest deleted first
+     *
+     * @param deletedBefore only dishes deleted before this time are returned
+     * @param page          number of dishes to return
+     * @return the dishes that can be archived
+     */
+    @Query("SELECT d FROM Dish d WHERE d.isDeleted = true AND d.deletedAt < :deletedBefore"
+            + " AND NOT EXISTS (SELECT od FROM OrderedDish od WHERE od.dish = d) ORDER BY d.deletedAt")
+    List<Dish> findArchivable(@Param("deletedBefore") OffsetDateTime deletedBefore, Pageable page);
 
+    /**
+     * Finds vendors that have dishes that are not deleted, but no menu statistics
+     *
+     * @param page number of vendors to return
+     * @return ids of the vendors
+     */
+    @Query("SELECT DISTINCT d.vendorId FROM Dish d WHERE d.isDeleted = false"
+            + " AND NOT EXISTS (SELECT s FROM VendorMenuStats s WHERE s.vendorId = d.vendorId)")
+    List<UUID> findVendorIdsWithoutMenuStats(Pageable page);
+
+    @Query("SELECT MIN(d.price) FROM Dish d WHERE d.vendorId = :vendorId AND d.isDeleted = false")
+    Double getMinPriceByVendorId(@Param("vendorId") UUID vendorId);
+
+    @Query("SELECT MAX(d.price) FROM Dish d WHERE d.vendorId = :vendorId AND d.isDeleted = false")
+    Double getMaxPriceByVendorId(@Param("vendorId") UUID vendorId);
+
+}
@@ -1,16 +1,198 @@
 package nl.tudelft.sem.template.orders.repositories;
 
 import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Repository of orders.
+ * The list queries fetch the ordered dishes and their dishes together with the orders, so listing orders
+ * does not load them one order at a time. The allergens and ingredients of the dishes are loaded in batches
+ * (hibernate.default_batch_fetch_size), as Hibernate cannot join fetch more than one list per query.
+ *
+ * <p>Pages of orders are found in two steps: the ids of the page are found on the (orderTime, ID) keyset,
+ * then the orders with those ids are fetched with their dishes. Limiting a query that join fetches
+ * a collection would make Hibernate load every matching order and apply the limit in memory.
+ * Orders without an order time come after all other orders, sorted on their ID only.</p>
+ */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
+    /**
+     * Removes the orders repeated by the join in memory, without sending DISTINCT to the database
+     */
+    String DISTINCT_IN_MEMORY_ONLY = "hibernate.query.passDistinctThrough";
 
-    List<Order> findByVendorId(UUID vendorId);
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.vendorId = :vendorId")
+    @QueryHints(@QueryHint(name = DISTINCT_IN_MEMORY_ONLY, value = "false"))
+    @EntityGraph(attributePaths = {"dishes", "dishes.dish"})
+    List<Order> findByVendorId(@Param("vendorId") UUID vendorId);
 
-    List<Order> findByCustomerId(UUID customerId);
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.customerId = :customerId")
+    @QueryHints(@QueryHint(name = DISTINCT_IN_MEMORY_ONLY, value = "false"))
+    @EntityGraph(attributePaths = {"dishes", "dishes.dish"})
+    List<Order> findByCustomerId(@Param("customerId") UUID customerId);
+
+    @Override
+    @Query("SELECT DISTINCT o FROM Order o")
+    @QueryHints(@QueryHint(name = DISTINCT_IN_MEMORY_ONLY, value = "false"))
+    @EntityGraph(attributePaths = {"dishes", "dishes.dish"})
+    List<Order> findAll();
+
+    @Query("SELECT DISTINCT o FROM Order o WHERE o.ID IN :ids")
+    @QueryHints(@QueryHint(name = DISTINCT_IN_MEMORY_ONLY, value = "false"))
+    @EntityGraph(attributePaths = {"dishes", "dishes.dish"})
+    List<Order> findAllWithDishesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT o.ID FROM Order o ORDER BY o.orderTime DESC NULLS LAST, o.ID DESC")
+    List<UUID> findPageIds(Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.orderTime < :time OR (o.orderTime = :time AND o.ID < :id) "
+            + "ORDER BY o.orderTime DESC NULLS LAST, o.ID DESC")
+    List<UUID> findPageIdsAfter(@Param("time") OffsetDateTime time, @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.orderTime IS NULL ORDER BY o.ID DESC")
+    List<UUID> findPageIdsWithoutTime(Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.orderTime IS NULL AND o.ID < :id ORDER BY o.ID DESC")
+    List<UUID> findPageIdsWithoutTimeAfter(@Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.vendorId = :vendorId ORDER BY o.orderTime DESC NULLS LAST, o.ID DESC")
+    List<UUID> findPageIdsByVendorId(@Param("vendorId") UUID vendorId, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.vendorId = :vendorId "
+            + "AND (o.orderTime < :time OR (o.orderTime = :time AND o.ID < :id)) "
+            + "ORDER BY o.orderTime DESC NULLS LAST, o.ID DESC")
+    List<UUID> findPageIdsByVendorIdAfter(@Param("vendorId") UUID vendorId, @Param("time") OffsetDateTime time,
+                                          @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.vendorId = :vendorId AND o.orderTime IS NULL ORDER BY o.ID DESC")
+    List<UUID> findPageIdsByVendorIdWithoutTime(@Param("vendorId") UUID vendorId, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.vendorId = :vendorId AND o.orderTime IS NULL AND o.ID < :id "
+            + "ORDER BY o.ID DESC")
+    List<UUID> findPageIdsByVendorIdWithoutTimeAfter(@Param("vendorId") UUID vendorId, @Param("id") UUID id,
+                                                     Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.customerId = :customerId ORDER BY o.orderTime DESC NULLS LAST, o.ID DESC")
+    List<UUID> findPageIdsByCustomerId(@Param("customerId") UUID customerId, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.customerId = :customerId "
+            + "AND (o.orderTime < :time OR (o.orderTime = :time AND o.ID < :id)) "
+            + "ORDER BY o.orderTime DESC NULLS LAST, o.ID DESC")
+    List<UUID> findPageIdsByCustomerIdAfter(@Param("customerId") UUID customerId, @Param("time") OffsetDateTime time,
+                                            @Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.customerId = :customerId AND o.orderTime IS NULL ORDER BY o.ID DESC")
+    List<UUID> findPageIdsByCustomerIdWithoutTime(@Param("customerId") UUID customerId, Pageable pageable);
+
+    @Query("SELECT o.ID FROM Order o WHERE o.customerId = :customerId AND o.orderTime IS NULL AND o.ID < :id "
+            + "ORDER BY o.ID DESC")
+    List<UUID> findPageIdsByCustomerIdWithoutTimeAfter(@Param("customerId") UUID customerId, @Param("id") UUID id,
+                                                       Pageable pageable);
+
+    /**
+     * Finds a page of all orders, newest first
+     *
+     * @param after cursor the page starts after, or null for the first page
+     * @param limit maximum number of orders in the page
+     * @return the page
+     */
+    default OrderPage findPage(OrderCursor after, int limit) {
+        Pageable ids = PageRequest.of(0, limit + 1);
+        if (after == null) {
+            return loadPage(findPageIds(ids), limit);
+        }
+        if (after.getOrderTime() == null) {
+            return loadPage(findPageIdsWithoutTimeAfter(after.getId(), ids), limit);
+        }
+        return loadPage(thenWithoutTime(findPageIdsAfter(after.getOrderTime(), after.getId(), ids), limit,
+                this::findPageIdsWithoutTime), limit);
+    }
+
+    /**
+     * Finds a page of the orders of a vendor, newest first
+     *
+     * @param vendorId id of the vendor
+     * @param after    cursor the page starts after, or null for the first page
+     * @param limit    maximum number of orders in the page
+     * @return the page
+     */
+    default OrderPage findPageByVendorId(UUID vendorId, OrderCursor after, int limit) {
+        Pageable ids = PageRequest.of(0, limit + 1);
+        if (after == null) {
+            return loadPage(findPageIdsByVendorId(vendorId, ids), limit);
+        }
+        if (after.getOrderTime() == null) {
+            return loadPage(findPageIdsByVendorIdWithoutTimeAfter(vendorId, after.getId(), ids), limit);
+        }
+        return loadPage(thenWithoutTime(findPageIdsByVendorIdAfter(vendorId, after.getOrderTime(), after.getId(), ids),
+                limit, rest -> findPageIdsByVendorIdWithoutTime(vendorId, rest)), limit);
+    }
+
+    /**
+     * Finds a page of the orders of a customer, newest first
+     *
+     * @param customerId id of the customer
+     * @param after      cursor the page starts after, or null for the first page
+     * @param limit      maximum number of orders in the page
+     * @return the page
+     */
+    default OrderPage findPageByCustomerId(UUID customerId, OrderCursor after, int limit) {
+        Pageable ids = PageRequest.of(0, limit + 1);
+        if (after == null) {
+            return loadPage(findPageIdsByCustomerId(customerId, ids), limit);
+        }
+        if (after.getOrderTime() == null) {
+            return loadPage(findPageIdsByCustomerIdWithoutTimeAfter(customerId, after.getId(), ids), limit);
+        }
+        return loadPage(thenWithoutTime(
+                findPageIdsByCustomerIdAfter(customerId, after.getOrderTime(), after.getId(), ids), limit,
+                rest -> findPageIdsByCustomerIdWithoutTime(customerId, rest)), limit);
+    }
+
+    /**
+     * Completes the ids of a page that ran out of orders with a time with the first orders without a time,
+     * which are not matched by the keyset of a cursor with a time
+     */
+    private static List<UUID> thenWithoutTime(List<UUID> ids, int limit, Function<Pageable, List<UUID>> withoutTime) {
+        if (ids.size() > limit) {
+            return ids;
+        }
+        List<UUID> page = new ArrayList<>(ids);
+        page.addAll(withoutTime.apply(PageRequest.of(0, limit + 1 - ids.size())));
+        return page;
+    }
+
+    /**
+     * Fetches the orders of a page, given the ids of the page and one more id if there is a next page
+     */
+    private OrderPage loadPage(List<UUID> ids, int limit) {
+        List<UUID> pageIds = ids.size() > limit ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new OrderPage(List.of(), null);
+        }
+
+        Map<UUID, Order> byId = findAllWithDishesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Order::getID, Function.identity()));
+        List<Order> orders = pageIds.stream().map(byId::get).collect(Collectors.toList());
+        return new OrderPage(orders, ids.size() > limit ? OrderCursor.of(orders.get(orders.size() - 1)) : null);
+    }
 }
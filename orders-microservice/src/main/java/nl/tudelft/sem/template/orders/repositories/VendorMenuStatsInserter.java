@@ -0,0 +1,16 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import java.util.UUID;
+
+/**
+ * Inserts menu statistics without overwriting statistics that another transaction inserted in the meantime
+ */
+public interface VendorMenuStatsInserter {
+    /**
+     * Inserts empty statistics for a vendor. Unlike save, this never overwrites statistics that another
+     * transaction inserted in the meantime, it fails on the primary key instead.
+     *
+     * @param vendorId id of the vendor
+     */
+    void insertEmpty(UUID vendorId);
+}
@@ -0,0 +1,37 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import nl.tudelft.sem.template.model.VendorMenuStats;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManager;
+import java.util.UUID;
+
+/**
+ * Implementation of VendorMenuStatsInserter, part of VendorMenuStatsRepository.
+ * The insert is a native query, which Hibernate assumes writes every table, and so would evict every
+ * second-level cache region. It is declared to only write the menu statistics, so cached dishes and menus stay.
+ */
+public class VendorMenuStatsInserterImpl implements VendorMenuStatsInserter {
+    private final transient EntityManager entityManager;
+
+    /**
+     * Constructor for VendorMenuStatsInserterImpl
+     *
+     * @param entityManager entity manager of the current transaction
+     */
+    @Autowired
+    public VendorMenuStatsInserterImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void insertEmpty(UUID vendorId) {
+        entityManager.createNativeQuery("INSERT INTO vendor_menu_stats (vendor_id, dish_count, price_sum, average_price)"
+                        + " VALUES (:vendorId, 0, 0, 0)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(VendorMenuStats.class)
+                .setParameter("vendorId", vendorId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,26 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import nl.tudelft.sem.template.model.VendorMenuStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface VendorMenuStatsRepository extends JpaRepository<VendorMenuStats, UUID>, VendorMenuStatsInserter {
+    /**
+     * Finds the menu statistics of a vendor and locks them until the end of the transaction,
+     * so concurrent changes to the menu of the vendor are applied one after another.
+     *
+     * @param vendorId id of the vendor
+     * @return the statistics, or empty if the vendor never had a dish
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM VendorMenuStats s WHERE s.vendorId = :vendorId")
+    Optional<VendorMenuStats> findForUpdate(@Param("vendorId") UUID vendorId);
+}
@@ -0,0 +1,125 @@
+package nl.tudelft.sem.template.orders.services;
+
+import nl.tudelft.sem.template.model.ArchivedDish;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.orders.repositories.ArchivedDishRepository;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves dishes that were deleted long ago from the dish table to the archived dish table, so the dish table
+ * only grows with the menus that are in use. Dishes that an order still refers to are kept.
+ *
+ * <p>Dishes are archived in batches, each in its own transaction, so a run never holds many rows locked.</p>
+ */
+@Service
+public class DishArchiveService {
+    private final transient DishRepository dishRepository;
+    private final transient ArchivedDishRepository archivedDishRepository;
+    private final transient TransactionTemplate transactionTemplate;
+    private final transient Clock clock;
+    private final transient Duration retention;
+    private final transient int batchSize;
+
+    /**
+     * Constructor for DishArchiveService
+     *
+     * @param dishRepository         the dish repo
+     * @param archivedDishRepository the archived dish repo
+     * @param transactionManager     transaction manager the batches run in
+     * @param retentionDays          number of days a deleted dish is kept before it is archived
+     * @param batchSize              number of dishes archived per transaction
+     */
+    @Autowired
+    public DishArchiveService(DishRepository dishRepository, ArchivedDishRepository archivedDishRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${dishes.archive.retention-days:90}") long retentionDays,
+                              @Value("${dishes.archive.batch-size:500}") int batchSize) {
+        this(dishRepository, archivedDishRepository, transactionManager, Clock.systemUTC(),
+                Duration.ofDays(retentionDays), batchSize);
+    }
+
+    /**
+     * Testing constructor
+     */
+    public DishArchiveService(DishRepository dishRepository, ArchivedDishRepository archivedDishRepository,
+                              PlatformTransactionManager transactionManager, Clock clock, Duration retention,
+                              int batchSize) {
+        this.dishRepository = dishRepository;
+        this.archivedDishRepository = archivedDishRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives the dishes that were deleted longer ago than the retention period. Failures are logged,
+     * and the remaining dishes are archived by the next run.
+     */
+    @Scheduled(cron = "${dishes.archive.cron:0 0 3 * * *}")
+    public void archiveDeletedDishes() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Archives the dishes that were deleted longer ago than the retention period, and that no order refers to
+     *
+     * @return the number of archived dishes
+     */
+    public int archive() {
+        OffsetDateTime deletedBefore = OffsetDateTime.now(clock).minus(retention);
+        int archived = 0;
+        int batch;
+        do {
+            Integer count = transactionTemplate.execute(status -> archiveBatch(deletedBefore));
+            batch = count == null ? 0 : count;
+            archived += batch;
+        } while (batch == batchSize);
+        return archived;
+    }
+
+    private int archiveBatch(OffsetDateTime deletedBefore) {
+        List<Dish> dishes = dishRepository.findArchivable(deletedBefore, PageRequest.of(0, batchSize));
+        if (dishes.isEmpty()) {
+            return 0;
+        }
+
+        OffsetDateTime archivedAt = OffsetDateTime.now(clock);
+        List<ArchivedDish> archivedDishes = new ArrayList<>(dishes.size());
+        for (Dish dish : dishes) {
+            ArchivedDish archivedDish = new ArchivedDish();
+            archivedDish.setID(dish.getID());
+            archivedDish.setName(dish.getName());
+            archivedDish.setImageLink(dish.getImageLink());
+            archivedDish.setPrice(dish.getPrice());
+            archivedDish.setAllergens(dish.getAllergens() == null ? null : new ArrayList<>(dish.getAllergens()));
+            archivedDish.setIngredients(dish.getIngredients() == null ? null : new ArrayList<>(dish.getIngredients()));
+            archivedDish.setDescription(dish.getDescription());
+            archivedDish.setVendorId(dish.getVendorId());
+            archivedDish.setDeletedAt(dish.getDeletedAt());
+            archivedDish.setArchivedAt(archivedAt);
+            archivedDishes.add(archivedDish);
+        }
+
+        archivedDishRepository.saveAll(archivedDishes);
+        dishRepository.deleteAll(dishes);
+        return dishes.size();
+    }
+}
@@ -5,7 +5,11 @@ import nl.tudelft.sem.template.orders.domain.IDishService;
 import nl.tudelft.sem.template.orders.repositories.DishRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -14,22 +18,32 @@ import java.util.stream.Collectors;
 @Service
 public class DishService implements IDishService {
     private final transient DishRepository dishRepository;
+    private final transient MenuStatsService menuStatsService;
+    private final transient TransactionTemplate addTransaction;
 
+    /**
+     * Constructor for DishService
+     *
+     * @param dishRepository     the dish repo
+     * @param menuStatsService   service keeping the menu statistics of the vendors up to date
+     * @param transactionManager transaction manager dishes are added with
+     */
     @Autowired
-    public DishService(DishRepository dishRepository) {
+    public DishService(DishRepository dishRepository, MenuStatsService menuStatsService,
+                       PlatformTransactionManager transactionManager) {
         this.dishRepository = dishRepository;
+        this.menuStatsService = menuStatsService;
+        this.addTransaction = new TransactionTemplate(transactionManager);
     }
 
     /**
-     * Find dish by ID
+     * Find dish by ID, if it is not deleted
      *
      * @param dishId id of the dish
-     * @return the dish
+     * @return the dish, or null if it does not exist or is deleted
      */
     public Dish findByIdNotDeleted(UUID dishId) {
-        return dishRepository.findById(dishId)
-            .filter(dish -> !dish.getIsDeleted())
-            .orElse(null);
+        return dishRepository.findActiveById(dishId).orElse(null);
     }
 
     /**
@@ -48,43 +62,53 @@ public class DishService implements IDishService {
     }
 
     /**
-     * Find all dishes that belong to a specified vendor
+     * Find all dishes that belong to a specified vendor and are not deleted.
+     * Deleted dishes are filtered out by the database, so they are not loaded.
      *
      * @param vendorId id of the vendor
      * @return the vendor's dishes
      */
     public List<Dish> findAllByVendorIdNotDeleted(UUID vendorId) {
-        return dishRepository.getDishesByVendorId(vendorId)
-            .stream()
-            .filter(dish -> !dish.getIsDeleted())
-            .collect(Collectors.toList());
+        return dishRepository.getActiveDishesByVendorId(vendorId);
     }
 
     /**
-     * Adds a dish to the menu of a vendor.
+     * Adds a dish to the menu of a vendor, and to the menu statistics of the vendor.
+     * The dish is always added as not deleted, whatever the request says, as dishes are deleted with removeDish.
+     * The statistics of a vendor that has none yet are created before the transaction adding the dish is opened,
+     * see MenuStatsService#ensureStats.
      *
      * @param vendorId the id of the vendor
      * @param dish the dish to be added
      * @return the added dish
      */
     public Dish addDish(UUID vendorId, Dish dish) throws IllegalArgumentException {
-        dish.setVendorId(vendorId);
-        return dishRepository.save(dish);
+        menuStatsService.ensureStats(vendorId);
+        return addTransaction.execute(status -> {
+            dish.setVendorId(vendorId);
+            dish.setIsDeleted(false);
+            dish.setDeletedAt(null);
+            Dish addedDish = dishRepository.save(dish);
+            menuStatsService.dishAdded(addedDish);
+            return addedDish;
+        });
     }
 
     /**
-     * Removes a dish from the menu of a vendor.
+     * Removes a dish from the menu of a vendor, and from the menu statistics of the vendor.
      *
      * @param vendorId the id of the vendor
      * @param dishId the id of the dish
      * @return true if the dish was removed, false otherwise
      */
     @Override
+    @Transactional
     public boolean removeDish(UUID vendorId, UUID dishId) {
         Dish dish = dishRepository.findById(dishId).orElse(null);
 
         if (dish != null && dish.getVendorId().equals(vendorId) && !dish.getIsDeleted()) {
             dish.setIsDeleted(true);
+            dish.setDeletedAt(OffsetDateTime.now());
             if (dish.getAllergens() != null) {
                 dish.setAllergens(new ArrayList<>(dish.getAllergens()));
             } else {
@@ -97,22 +121,33 @@ public class DishService implements IDishService {
             }
 
             dishRepository.save(dish);
+            menuStatsService.dishRemoved(dish);
             return true;
         }
 
         return false;
     }
 
+    /**
+     * Updates the details of a dish, and the menu statistics of its vendor.
+     *
+     * @param dishId the id of the dish
+     * @param updatedDish the new details of the dish
+     * @return the updated dish, or null if the dish does not exist or is deleted
+     */
     @Override
+    @Transactional
     public Dish updateDish(UUID dishId, Dish updatedDish) {
-        Dish existingDish = dishRepository.findById(dishId)
-            .filter(dish -> !dish.getIsDeleted())
-            .orElse(null);
+        Dish existingDish = dishRepository.findActiveById(dishId).orElse(null);
 
         if (existingDish == null) {
             return null;
         }
 
+        Double oldPrice = existingDish.getPrice();
+        List<String> oldAllergens = existingDish.getAllergens() == null
+            ? List.of() : new ArrayList<>(existingDish.getAllergens());
+
         existingDish.setName(updatedDish.getName());
         existingDish.setDescription(updatedDish.getDescription());
         existingDish.setImageLink(updatedDish.getImageLink());
@@ -130,7 +165,9 @@ public class DishService implements IDishService {
             existingDish.setIngredients(new ArrayList<>());
         }
 
-        return dishRepository.save(existingDish);
+        Dish savedDish = dishRepository.save(existingDish);
+        menuStatsService.dishUpdated(oldPrice, oldAllergens, savedDish);
+        return savedDish;
     }
 
     /**
@@ -0,0 +1,244 @@
+package nl.tudelft.sem.template.orders.services;
+
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.VendorMenuStats;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import nl.tudelft.sem.template.orders.repositories.VendorMenuStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the menu statistics of every vendor up to date as dishes are added, updated and removed.
+ * The statistics are changed in the transaction that changes the dish, so they always match the dish table,
+ * and reading them costs one row per vendor instead of reading the dishes.
+ *
+ * <p>Counts, sums and allergen counts are updated incrementally. The minimum and maximum price are
+ * only queried again when the dish that held them is removed or repriced. The statistics of a vendor that
+ * has none yet are computed from its dishes, when its menu first changes or when the application starts.</p>
+ */
+@Service
+public class MenuStatsService {
+    private static final int BACKFILL_BATCH_SIZE = 100;
+
+    private final transient VendorMenuStatsRepository menuStatsRepository;
+    private final transient DishRepository dishRepository;
+    private final transient TransactionTemplate newStatsTransaction;
+
+    /**
+     * Constructor for MenuStatsService
+     *
+     * @param menuStatsRepository the menu statistics repo
+     * @param dishRepository      the dish repo
+     * @param transactionManager  transaction manager the statistics of new vendors are inserted with
+     */
+    @Autowired
+    public MenuStatsService(VendorMenuStatsRepository menuStatsRepository, DishRepository dishRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.menuStatsRepository = menuStatsRepository;
+        this.dishRepository = dishRepository;
+        this.newStatsTransaction = new TransactionTemplate(transactionManager);
+        this.newStatsTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Finds the menu statistics of several vendors with one query
+     *
+     * @param vendorIds ids of the vendors
+     * @return the statistics of every vendor that ever had a dish
+     */
+    public Map<UUID, VendorMenuStats> findByVendorIds(Collection<UUID> vendorIds) {
+        Map<UUID, VendorMenuStats> stats = new HashMap<>();
+        if (!vendorIds.isEmpty()) {
+            menuStatsRepository.findAllById(vendorIds).forEach(s -> stats.put(s.getVendorId(), s));
+        }
+        return stats;
+    }
+
+    /**
+     * Creates the statistics of a vendor that has none yet, in a transaction of its own.
+     * Call it before opening the transaction that changes the menu of the vendor: a transaction that is still
+     * open holds a database connection, and creating the statistics inside it would need a second one, so
+     * as many concurrent first changes as the pool has connections would wait on each other until they time out.
+     *
+     * @param vendorId id of the vendor
+     */
+    public void ensureStats(UUID vendorId) {
+        if (!menuStatsRepository.existsById(vendorId)) {
+            createStats(vendorId);
+        }
+    }
+
+    /**
+     * Counts a dish that was added to the menu of its vendor
+     *
+     * @param dish the added dish
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dishAdded(Dish dish) {
+        VendorMenuStats stats = lock(dish.getVendorId());
+        add(stats, priceOf(dish.getPrice()), dish.getAllergens());
+        menuStatsRepository.save(stats);
+    }
+
+    /**
+     * Stops counting a dish that was removed from the menu of its vendor
+     *
+     * @param dish the removed dish
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dishRemoved(Dish dish) {
+        VendorMenuStats stats = lock(dish.getVendorId());
+        remove(stats, priceOf(dish.getPrice()), dish.getAllergens());
+        menuStatsRepository.save(stats);
+    }
+
+    /**
+     * Counts the new price and allergens of a dish instead of its old ones
+     *
+     * @param oldPrice     price of the dish before the update
+     * @param oldAllergens allergens of the dish before the update
+     * @param dish         the updated dish
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dishUpdated(Double oldPrice, List<String> oldAllergens, Dish dish) {
+        VendorMenuStats stats = lock(dish.getVendorId());
+        remove(stats, priceOf(oldPrice), oldAllergens);
+        add(stats, priceOf(dish.getPrice()), dish.getAllergens());
+        menuStatsRepository.save(stats);
+    }
+
+    /**
+     * Locks the statistics of a vendor, inserting them first if the vendor has none yet.
+     * Two transactions can both find no statistics for a new vendor, so the insert runs in its own transaction,
+     * and the one that loses the race on the primary key locks the row the other one inserted.
+     * The insert only happens here if the caller did not call ensureStats before opening its transaction,
+     * it then holds a second connection of the pool while the caller's one is open.
+     *
+     * @param vendorId id of the vendor
+     * @return the locked statistics
+     */
+    private VendorMenuStats lock(UUID vendorId) {
+        Optional<VendorMenuStats> stats = menuStatsRepository.findForUpdate(vendorId);
+        if (stats.isPresent()) {
+            return stats.get();
+        }
+
+        createStats(vendorId);
+        return menuStatsRepository.findForUpdate(vendorId).orElseThrow();
+    }
+
+    /**
+     * Inserts the statistics of a vendor, computed from its committed dishes, in a transaction of its own.
+     * Does nothing if another transaction inserted them first. Dishes that are still being added, updated
+     * or removed are not committed yet, and are counted by their own transaction once it has locked the row.
+     *
+     * @param vendorId id of the vendor
+     */
+    private void createStats(UUID vendorId) {
+        try {
+            newStatsTransaction.executeWithoutResult(status -> {
+                menuStatsRepository.insertEmpty(vendorId);
+                VendorMenuStats stats = menuStatsRepository.findForUpdate(vendorId).orElseThrow();
+                for (Dish dish : dishRepository.getActiveDishesByVendorId(vendorId)) {
+                    add(stats, priceOf(dish.getPrice()), dish.getAllergens());
+                }
+                menuStatsRepository.save(stats);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Inserted by a concurrent transaction
+        }
+    }
+
+    /**
+     * Creates the statistics of every vendor that has dishes but no statistics, such as vendors whose dishes
+     * were added before menu statistics existed. Runs once the application has started, vendor searches
+     * count vendors without statistics as having no dishes until then.
+     * Every vendor is tried once: the backfill stops when a batch only holds vendors it already tried,
+     * whose statistics could not be inserted, and they are created when their menu first changes instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Set<UUID> tried = new HashSet<>();
+        try {
+            List<UUID> vendorIds;
+            do {
+                // Vendors that were tried but still have no statistics are returned again, so the page is made
+                // large enough to hold a full batch of untried vendors besides them
+                vendorIds = dishRepository.findVendorIdsWithoutMenuStats(
+                        PageRequest.of(0, tried.size() + BACKFILL_BATCH_SIZE)).stream()
+                        .filter(tried::add)
+                        .collect(Collectors.toList());
+                vendorIds.forEach(this::createStats);
+            } while (!vendorIds.isEmpty());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void add(VendorMenuStats stats, double price, List<String> allergens) {
+        stats.setDishCount(stats.getDishCount() + 1);
+        stats.setPriceSum(stats.getPriceSum() + price);
+        if (stats.getMinPrice() == null || price < stats.getMinPrice()) {
+            stats.setMinPrice(price);
+        }
+        if (stats.getMaxPrice() == null || price > stats.getMaxPrice()) {
+            stats.setMaxPrice(price);
+        }
+        for (String allergen : distinct(allergens)) {
+            stats.getAllergenCounts().merge(allergen, 1L, Long::sum);
+        }
+        updateAverage(stats);
+    }
+
+    private void remove(VendorMenuStats stats, double price, List<String> allergens) {
+        stats.setDishCount(Math.max(0, stats.getDishCount() - 1));
+        stats.setPriceSum(stats.getDishCount() == 0 ? 0.0 : stats.getPriceSum() - price);
+        for (String allergen : distinct(allergens)) {
+            stats.getAllergenCounts().computeIfPresent(allergen, (key, count) -> count > 1 ? count - 1 : null);
+        }
+
+        if (stats.getDishCount() == 0) {
+            stats.setMinPrice(null);
+            stats.setMaxPrice(null);
+        } else {
+            if (stats.getMinPrice() != null && price <= stats.getMinPrice()) {
+                stats.setMinPrice(dishRepository.getMinPriceByVendorId(stats.getVendorId()));
+            }
+            if (stats.getMaxPrice() != null && price >= stats.getMaxPrice()) {
+                stats.setMaxPrice(dishRepository.getMaxPriceByVendorId(stats.getVendorId()));
+            }
+        }
+        updateAverage(stats);
+    }
+
+    private void updateAverage(VendorMenuStats stats) {
+        stats.setAveragePrice(stats.getDishCount() == 0 ? 0.0 : stats.getPriceSum() / stats.getDishCount());
+    }
+
+    private static double priceOf(Double price) {
+        return price == null ? 0.0 : price;
+    }
+
+    private static Set<String> distinct(List<String> allergens) {
+        return allergens == null ? Set.of() : new HashSet<>(allergens);
+    }
+}
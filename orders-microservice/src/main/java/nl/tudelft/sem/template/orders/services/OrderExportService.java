@@ -0,0 +1,118 @@
+package nl.tudelft.sem.template.orders.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.Status;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exports orders as newline-delimited JSON, one order per line, oldest first.
+ *
+ * <p>Orders are read from a database cursor with a JDBC fetch size, and written in chunks of that size.
+ * After every chunk the persistence context is cleared, so the heap holds at most one chunk of orders,
+ * however many orders are exported. The dishes of a chunk are loaded in batches while it is written.</p>
+ */
+@Service
+public class OrderExportService {
+    private final transient EntityManager entityManager;
+    private final transient ObjectMapper objectMapper;
+    private final transient int fetchSize;
+
+    /**
+     * Constructor for OrderExportService
+     *
+     * @param entityManager entity manager
+     * @param objectMapper  object mapper the orders are written with
+     * @param fetchSize     number of orders fetched from the database, and written, at a time
+     */
+    @Autowired
+    public OrderExportService(EntityManager entityManager, ObjectMapper objectMapper,
+                              @Value("${orders.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes the orders that match the filters to a stream
+     *
+     * @param status only export orders with this status, or null for all statuses
+     * @param from   only export orders placed at or after this time, or null
+     * @param to     only export orders placed before this time, or null
+     * @param out    stream to write to, it is flushed but not closed
+     * @return the number of orders exported
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public long export(Status status, OffsetDateTime from, OffsetDateTime to, OutputStream out) throws IOException {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Order> query = builder.createQuery(Order.class);
+        Root<Order> order = query.from(Order.class);
+        List<Predicate> filters = new ArrayList<>();
+        if (status != null) {
+            filters.add(builder.equal(order.get("status"), status));
+        }
+        if (from != null) {
+            filters.add(builder.greaterThanOrEqualTo(order.get("orderTime"), from));
+        }
+        if (to != null) {
+            filters.add(builder.lessThan(order.get("orderTime"), to));
+        }
+        query.select(order).where(filters.toArray(new Predicate[0]))
+                .orderBy(builder.asc(order.get("orderTime")), builder.asc(order.get("ID")));
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long exported = 0;
+        List<Order> chunk = new ArrayList<>(fetchSize);
+        try (Stream<Order> orders = entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == fetchSize) {
+                    exported += writeChunk(chunk, generator);
+                }
+            }
+            exported += writeChunk(chunk, generator);
+        }
+        generator.close();
+        return exported;
+    }
+
+    /**
+     * Writes a chunk of orders, then forgets them
+     */
+    private int writeChunk(List<Order> chunk, JsonGenerator generator) throws IOException {
+        for (Order order : chunk) {
+            objectMapper.writeValue(generator, order);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+}
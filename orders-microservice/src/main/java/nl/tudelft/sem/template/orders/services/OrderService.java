@@ -6,6 +6,8 @@ import nl.tudelft.sem.template.model.OrderedDish;
 import nl.tudelft.sem.template.orders.domain.IOrderService;
 import nl.tudelft.sem.template.orders.external.CustomerDTO;
 import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.repositories.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -45,6 +47,17 @@ public class OrderService implements IOrderService {
         return orderRepository.findAll();
     }
 
+    /**
+     * Finds a page of all orders, newest first
+     *
+     * @param after cursor the page starts after, or null for the first page
+     * @param limit maximum number of orders in the page
+     * @return the page
+     */
+    public OrderPage findPage(OrderCursor after, int limit) {
+        return orderRepository.findPage(after, limit);
+    }
+
     public Order save(Order order) {
         return orderRepository.save(order);
     }
@@ -107,6 +120,18 @@ public class OrderService implements IOrderService {
         return orderRepository.findByCustomerId(customerId);
     }
 
+    /**
+     * Finds a page of the orders of a customer, newest first
+     *
+     * @param customerId id of customer
+     * @param after      cursor the page starts after, or null for the first page
+     * @param limit      maximum number of orders in the page
+     * @return the page
+     */
+    public OrderPage findOrdersByCustomerId(UUID customerId, OrderCursor after, int limit) {
+        return orderRepository.findPageByCustomerId(customerId, after, limit);
+    }
+
     /**
      * Filters dishes for a customer based on allergens.
      *
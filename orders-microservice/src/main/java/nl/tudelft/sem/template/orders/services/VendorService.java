@@ -1,7 +1,6 @@
 package nl.tudelft.sem.template.orders.services;
 
 import nl.tudelft.sem.template.model.Address;
-import nl.tudelft.sem.template.model.Dish;
 import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.model.Vendor;
 import nl.tudelft.sem.template.orders.domain.IVendorService;
@@ -10,19 +9,25 @@ import nl.tudelft.sem.template.orders.external.VendorDTO;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
 import nl.tudelft.sem.template.orders.mappers.VendorMapper;
 import nl.tudelft.sem.template.orders.mappers.interfaces.IVendorMapper;
-import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.repositories.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class VendorService implements IVendorService {
-    private final transient DishRepository dishRepository;
+    private final transient MenuStatsService menuStatsService;
     private final transient OrderRepository orderRepository;
     private final transient PaymentMock paymentMock;
     private final transient VendorFacade vendorFacade;
@@ -31,16 +36,16 @@ public class VendorService implements IVendorService {
     /**
      * Constructor for Vendor Service
      *
-     * @param dishRepository  the dish repo
+     * @param menuStatsService service providing the menu statistics of the vendors
      * @param orderRepository the order repo
      * @param paymentMock     the payment mock
      * @param vendorFacade    vendor facade
      * @param vendorMapper   vendor mapper
      */
     @Autowired
-    public VendorService(DishRepository dishRepository, OrderRepository orderRepository,
+    public VendorService(MenuStatsService menuStatsService, OrderRepository orderRepository,
                          PaymentMock paymentMock, VendorFacade vendorFacade, VendorMapper vendorMapper) {
-        this.dishRepository = dishRepository;
+        this.menuStatsService = menuStatsService;
         this.orderRepository = orderRepository;
         this.paymentMock = paymentMock;
         this.vendorFacade = vendorFacade;
@@ -68,25 +73,32 @@ public class VendorService implements IVendorService {
     }
 
     /**
-     * Calculate the average price of all items from a vendor
+     * Calculate the average price of all items from a vendor, ignoring deleted dishes
      *
      * @param vendor vendor
-     * @return the average price
+     * @return the average price, or 0 if the vendor has no dishes
      */
     public Double getAveragePrice(VendorDTO vendor) {
-        List<Dish> dishes = dishRepository.getDishesByVendorId(vendor.getVendorId());
-
-        if (dishes == null || dishes.isEmpty()) {
-            return 0.0;
-        }
-
-        double sum = dishes.stream().mapToDouble(Dish::getPrice).sum();
+        return getAveragePrices(List.of(vendor.getVendorId())).getOrDefault(vendor.getVendorId(), 0.0);
+    }
 
-        return sum / dishes.size();
+    /**
+     * Look up the average price of all items of several vendors in their menu statistics, with one query
+     *
+     * @param vendorIds ids of the vendors
+     * @return the average price of every vendor that ever had dishes
+     */
+    private Map<UUID, Double> getAveragePrices(Collection<UUID> vendorIds) {
+        Map<UUID, Double> averagePrices = new HashMap<>();
+        menuStatsService.findByVendorIds(vendorIds)
+                .forEach((vendorId, stats) -> averagePrices.put(vendorId, stats.getAveragePrice()));
+        return averagePrices;
     }
 
     /**
-     * Filter vendors by name, average price and distance to delivery location
+     * Filter vendors by name, average price and distance to delivery location.
+     * The average prices of the vendors that are in range and match the name are read from their menu statistics,
+     * with one query.
      *
      * @param vendors          vendors
      * @param name             name
@@ -97,20 +109,27 @@ public class VendorService implements IVendorService {
      */
     public List<VendorDTO> filterVendors(List<VendorDTO> vendors, String name,
                                          Integer minAvgPrice, Integer maxAvgPrice, Address customerLocation) {
-        List<VendorDTO> filteredVendors = new ArrayList<>();
+        List<VendorDTO> candidates = new ArrayList<>();
         for (VendorDTO vendor : vendors) {
-            Address vendorLocation = vendor.getLocation();
-            Double avgPrice = getAveragePrice(vendor);
-
-            // If these filters are not specified, max them out
-            minAvgPrice = minAvgPrice != null ? minAvgPrice : Integer.MIN_VALUE;
-            maxAvgPrice = maxAvgPrice != null ? maxAvgPrice : Integer.MAX_VALUE;
-
-            if (isInRange(vendorLocation, customerLocation)
-                    && avgPrice >= minAvgPrice && avgPrice <= maxAvgPrice) {
-                if (name == null || vendor.getName().contains(name)) {
-                    filteredVendors.add(vendor);
-                }
+            if (isInRange(vendor.getLocation(), customerLocation)
+                    && (name == null || vendor.getName().contains(name))) {
+                candidates.add(vendor);
+            }
+        }
+
+        Set<UUID> candidateIds = new HashSet<>();
+        candidates.forEach(vendor -> candidateIds.add(vendor.getVendorId()));
+        Map<UUID, Double> averagePrices = getAveragePrices(candidateIds);
+
+        // If these filters are not specified, max them out
+        double min = minAvgPrice != null ? minAvgPrice : Integer.MIN_VALUE;
+        double max = maxAvgPrice != null ? maxAvgPrice : Integer.MAX_VALUE;
+
+        List<VendorDTO> filteredVendors = new ArrayList<>();
+        for (VendorDTO vendor : candidates) {
+            double avgPrice = averagePrices.getOrDefault(vendor.getVendorId(), 0.0);
+            if (avgPrice >= min && avgPrice <= max) {
+                filteredVendors.add(vendor);
             }
         }
 
@@ -152,4 +171,22 @@ public class VendorService implements IVendorService {
         List<Order> orders = orderRepository.findByVendorId(vendorId);
         return orders.stream().filter((o) -> paymentMock.isPaid(o.getID())).collect(Collectors.toList());
     }
+
+    /**
+     * Collects a page of the orders belonging to vendor with ID vendorID, newest first
+     * Pre-condition: vendorID should be a valid id of a vendor
+     *
+     * @param vendorId ID of vendor
+     * @param after    cursor the page starts after, or null for the first page
+     * @param limit    maximum number of orders the page covers
+     * @return Page of orders. Only orders that belong to the vendor and are paid are returned, so the page can hold
+     *     fewer orders than the limit while there are more pages;
+     */
+    @Override
+    public OrderPage getVendorOrders(UUID vendorId, OrderCursor after, int limit) {
+        OrderPage page = orderRepository.findPageByVendorId(vendorId, after, limit);
+        List<Order> paid = page.getOrders().stream()
+                .filter((o) -> paymentMock.isPaid(o.getID())).collect(Collectors.toList());
+        return new OrderPage(paid, page.getNext());
+    }
 }
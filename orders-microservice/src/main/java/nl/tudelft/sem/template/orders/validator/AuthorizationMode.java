@@ -0,0 +1,20 @@
+package nl.tudelft.sem.template.orders.validator;
+
+import java.util.Locale;
+
+/**
+ * How UserAuthorizationValidator runs its checks, configured with {@code validation.authorization.mode}.
+ * <ul>
+ *     <li>SEQUENTIAL: the role check, the existence check and the ownership checks run one after another</li>
+ *     <li>PARALLEL: the remote role and existence checks are sent together, and the ownership checks
+ *     run while they are in flight</li>
+ * </ul>
+ * <p>PARALLEL is the default.</p>
+ */
+public enum AuthorizationMode {
+    SEQUENTIAL, PARALLEL;
+
+    public String getTag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,50 +4,46 @@ import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.orders.domain.IDishService;
 import nl.tudelft.sem.template.orders.domain.IOrderService;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Validator to preform data validation before checking authorization.
- * Which things to check are defined by the list of DataValidationField objects passed during object creation
+ * Which things to check are defined by the list of DataValidationField objects passed during object creation.
+ * Orders and dishes are loaded through the EntityContext of the request, so later validators and the controller
+ * do not load them again.
  * <ul>
  *     <li>DataValidationField.USER: Checks for userUUID being null</li>
  *     <li>DataValidationField.ORDER: Checks for orderUUID being null and whether order exists and contains IDs</li>
  *     <li>DataValidationField.DISH: Checks for dishUUID being null and whether dish exists</li>
  *     <li>DataValidationField.UPDATEDISHQTYREQUEST: Checks for null and valid quantity</li>
  * </ul>
+ *
+ * <p>The fields are compiled into a plan once, when the validator is created: an array holding only the checks
+ * of the requested fields, in the order of DataValidationField. Handling a request runs that array,
+ * without looking up fields, and rejects it with a preallocated ValidationFailureException.</p>
  */
-@Component
 public class DataValidator extends BaseValidator {
+    private static final ValidationFailureException BAD_REQUEST = ValidationFailureException.of(HttpStatus.BAD_REQUEST);
+    private static final ValidationFailureException NOT_FOUND = ValidationFailureException.of(HttpStatus.NOT_FOUND);
 
-    @Autowired
-    private transient IOrderService orderService;
-    @Autowired
-    private transient IDishService dishService;
-    @Autowired
-    private transient VendorFacade vendorFacade;
-    private final transient List<DataValidationField> fields;
+    private final transient IOrderService orderService;
+    private final transient IDishService dishService;
+    private final transient VendorFacade vendorFacade;
+    private final transient Check[] plan;
 
     /**
      * Construct a new DataValidator. Pass in the field types that you want the validator to check.
      */
-    public DataValidator(List<DataValidationField> fields) {
-        this.fields = fields;
-    }
-
-    /**
-     * Testing constructor
-     */
     public DataValidator(IOrderService orderService, IDishService dishService, VendorFacade vendorFacade,
                          List<DataValidationField> fields) {
         this.orderService = orderService;
         this.dishService = dishService;
         this.vendorFacade = vendorFacade;
-        this.fields = fields;
+        this.plan = compile(fields.isEmpty() ? EnumSet.noneOf(DataValidationField.class) : EnumSet.copyOf(fields));
     }
 
     /**
@@ -55,14 +51,7 @@ public class DataValidator extends BaseValidator {
      */
     public DataValidator(List<DataValidationField> fields, IOrderService orderService, IDishService dishService,
                          VendorFacade vendorFacade) {
-        this.fields = fields;
-        this.orderService = orderService;
-        this.dishService = dishService;
-        this.vendorFacade = vendorFacade;
-    }
-
-    public DataValidator() {
-        this.fields = new ArrayList<>();
+        this(orderService, dishService, vendorFacade, fields);
     }
 
     /**
@@ -73,78 +62,131 @@ public class DataValidator extends BaseValidator {
      * @return true if success, else throws exception
      */
     public boolean handle(ValidatorRequest request) throws ValidationFailureException {
-        if (fields.contains(DataValidationField.USER) && request.getUserUUID() == null) {
-            throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
+        for (Check check : plan) {
+            check.check(request);
+        }
+
+        return super.checkNext(request);
+    }
+
+    /**
+     * Compiles the fields into the sequence of checks to run for every request
+     *
+     * @param fields fields to check
+     * @return the checks of the fields, in the order of DataValidationField
+     */
+    private Check[] compile(Set<DataValidationField> fields) {
+        Check[] checks = new Check[fields.size()];
+        int i = 0;
+        for (DataValidationField field : fields) {
+            checks[i++] = checkFor(field);
+        }
+        return checks;
+    }
+
+    private Check checkFor(DataValidationField field) {
+        switch (field) {
+            case USER:
+                return this::checkUser;
+            case ORDER:
+                return this::checkOrder;
+            case DISH:
+                return this::checkDish;
+            case UPDATEDISHQTYREQUEST:
+                return this::checkUpdateDishQtyRequest;
+            case CREATEORDERREQUEST:
+                return this::checkCreateOrderRequest;
+            case UPDATEORDERSTATUSREQUEST:
+                return this::checkUpdateOrderStatusRequest;
+            case UPDATESPECIALREQUIREMENTSREQUEST:
+                return this::checkUpdateSpecialRequirementsRequest;
+            case PAYORDERREQUEST:
+                return this::checkPayOrderRequest;
+            default:
+                throw new IllegalArgumentException("Unknown field " + field);
         }
+    }
 
-        if (fields.contains(DataValidationField.ORDER)) {
-            if (request.getOrderUUID() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+    private void checkUser(ValidatorRequest request) {
+        if (request.getUserUUID() == null) {
+            throw BAD_REQUEST;
+        }
+    }
+
+    private void checkOrder(ValidatorRequest request) {
+        if (request.getOrderUUID() == null) {
+            throw BAD_REQUEST;
+        }
 
-            if (orderService.findById(request.getOrderUUID()) == null) {
-                throw new ValidationFailureException(HttpStatus.NOT_FOUND);
-            }
+        Order order = request.getEntities().getOrder(request.getOrderUUID(), orderService);
+        if (order == null) {
+            throw NOT_FOUND;
+        }
 
-            //Check that order contains customerId and vendorId
-            Order order = orderService.findById(request.getOrderUUID());
-            if (order.getVendorId() == null || order.getCustomerId() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+        //Check that order contains customerId and vendorId
+        if (order.getVendorId() == null || order.getCustomerId() == null) {
+            throw BAD_REQUEST;
         }
+    }
 
-        if (fields.contains(DataValidationField.DISH)) {
-            if (request.getDishUUID() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+    private void checkDish(ValidatorRequest request) {
+        if (request.getDishUUID() == null) {
+            throw BAD_REQUEST;
+        }
 
-            if (dishService.findById(request.getDishUUID()) == null) {
-                throw new ValidationFailureException(HttpStatus.NOT_FOUND);
-            }
+        if (request.getEntities().getDish(request.getDishUUID(), dishService) == null) {
+            throw NOT_FOUND;
         }
+    }
 
-        if (fields.contains(DataValidationField.UPDATEDISHQTYREQUEST)
-                && (request.getUpdateDishQtyRequest() == null || request.getUpdateDishQtyRequest().getQuantity() < 0)) {
-            throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
+    private void checkUpdateDishQtyRequest(ValidatorRequest request) {
+        if (request.getUpdateDishQtyRequest() == null || request.getUpdateDishQtyRequest().getQuantity() < 0) {
+            throw BAD_REQUEST;
         }
+    }
 
-        if (fields.contains(DataValidationField.CREATEORDERREQUEST)) {
-            if (request.getCreateOrderRequest() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+    private void checkCreateOrderRequest(ValidatorRequest request) {
+        if (request.getCreateOrderRequest() == null) {
+            throw BAD_REQUEST;
+        }
 
-            //Check for address being present
-            if (request.getCreateOrderRequest().getAddress() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+        //Check for address being present
+        if (request.getCreateOrderRequest().getAddress() == null) {
+            throw BAD_REQUEST;
+        }
 
-            //Check for provided vendor being valid
-            if (request.getCreateOrderRequest().getVendorId() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
-            if (!vendorFacade.existsById(request.getCreateOrderRequest().getVendorId())) {
-                throw new ValidationFailureException(HttpStatus.NOT_FOUND);
-            }
+        //Check for provided vendor being valid
+        if (request.getCreateOrderRequest().getVendorId() == null) {
+            throw BAD_REQUEST;
+        }
+        if (!vendorFacade.existsById(request.getCreateOrderRequest().getVendorId())) {
+            throw NOT_FOUND;
         }
+    }
 
-        if (fields.contains(DataValidationField.UPDATEORDERSTATUSREQUEST)) {
-            if (request.getUpdateOrderStatusRequest() == null || request.getUpdateOrderStatusRequest().getStatus() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+    private void checkUpdateOrderStatusRequest(ValidatorRequest request) {
+        if (request.getUpdateOrderStatusRequest() == null || request.getUpdateOrderStatusRequest().getStatus() == null) {
+            throw BAD_REQUEST;
         }
+    }
 
-        if (fields.contains(DataValidationField.UPDATESPECIALREQUIREMENTSREQUEST)) {
-            if (request.getUpdateSpecialRequirementsRequest() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+    private void checkUpdateSpecialRequirementsRequest(ValidatorRequest request) {
+        if (request.getUpdateSpecialRequirementsRequest() == null) {
+            throw BAD_REQUEST;
         }
+    }
 
-        if (fields.contains(DataValidationField.PAYORDERREQUEST)) {
-            if (request.getPayOrderRequest().getPaymentOption() == null) {
-                throw new ValidationFailureException(HttpStatus.BAD_REQUEST);
-            }
+    private void checkPayOrderRequest(ValidatorRequest request) {
+        if (request.getPayOrderRequest().getPaymentOption() == null) {
+            throw BAD_REQUEST;
         }
+    }
 
-        return super.checkNext(request);
+    /**
+     * A single check of a compiled plan
+     */
+    @FunctionalInterface
+    private interface Check {
+        void check(ValidatorRequest request) throws ValidationFailureException;
     }
 }
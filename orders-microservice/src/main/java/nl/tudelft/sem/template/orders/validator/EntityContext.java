@@ -0,0 +1,44 @@
+package nl.tudelft.sem.template.orders.validator;
+
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.orders.domain.IDishService;
+import nl.tudelft.sem.template.orders.domain.IOrderService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Orders and dishes loaded while handling a single request.
+ * Validators load entities through the context of their ValidatorRequest, and controllers read them back
+ * after validation, so every entity is loaded from the database at most once per request.
+ *
+ * <p>A context belongs to one request and is not thread-safe.</p>
+ */
+public class EntityContext {
+    private final transient Map<UUID, Order> orders = new HashMap<>();
+    private final transient Map<UUID, Dish> dishes = new HashMap<>();
+
+    /**
+     * Returns an order, loading it only if it was not loaded before during this request
+     *
+     * @param orderId      id of the order
+     * @param orderService service to load the order with
+     * @return the order, or null if it does not exist
+     */
+    public Order getOrder(UUID orderId, IOrderService orderService) {
+        return orders.computeIfAbsent(orderId, orderService::findById);
+    }
+
+    /**
+     * Returns a dish, loading it only if it was not loaded before during this request
+     *
+     * @param dishId      id of the dish
+     * @param dishService service to load the dish with
+     * @return the dish, or null if it does not exist
+     */
+    public Dish getDish(UUID dishId, IDishService dishService) {
+        return dishes.computeIfAbsent(dishId, dishService::findById);
+    }
+}
@@ -1,13 +1,27 @@
 package nl.tudelft.sem.template.orders.validator;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import nl.tudelft.sem.template.orders.authentication.JwtTokenService;
+import nl.tudelft.sem.template.orders.authentication.TokenClaims;
 import nl.tudelft.sem.template.orders.domain.IDishService;
 import nl.tudelft.sem.template.orders.domain.IOrderService;
 import nl.tudelft.sem.template.orders.integration.AdminFacade;
 import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.integration.DownstreamUnavailableException;
+import nl.tudelft.sem.template.orders.integration.UserRole;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Preforms authorization checks on specified request.
@@ -28,44 +42,90 @@ import org.springframework.stereotype.Component;
  * <p>If UserType=ADMIN<ul>
  *     <li>Check that userUUID is an admin</li>
  * </ul></p>
+ *
+ * <p>If the request carries a bearer role token, the role of the user is verified locally from the token,
+ * which must be signed by this service, unexpired, and issued to the same user and role.
+ * Only requests without a token ask the Users microservice for the role and existence of the user.</p>
+ *
+ * <p>In PARALLEL mode, the role and existence checks are sent to the Users microservice together,
+ * and the ownership checks run on the request thread while they are in flight. The ownership checks stay on
+ * the request thread, as the controller uses the entities they load. The results are then taken in the same
+ * order as in SEQUENTIAL mode, so a request fails with the same status in both modes. The first failure in
+ * that order fails the request at once, without waiting for the checks after it.
+ * The ownership checks are started right after the remote checks were sent, so they also query the database
+ * for requests that the remote checks then reject, which SEQUENTIAL mode does not do. PARALLEL mode is
+ * the default, the constructors without a mode create a SEQUENTIAL validator.</p>
+ *
+ * <p>The time spent authorizing is recorded in the {@code validation.authorization} histogram,
+ * tagged with the user type and the mode.</p>
  */
-@Component
 public class UserAuthorizationValidator extends BaseValidator {
-    @Autowired
-    private transient CustomerFacade customerFacade;
-    @Autowired
-    private transient VendorFacade vendorFacade;
-    @Autowired
-    private transient AdminFacade adminFacade;
-    @Autowired
-    private transient IOrderService orderService;
-    @Autowired
-    private transient IDishService dishService;
-
-    public UserAuthorizationValidator() {
-    }
+    private final transient CustomerFacade customerFacade;
+    private final transient VendorFacade vendorFacade;
+    private final transient AdminFacade adminFacade;
+    private final transient IOrderService orderService;
+    private final transient IDishService dishService;
+    private final transient JwtTokenService tokenService;
+    private final transient AuthorizationMode mode;
+    private final transient MeterRegistry meterRegistry;
+    private final transient Map<UserType, Timer> timers = new EnumMap<>(UserType.class);
 
     /**
-     * Constructor to manually set fields for testing
+     * Construct a sequential UserAuthorizationValidator without admins, for testing
      */
     public UserAuthorizationValidator(CustomerFacade customerFacade, VendorFacade vendorFacade,
                                       IOrderService orderService, IDishService dishService) {
-        this.customerFacade = customerFacade;
-        this.vendorFacade = vendorFacade;
-        this.orderService = orderService;
-        this.dishService = dishService;
+        this(customerFacade, vendorFacade, orderService, dishService, null, null);
     }
 
     /**
-     * Constructor to manually set fields for testing
+     * Construct a sequential UserAuthorizationValidator that always asks the Users microservice
      */
     public UserAuthorizationValidator(CustomerFacade customerFacade, VendorFacade vendorFacade,
                                       IOrderService orderService, IDishService dishService, AdminFacade adminFacade) {
+        this(customerFacade, vendorFacade, orderService, dishService, adminFacade, null);
+    }
+
+    /**
+     * Construct a sequential UserAuthorizationValidator that accepts role tokens
+     *
+     * @param tokenService service verifying role tokens, or null to always ask the Users microservice
+     */
+    public UserAuthorizationValidator(CustomerFacade customerFacade, VendorFacade vendorFacade,
+                                      IOrderService orderService, IDishService dishService, AdminFacade adminFacade,
+                                      JwtTokenService tokenService) {
+        this(customerFacade, vendorFacade, orderService, dishService, adminFacade, tokenService,
+                AuthorizationMode.SEQUENTIAL, Metrics.globalRegistry);
+    }
+
+    /**
+     * Construct a UserAuthorizationValidator
+     *
+     * @param tokenService  service verifying role tokens, or null to always ask the Users microservice
+     * @param mode          whether independent checks run one after another or concurrently
+     * @param meterRegistry registry the authorization latency is published to
+     */
+    public UserAuthorizationValidator(CustomerFacade customerFacade, VendorFacade vendorFacade,
+                                      IOrderService orderService, IDishService dishService, AdminFacade adminFacade,
+                                      JwtTokenService tokenService, AuthorizationMode mode,
+                                      MeterRegistry meterRegistry) {
         this.customerFacade = customerFacade;
         this.vendorFacade = vendorFacade;
         this.orderService = orderService;
         this.dishService = dishService;
         this.adminFacade = adminFacade;
+        this.tokenService = tokenService;
+        this.mode = mode;
+        this.meterRegistry = meterRegistry;
+
+        for (UserType userType : UserType.values()) {
+            timers.put(userType, Timer.builder("validation.authorization")
+                    .description("Time spent authorizing the user of a request")
+                    .tag("userType", userType.name().toLowerCase(Locale.ROOT))
+                    .tag("mode", mode.getTag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
 
     @Override
@@ -74,55 +134,191 @@ public class UserAuthorizationValidator extends BaseValidator {
             throw new IllegalArgumentException();
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (mode == AuthorizationMode.PARALLEL) {
+                authorizeParallel(request);
+            } else {
+                authorizeSequential(request);
+            }
+        } catch (DownstreamUnavailableException e) {
+            //The Users microservice is unavailable, so the user cannot be checked right now
+            throw ValidationFailureException.of(HttpStatus.SERVICE_UNAVAILABLE);
+        } finally {
+            sample.stop(timers.get(request.getUserType()));
+        }
+
+        return super.checkNext(request);
+    }
+
+    private void authorizeSequential(ValidatorRequest request) throws ValidationFailureException {
+        if (!verifyToken(request)) {
+            verifyRemotely(request);
+        }
+        checkOwnership(request);
+    }
+
+    /**
+     * Sends the remote checks together, runs the ownership checks meanwhile,
+     * and then takes the results in the order the sequential mode runs them.
+     */
+    private void authorizeParallel(ValidatorRequest request) throws ValidationFailureException {
+        if (verifyToken(request)) {
+            checkOwnership(request);
+            return;
+        }
+
+        List<RemoteCheck> remoteChecks = startRemoteChecks(request);
+        ValidationFailureException ownershipFailure = null;
+        try {
+            checkOwnership(request);
+        } catch (ValidationFailureException e) {
+            ownershipFailure = e;
+        }
+
+        for (int i = 0; i < remoteChecks.size(); i++) {
+            RemoteCheck check = remoteChecks.get(i);
+            if (!await(check.result)) {
+                //Stop waiting for the remaining checks, their answers are still cached by the facades
+                remoteChecks.subList(i + 1, remoteChecks.size()).forEach(other -> other.result.cancel(false));
+                throw ValidationFailureException.of(check.failureStatus);
+            }
+        }
+        if (ownershipFailure != null) {
+            throw ownershipFailure;
+        }
+    }
+
+    /**
+     * Starts the role and existence checks of the user, in the order the sequential mode runs them.
+     * Every check gets its own copy of the future of the facade, so it can be cancelled without affecting
+     * other requests that wait for the same answer.
+     */
+    private List<RemoteCheck> startRemoteChecks(ValidatorRequest request) throws ValidationFailureException {
+        UUID userId = request.getUserUUID();
+        switch (request.getUserType()) {
+            case CUSTOMER:
+                return List.of(new RemoteCheck(customerFacade.checkRoleByIdAsync(userId), HttpStatus.UNAUTHORIZED),
+                        new RemoteCheck(customerFacade.existsByIdAsync(userId), HttpStatus.NOT_FOUND));
+            case VENDOR:
+                return List.of(new RemoteCheck(vendorFacade.checkRoleByIdAsync(userId), HttpStatus.UNAUTHORIZED),
+                        new RemoteCheck(vendorFacade.existsByIdAsync(userId), HttpStatus.NOT_FOUND));
+            case ADMIN:
+                return List.of(new RemoteCheck(adminFacade.checkRoleByIdAsync(userId), HttpStatus.UNAUTHORIZED),
+                        new RemoteCheck(adminFacade.existsByIdAsync(userId), HttpStatus.NOT_FOUND));
+            default:
+                throw new ValidationFailureException();
+        }
+    }
+
+    private static boolean await(CompletableFuture<Boolean> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DownstreamUnavailableException) {
+                throw (DownstreamUnavailableException) e.getCause();
+            }
+            e.printStackTrace();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Verifies the role of the user from the bearer token of the current request, if there is one
+     *
+     * @param request request to authorize
+     * @return true if a valid token proves the role of the user, false if the request has no token
+     */
+    private boolean verifyToken(ValidatorRequest request) throws ValidationFailureException {
+        if (tokenService == null) {
+            return false;
+        }
+        Optional<String> token = tokenService.currentBearerToken();
+        if (token.isEmpty()) {
+            return false;
+        }
+
+        TokenClaims claims = tokenService.verify(token.get())
+                .orElseThrow(() -> ValidationFailureException.of(HttpStatus.UNAUTHORIZED));
+        if (!claims.getUserId().equals(request.getUserUUID())
+                || claims.getRole() != UserRole.valueOf(request.getUserType().name())) {
+            throw ValidationFailureException.of(HttpStatus.UNAUTHORIZED);
+        }
+        return true;
+    }
+
+    private void verifyRemotely(ValidatorRequest request) throws ValidationFailureException {
         switch (request.getUserType()) {
             case CUSTOMER:
                 //Check type first, fails on not being of type customer
                 if (!customerFacade.checkRoleById(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.UNAUTHORIZED);
+                    throw ValidationFailureException.of(HttpStatus.UNAUTHORIZED);
                 }
                 //Check existence of customer
                 if (!customerFacade.existsById(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.NOT_FOUND);
-                }
-                //If orderUUID specified, check that order belongs to customer
-                if (request.getOrderUUID() != null && !orderService.findById(request.getOrderUUID())
-                        .getCustomerId().equals(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.UNAUTHORIZED);
+                    throw ValidationFailureException.of(HttpStatus.NOT_FOUND);
                 }
                 break;
             case VENDOR:
                 //Check user type -- verifies user not of another type
                 if (!vendorFacade.checkRoleById(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.UNAUTHORIZED);
+                    throw ValidationFailureException.of(HttpStatus.UNAUTHORIZED);
                 }
                 //Check existence of vendor
                 if (!vendorFacade.existsById(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.NOT_FOUND);
-                }
-                //If orderUUID specified, check that order belongs to vendor
-                if (request.getOrderUUID() != null && !orderService.findById(request.getOrderUUID())
-                        .getVendorId().equals(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.UNAUTHORIZED);
-                }
-                //If dishUUID specified, check that dish belongs to vendor
-                if (request.getDishUUID() != null && !dishService.findById(request.getDishUUID())
-                        .getVendorId().equals(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.UNAUTHORIZED);
+                    throw ValidationFailureException.of(HttpStatus.NOT_FOUND);
                 }
                 break;
             case ADMIN:
                 if (!adminFacade.checkRoleById(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.UNAUTHORIZED);
+                    throw ValidationFailureException.of(HttpStatus.UNAUTHORIZED);
                 }
 
                 if (!adminFacade.existsById(request.getUserUUID())) {
-                    throw new ValidationFailureException(HttpStatus.NOT_FOUND);
+                    throw ValidationFailureException.of(HttpStatus.NOT_FOUND);
                 }
                 break;
             default:
                 throw new ValidationFailureException();
         }
+    }
 
-        return super.checkNext(request);
+    private void checkOwnership(ValidatorRequest request) throws ValidationFailureException {
+        switch (request.getUserType()) {
+            case CUSTOMER:
+                //If orderUUID specified, check that order belongs to customer
+                if (request.getOrderUUID() != null && !request.getEntities().getOrder(request.getOrderUUID(), orderService)
+                        .getCustomerId().equals(request.getUserUUID())) {
+                    throw ValidationFailureException.of(HttpStatus.UNAUTHORIZED);
+                }
+                break;
+            case VENDOR:
+                //If orderUUID specified, check that order belongs to vendor
+                if (request.getOrderUUID() != null && !request.getEntities().getOrder(request.getOrderUUID(), orderService)
+                        .getVendorId().equals(request.getUserUUID())) {
+                    throw ValidationFailureException.of(HttpStatus.UNAUTHORIZED);
+                }
+                //If dishUUID specified, check that dish belongs to vendor
+                if (request.getDishUUID() != null && !request.getEntities().getDish(request.getDishUUID(), dishService)
+                        .getVendorId().equals(request.getUserUUID())) {
+                    throw ValidationFailureException.of(HttpStatus.UNAUTHORIZED);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * A remote check in flight, with the status the request fails with if the check does not pass
+     */
+    private static final class RemoteCheck {
+        private final transient CompletableFuture<Boolean> result;
+        private final transient HttpStatus failureStatus;
+
+        RemoteCheck(CompletableFuture<Boolean> result, HttpStatus failureStatus) {
+            this.result = result.copy();
+            this.failureStatus = failureStatus;
+        }
     }
 }
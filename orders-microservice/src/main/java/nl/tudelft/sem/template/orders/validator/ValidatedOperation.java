@@ -0,0 +1,74 @@
+package nl.tudelft.sem.template.orders.validator;
+
+import java.util.List;
+
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.CREATEORDERREQUEST;
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.DISH;
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.ORDER;
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.PAYORDERREQUEST;
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.UPDATEDISHQTYREQUEST;
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.UPDATEORDERSTATUSREQUEST;
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.UPDATESPECIALREQUIREMENTSREQUEST;
+import static nl.tudelft.sem.template.orders.validator.DataValidationField.USER;
+
+/**
+ * API operations that validate their requests, together with the data fields they validate
+ * and whether the user is authorized afterwards. ValidationPipelines builds one pipeline per operation.
+ */
+public enum ValidatedOperation {
+    // Admin
+    ADMIN_GET_ALL_ORDERS(true, USER),
+    ADMIN_GET_ORDER(true, USER, ORDER),
+    ADMIN_UPDATE_ORDER(true, USER, ORDER),
+    ADMIN_REMOVE_ORDER(true, USER, ORDER),
+    ADMIN_EVICT_CUSTOMER(true, USER),
+    ADMIN_EXPORT_ORDERS(true, USER),
+
+    // Customer
+    GET_VENDORS(true, USER),
+    CREATE_ORDER(true, USER, CREATEORDERREQUEST),
+    GET_VENDOR_DISHES(true, USER, ORDER),
+    ADD_DISH_TO_ORDER(true, USER, DISH, ORDER, UPDATEDISHQTYREQUEST),
+    REMOVE_DISH_FROM_ORDER(true, USER, ORDER, DISH),
+    UPDATE_DISH_QTY(true, USER, ORDER, DISH, UPDATEDISHQTYREQUEST),
+    GET_ORDER(true, USER, ORDER),
+    GET_PERSONAL_ORDER_HISTORY(true, USER),
+    GET_DISH_FROM_ORDER(true, USER, ORDER, DISH),
+    REORDER(true, USER, ORDER),
+    UPDATE_SPECIAL_REQUIREMENTS(true, USER, ORDER, UPDATESPECIALREQUIREMENTSREQUEST),
+    PAY_ORDER(true, USER, ORDER, PAYORDERREQUEST),
+
+    // Order
+    UPDATE_ORDER_STATUS(false, UPDATEORDERSTATUSREQUEST),
+
+    // Vendor
+    ADD_DISH_TO_MENU(true, USER),
+    REMOVE_DISH_FROM_MENU(true, USER, DISH),
+    UPDATE_DISH_DETAILS(true, USER, DISH),
+    GET_OWN_DISHES(true, USER),
+    GET_DISH(true, USER, DISH),
+    GET_ORDER_DETAILS(true, USER, ORDER),
+    GET_VENDOR_ORDERS(true, USER),
+    GET_CUSTOMER_ORDER_HISTORY(true, USER);
+
+    private final boolean authorizing;
+    private final List<DataValidationField> fields;
+
+    ValidatedOperation(boolean authorizing, DataValidationField... fields) {
+        this.authorizing = authorizing;
+        this.fields = List.of(fields);
+    }
+
+    /**
+     * Whether the user is authorized after the data validation
+     *
+     * @return true iff the pipeline ends with a UserAuthorizationValidator
+     */
+    public boolean isAuthorizing() {
+        return authorizing;
+    }
+
+    public List<DataValidationField> getFields() {
+        return fields;
+    }
+}
@@ -2,18 +2,34 @@ package nl.tudelft.sem.template.orders.validator;
 
 import org.springframework.http.HttpStatus;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Thrown by a validator to reject a request with an HTTP status.
+ * The exception carries no stack trace, as it only transports the status to the controller,
+ * and validators throw the shared instance of a status from {@link #of(HttpStatus)}, so rejecting
+ * a request allocates nothing.
+ */
 public class ValidationFailureException extends RuntimeException {
     private final HttpStatus failureStatus;
 
     static final long serialVersionUID = -3387516993124229948L;
 
+    private static final Map<HttpStatus, ValidationFailureException> PREALLOCATED = new EnumMap<>(HttpStatus.class);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            PREALLOCATED.put(status, new ValidationFailureException(status));
+        }
+    }
+
     /**
      * Construct a ValidationFailureException with default status
      */
     public ValidationFailureException() {
-        super();
         //Default to internal server error -- in practice, this constructor should not be used
-        this.failureStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+        this(HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     /**
@@ -22,10 +38,20 @@ public class ValidationFailureException extends RuntimeException {
      * @param failureStatus HttpStatus of the failure
      */
     public ValidationFailureException(HttpStatus failureStatus) {
-        super();
+        super(null, null, false, false);
         this.failureStatus = failureStatus;
     }
 
+    /**
+     * Returns the shared, immutable exception for a status
+     *
+     * @param failureStatus HttpStatus of the failure
+     * @return the preallocated exception with that status
+     */
+    public static ValidationFailureException of(HttpStatus failureStatus) {
+        return PREALLOCATED.get(failureStatus);
+    }
+
     public HttpStatus getFailureStatus() {
         return failureStatus;
     }
@@ -0,0 +1,34 @@
+package nl.tudelft.sem.template.orders.validator;
+
+/**
+ * A chain of validators that is linked once, when the pipeline is created.
+ * The validators are owned by the pipeline and never relinked, so a pipeline can be shared by all requests.
+ */
+public class ValidationPipeline {
+    private final transient Validator head;
+
+    /**
+     * Links the validators into a chain, in the given order
+     *
+     * @param validators validators of the pipeline, not used by any other pipeline
+     */
+    public ValidationPipeline(Validator... validators) {
+        if (validators.length == 0) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < validators.length - 1; i++) {
+            validators[i].setNext(validators[i + 1]);
+        }
+        this.head = validators[0];
+    }
+
+    /**
+     * Runs the request through every validator of the pipeline
+     *
+     * @param request Parameters to validate
+     * @return true if success, else throws exception
+     */
+    public boolean validate(ValidatorRequest request) throws ValidationFailureException {
+        return head.handle(request);
+    }
+}
@@ -0,0 +1,84 @@
+package nl.tudelft.sem.template.orders.validator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import nl.tudelft.sem.template.orders.authentication.JwtTokenService;
+import nl.tudelft.sem.template.orders.domain.IDishService;
+import nl.tudelft.sem.template.orders.domain.IOrderService;
+import nl.tudelft.sem.template.orders.integration.AdminFacade;
+import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.integration.VendorFacade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the validation pipeline of every ValidatedOperation once, at startup.
+ * Controllers look up the pipeline of their operation instead of creating and linking validators per request.
+ */
+@Component
+public class ValidationPipelines {
+    private final transient Map<ValidatedOperation, ValidationPipeline> pipelines =
+            new EnumMap<>(ValidatedOperation.class);
+
+    /**
+     * Constructor for ValidationPipelines
+     *
+     * @param orderService   order service
+     * @param dishService    dish service
+     * @param customerFacade customer facade
+     * @param vendorFacade   vendor facade
+     * @param adminFacade    admin facade
+     * @param tokenService   service verifying the role tokens of requests
+     * @param meterRegistry  registry the authorization latency is published to
+     * @param mode           authorization mode, see AuthorizationMode
+     */
+    @Autowired
+    public ValidationPipelines(IOrderService orderService, IDishService dishService, CustomerFacade customerFacade,
+                               VendorFacade vendorFacade, AdminFacade adminFacade, JwtTokenService tokenService,
+                               MeterRegistry meterRegistry,
+                               @Value("${validation.authorization.mode:parallel}") String mode) {
+        AuthorizationMode authorizationMode = AuthorizationMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        for (ValidatedOperation operation : ValidatedOperation.values()) {
+            DataValidator dataValidator = new DataValidator(orderService, dishService, vendorFacade,
+                    operation.getFields());
+            pipelines.put(operation, operation.isAuthorizing()
+                    ? new ValidationPipeline(dataValidator, new UserAuthorizationValidator(customerFacade,
+                            vendorFacade, orderService, dishService, adminFacade, tokenService, authorizationMode,
+                            meterRegistry))
+                    : new ValidationPipeline(dataValidator));
+        }
+    }
+
+    /**
+     * Creates SEQUENTIAL pipelines that always ask the Users microservice, through the blocking methods
+     * of the facades, for tests that stub those. The application runs in the configured mode, PARALLEL by default.
+     *
+     * @param orderService   order service
+     * @param dishService    dish service
+     * @param customerFacade customer facade
+     * @param vendorFacade   vendor facade
+     * @param adminFacade    admin facade
+     * @return the sequential pipelines
+     */
+    public static ValidationPipelines sequential(IOrderService orderService, IDishService dishService,
+                                                 CustomerFacade customerFacade, VendorFacade vendorFacade,
+                                                 AdminFacade adminFacade) {
+        return new ValidationPipelines(orderService, dishService, customerFacade, vendorFacade, adminFacade, null,
+                Metrics.globalRegistry, AuthorizationMode.SEQUENTIAL.name());
+    }
+
+    /**
+     * Returns the pipeline of an operation
+     *
+     * @param operation the operation
+     * @return its validation pipeline
+     */
+    public ValidationPipeline get(ValidatedOperation operation) {
+        return pipelines.get(operation);
+    }
+}
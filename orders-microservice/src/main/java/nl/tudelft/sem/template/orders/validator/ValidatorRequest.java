@@ -18,6 +18,7 @@ public class ValidatorRequest {
     private UpdateOrderStatusRequest updateOrderStatusRequest;
     private UpdateSpecialRequirementsRequest updateSpecialRequirementsRequest;
     private PayOrderRequest payOrderRequest;
+    private final transient EntityContext entities = new EntityContext();
 
     public ValidatorRequest() {
 
@@ -120,4 +121,13 @@ public class ValidatorRequest {
     public void setPayOrderRequest(PayOrderRequest payOrderRequest) {
         this.payOrderRequest = payOrderRequest;
     }
+
+    /**
+     * Entities loaded while handling this request, shared by the validators and the controller
+     *
+     * @return the entity context of this request
+     */
+    public EntityContext getEntities() {
+        return entities;
+    }
 }
@@ -0,0 +1,113 @@
+package nl.tudelft.sem.template.orders.authentication;
+
+import nl.tudelft.sem.template.orders.integration.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenServiceTest {
+    private static final String SECRET = "a-secret-for-signing-test-tokens-only";
+    private static final String OTHER_SECRET = "another-secret-for-signing-test-tokens";
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    private final UUID userId = UUID.randomUUID();
+    private JwtTokenService sut;
+
+    @BeforeEach
+    void setup() {
+        sut = new JwtTokenService(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void verifiesIssuedToken() {
+        TokenClaims claims = sut.verify(sut.issue(userId, UserRole.VENDOR)).orElseThrow();
+
+        assertThat(claims.getUserId()).isEqualTo(userId);
+        assertThat(claims.getRole()).isEqualTo(UserRole.VENDOR);
+        assertThat(claims.getExpiresAt()).isEqualTo(NOW.plus(Duration.ofHours(1)));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = sut.issue(userId, UserRole.CUSTOMER);
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("CUSTOMER", "ADMIN");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertThat(sut.verify(forged)).isEmpty();
+    }
+
+    @Test
+    void rejectsOtherSecret() {
+        JwtTokenService other = new JwtTokenService(OTHER_SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(sut.verify(other.issue(userId, UserRole.CUSTOMER))).isEmpty();
+    }
+
+    @Test
+    void requiresSecretOfAtLeast32Bytes() {
+        assertThatThrownBy(() -> new JwtTokenService(null, Duration.ofHours(1), Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JwtTokenService("exampleSecret", Duration.ofHours(1), Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JwtTokenService("x".repeat(31), Duration.ofHours(1), Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(new JwtTokenService("x".repeat(32), Duration.ofHours(1), Clock.systemUTC())).isNotNull();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = sut.issue(userId, UserRole.CUSTOMER);
+        JwtTokenService later = new JwtTokenService(SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+
+        assertThat(later.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsUnsignedAndMalformedTokens() {
+        String[] parts = sut.issue(userId, UserRole.CUSTOMER).split("\\.");
+        String none = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(sut.verify(none + "." + parts[1] + ".")).isEmpty();
+        assertThat(sut.verify(parts[0] + "." + parts[1])).isEmpty();
+        assertThat(sut.verify("garbage")).isEmpty();
+        assertThat(sut.verify(parts[0] + ".!!." + parts[2])).isEmpty();
+    }
+
+    @Test
+    void readsBearerTokenOfCurrentRequest() {
+        assertThat(sut.currentBearerToken()).isEmpty();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        assertThat(sut.currentBearerToken()).isEmpty();
+
+        request.addHeader(JwtTokenService.AUTHORIZATION_HEADER, "Bearer abc.def.ghi");
+        assertThat(sut.currentBearerToken()).contains("abc.def.ghi");
+    }
+}
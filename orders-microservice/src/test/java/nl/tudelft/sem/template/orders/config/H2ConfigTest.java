@@ -0,0 +1,94 @@
+package nl.tudelft.sem.template.orders.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class H2ConfigTest {
+    private MockEnvironment environment;
+    private SimpleMeterRegistry registry;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        environment = new MockEnvironment()
+                .withProperty("jdbc.driverClassName", "org.h2.Driver")
+                .withProperty("jdbc.url", "jdbc:h2:mem:h2ConfigTest")
+                .withProperty("jdbc.pool.maximum-pool-size", "4")
+                .withProperty("jdbc.pool.minimum-idle", "1")
+                .withProperty("jdbc.pool.statement-cache-size", "128");
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void closePool() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    private HikariDataSource createDataSource() {
+        DataSource created = new H2Config(environment).dataSource(registry);
+        assertThat(created).isInstanceOf(HikariDataSource.class);
+        return (HikariDataSource) created;
+    }
+
+    @Test
+    void pooledWithConfiguredSize() {
+        dataSource = createDataSource();
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(4);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionsAreReused() throws SQLException {
+        dataSource = createDataSource();
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+        assertThat(dataSource.getHikariPoolMXBean().getTotalConnections()).isLessThanOrEqualTo(4);
+        assertThat(dataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    @Test
+    void statementCacheSizeIsApplied() throws SQLException {
+        dataSource = createDataSource();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                     "SELECT VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE NAME = 'QUERY_CACHE_SIZE'")) {
+            assertThat(result.next()).isTrue();
+            assertThat(result.getString(1)).isEqualTo("128");
+        }
+    }
+
+    @Test
+    void poolMetricsArePublished() throws SQLException {
+        dataSource = createDataSource();
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(registry.get("hikaricp.connections.active").tag("pool", "orders").gauge().value())
+                    .isEqualTo(1);
+        }
+
+        assertThat(registry.get("hikaricp.connections.idle").tag("pool", "orders").gauge()).isNotNull();
+        assertThat(registry.get("hikaricp.connections.acquire").tag("pool", "orders").timer().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+}
@@ -1,20 +1,24 @@
 package nl.tudelft.sem.template.orders.controllers;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.orders.integration.AdminFacade;
+import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.services.OrderService;
-import nl.tudelft.sem.template.orders.validator.DataValidationField;
-import nl.tudelft.sem.template.orders.validator.DataValidator;
-import nl.tudelft.sem.template.orders.validator.UserAuthorizationValidator;
+import nl.tudelft.sem.template.orders.validator.AuthorizationMode;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,8 +33,8 @@ import static org.mockito.Mockito.when;
 class AdminControllerTest {
 
     private AdminFacade adminFacade;
+    private CustomerFacade customerFacade;
     private OrderService orderService;
-    private ApplicationContext applicationContext;
     private AdminController adminController;
     private UUID adminId;
     private UUID orderId;
@@ -39,29 +43,14 @@ class AdminControllerTest {
     @BeforeEach
     void setUp() {
         adminFacade = mock(AdminFacade.class);
+        customerFacade = mock(CustomerFacade.class);
         orderService = mock(OrderService.class);
-        applicationContext = mock(ApplicationContext.class);
-        adminController = new AdminController(orderService, applicationContext);
+        adminController = new AdminController(orderService, customerFacade,
+                ValidationPipelines.sequential(orderService, null, null, null, adminFacade));
 
         adminId = UUID.randomUUID();
         orderId = UUID.randomUUID();
 
-        //Set up validators
-        DataValidator dataValidatorUser = new DataValidator(orderService, null, null,
-                List.of(DataValidationField.USER));
-        DataValidator dataValidatorUserOrder = new DataValidator(orderService, null, null,
-                List.of(DataValidationField.USER, DataValidationField.ORDER));
-        when(applicationContext.getBean(eq(DataValidator.class), eq(List.of(DataValidationField.USER))))
-                .thenReturn(dataValidatorUser);
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER))))
-                .thenReturn(dataValidatorUserOrder);
-
-        UserAuthorizationValidator userAuthorizationValidator =
-                new UserAuthorizationValidator(null, null, null, null, adminFacade);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(userAuthorizationValidator);
-
-
         //Fill in example order
         this.order = new Order();
         order.setID(orderId);
@@ -74,7 +63,7 @@ class AdminControllerTest {
     // Tests for adminGetAllOrders
     @Test
     void adminGetAllOrdersWhenAdminIdIsNull() {
-        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(null);
+        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(null, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         verifyNoInteractions(adminFacade);
@@ -85,7 +74,7 @@ class AdminControllerTest {
     void adminGetAllOrdersWhenUserIsNotAdmin() {
         when(adminFacade.checkRoleById(adminId)).thenReturn(false);
 
-        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId);
+        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
         verify(adminFacade).checkRoleById(adminId);
@@ -97,7 +86,7 @@ class AdminControllerTest {
         when(adminFacade.checkRoleById(adminId)).thenReturn(true);
         when(adminFacade.existsById(adminId)).thenReturn(false);
 
-        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId);
+        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         verify(adminFacade).checkRoleById(adminId);
@@ -105,29 +94,90 @@ class AdminControllerTest {
         verifyNoInteractions(orderService);
     }
 
+    private AdminController parallelController() {
+        return new AdminController(orderService, customerFacade, new ValidationPipelines(orderService, null, null,
+                null, adminFacade, null, new SimpleMeterRegistry(), AuthorizationMode.PARALLEL.name()));
+    }
+
+    @Test
+    void adminGetAllOrdersParallelWhenUserIsNotAdmin() {
+        when(adminFacade.checkRoleByIdAsync(adminId)).thenReturn(CompletableFuture.completedFuture(false));
+        when(adminFacade.existsByIdAsync(adminId)).thenReturn(CompletableFuture.completedFuture(true));
+
+        ResponseEntity<List<Order>> response = parallelController().adminGetAllOrders(adminId, null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void adminGetAllOrdersParallelSuccess() {
+        when(adminFacade.checkRoleByIdAsync(adminId)).thenReturn(CompletableFuture.completedFuture(true));
+        when(adminFacade.existsByIdAsync(adminId)).thenReturn(CompletableFuture.completedFuture(true));
+        List<Order> mockOrders = new ArrayList<>();
+        when(orderService.findPage(null, OrderPage.DEFAULT_LIMIT)).thenReturn(new OrderPage(mockOrders, null));
+
+        ResponseEntity<List<Order>> response = parallelController().adminGetAllOrders(adminId, null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(mockOrders);
+        verify(adminFacade).checkRoleByIdAsync(adminId);
+        verify(adminFacade).existsByIdAsync(adminId);
+    }
+
     @Test
     void adminGetAllOrdersSuccess() {
         when(adminFacade.checkRoleById(adminId)).thenReturn(true);
         when(adminFacade.existsById(adminId)).thenReturn(true);
         List<Order> mockOrders = new ArrayList<>();
-        when(orderService.findAll()).thenReturn(mockOrders);
+        when(orderService.findPage(null, OrderPage.DEFAULT_LIMIT)).thenReturn(new OrderPage(mockOrders, null));
 
-        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId);
+        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(mockOrders);
         verify(adminFacade).checkRoleById(adminId);
         verify(adminFacade).existsById(adminId);
-        verify(orderService).findAll();
+        verify(orderService).findPage(null, OrderPage.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void adminGetAllOrdersNextPageToken() {
+        when(adminFacade.checkRoleById(adminId)).thenReturn(true);
+        when(adminFacade.existsById(adminId)).thenReturn(true);
+        Order last = new Order();
+        last.setID(UUID.randomUUID());
+        last.setOrderTime(OffsetDateTime.now());
+        OrderCursor after = OrderCursor.of(last);
+        when(orderService.findPage(any(OrderCursor.class), eq(10))).thenReturn(new OrderPage(List.of(), after));
+
+        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId, 10, after.toToken());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(OrderPage.NEXT_PAGE_TOKEN_HEADER)).isEqualTo(after.toToken());
+    }
+
+    @Test
+    void adminGetAllOrdersInvalidPage() {
+        when(adminFacade.checkRoleById(adminId)).thenReturn(true);
+        when(adminFacade.existsById(adminId)).thenReturn(true);
+
+        assertThat(adminController.adminGetAllOrders(adminId, 0, null).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(adminController.adminGetAllOrders(adminId, OrderPage.MAX_LIMIT + 1, null).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(adminController.adminGetAllOrders(adminId, null, "not-a-token").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(orderService);
     }
 
     @Test
     void adminGetAllOrderThrowsException() {
         when(adminFacade.checkRoleById(adminId)).thenReturn(true);
         when(adminFacade.existsById(adminId)).thenReturn(true);
-        when(orderService.findAll()).thenThrow(RuntimeException.class);
+        when(orderService.findPage(null, OrderPage.DEFAULT_LIMIT)).thenThrow(RuntimeException.class);
 
-        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId);
+        ResponseEntity<List<Order>> response = adminController.adminGetAllOrders(adminId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         verify(adminFacade).checkRoleById(adminId);
@@ -382,4 +432,38 @@ class AdminControllerTest {
         verify(orderService).delete(orderId);
     }
 
+    // Tests for adminEvictCustomer
+    @Test
+    void adminEvictCustomerSuccess() {
+        UUID customerId = UUID.randomUUID();
+        when(adminFacade.checkRoleById(adminId)).thenReturn(true);
+        when(adminFacade.existsById(adminId)).thenReturn(true);
+
+        ResponseEntity<Void> response = adminController.adminEvictCustomer(adminId, customerId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(customerFacade).evictCustomer(customerId);
+    }
+
+    @Test
+    void adminEvictCustomerWhenNotAdmin() {
+        when(adminFacade.checkRoleById(adminId)).thenReturn(false);
+
+        ResponseEntity<Void> response = adminController.adminEvictCustomer(adminId, UUID.randomUUID());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(customerFacade);
+    }
+
+    @Test
+    void adminEvictCustomerWhenCustomerIdIsNull() {
+        when(adminFacade.checkRoleById(adminId)).thenReturn(true);
+        when(adminFacade.existsById(adminId)).thenReturn(true);
+
+        ResponseEntity<Void> response = adminController.adminEvictCustomer(adminId, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(customerFacade);
+    }
+
 }
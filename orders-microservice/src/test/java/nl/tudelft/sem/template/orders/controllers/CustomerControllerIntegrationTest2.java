@@ -118,7 +118,7 @@ public class CustomerControllerIntegrationTest2 {
         createOrder();
         createOrder();
 
-        var res = customerController.getPersonalOrderHistory(customerId);
+        var res = customerController.getPersonalOrderHistory(customerId, null, null);
         List<Order> orders = res.getBody();
 
         assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -127,7 +127,7 @@ public class CustomerControllerIntegrationTest2 {
 
     @Test
     void testGetPersonalOrderHistoryBadRequest() {
-        var res = customerController.getPersonalOrderHistory(null);
+        var res = customerController.getPersonalOrderHistory(null, null, null);
         var statusCode = res.getStatusCode();
 
         assertThat(res).isNotNull();
@@ -246,7 +246,8 @@ public class CustomerControllerIntegrationTest2 {
     void testGetPersonalOrderHistoryNoOrdersFound() {
         UUID customerIdWithNoOrders = UUID.randomUUID();
 
-        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerIdWithNoOrders);
+        ResponseEntity<List<Order>> response =
+                customerController.getPersonalOrderHistory(customerIdWithNoOrders, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
 
@@ -24,17 +24,19 @@ import nl.tudelft.sem.template.orders.mappers.VendorMapper;
 import nl.tudelft.sem.template.orders.mappers.interfaces.IVendorMapper;
 import nl.tudelft.sem.template.orders.integration.CustomerFacade;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.services.ServiceManager;
 import nl.tudelft.sem.template.orders.services.VendorService;
-import nl.tudelft.sem.template.orders.validator.DataValidator;
-import nl.tudelft.sem.template.orders.validator.DataValidationField;
-import nl.tudelft.sem.template.orders.validator.UserAuthorizationValidator;
+import nl.tudelft.sem.template.orders.validator.AuthorizationMode;
+import nl.tudelft.sem.template.orders.validator.ValidatedOperation;
+import nl.tudelft.sem.template.orders.validator.ValidationPipeline;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -45,11 +47,13 @@ import java.util.Optional;
 import java.util.Collections;
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.any;
@@ -76,8 +80,6 @@ class CustomerControllerTest {
     private VendorFacade vendorFacade;
     @Mock
     private PaymentSuccessDecider paymentSuccessDecider;
-    @Mock
-    ApplicationContext applicationContext;
     @InjectMocks
     private CustomerController customerController;
 
@@ -89,8 +91,8 @@ class CustomerControllerTest {
     private UUID dishId;
     private Order order;
     private PayOrderRequest payOrderRequest;
-    private DataValidator dataValidator;
-    private UserAuthorizationValidator userAuthorizationValidator;
+    private ValidationPipelines validationPipelines;
+    private ValidationPipeline passingPipeline;
     private PaymentMock paymentMock;
     private ServiceManager serviceManager;
 
@@ -103,88 +105,13 @@ class CustomerControllerTest {
         customerService = mock(ICustomerService.class);
         customerFacade = mock(CustomerFacade.class);
         vendorFacade = mock(VendorFacade.class);
-        applicationContext = mock(ApplicationContext.class);
-        dataValidator = mock(DataValidator.class);
+        passingPipeline = mock(ValidationPipeline.class);
         paymentSuccessDecider = mock(PaymentSuccessDecider.class);
 
         serviceManager = new ServiceManager(vendorService, dishService, orderService, customerService);
 
-        when(applicationContext.getBean(eq(DataValidator.class), anyList()))
-                .thenReturn(dataValidator);
-
-        // getVendors
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER))))
-                .thenReturn(new DataValidator(List.of(DataValidationField.USER),
-                        orderService, dishService, vendorFacade));
-
-        // createOrder
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.CREATEORDERREQUEST))))
-                .thenReturn(new DataValidator(List.of(DataValidationField.USER, DataValidationField.CREATEORDERREQUEST),
-                        orderService, dishService, vendorFacade));
-
-        // getVendorDishes & getOrder
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER))))
-                .thenReturn(new DataValidator(List.of(DataValidationField.USER, DataValidationField.ORDER),
-                        orderService, dishService, vendorFacade));
-
-        // addDishToOrder
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.DISH,
-                        DataValidationField.ORDER, DataValidationField.UPDATEDISHQTYREQUEST))))
-                .thenReturn(new DataValidator(
-                        List.of(DataValidationField.USER, DataValidationField.DISH,
-                                DataValidationField.ORDER, DataValidationField.UPDATEDISHQTYREQUEST),
-                        orderService, dishService, vendorFacade));
-
-
-        // removeDishFromOrder
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER, DataValidationField.DISH))))
-                .thenReturn(new DataValidator(
-                        List.of(DataValidationField.USER, DataValidationField.ORDER, DataValidationField.DISH),
-                        orderService, dishService, vendorFacade));
-
-
-        // updateDishQty
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER,
-                        DataValidationField.DISH, DataValidationField.UPDATEDISHQTYREQUEST))))
-                .thenReturn(new DataValidator(
-                        List.of(DataValidationField.USER, DataValidationField.ORDER,
-                                DataValidationField.DISH, DataValidationField.UPDATEDISHQTYREQUEST),
-                        orderService, dishService, vendorFacade));
-
-
-        // getDishFromOrder
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER, DataValidationField.DISH))))
-                .thenReturn(new DataValidator(
-                        List.of(DataValidationField.USER, DataValidationField.ORDER, DataValidationField.DISH),
-                        orderService, dishService, vendorFacade));
-
-        // updateSpecialRequirements
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER,
-                        DataValidationField.UPDATESPECIALREQUIREMENTSREQUEST))))
-                .thenReturn(new DataValidator(
-                        List.of(DataValidationField.USER, DataValidationField.ORDER,
-                                DataValidationField.UPDATESPECIALREQUIREMENTSREQUEST),
-                        orderService, dishService, vendorFacade));
-
-        // payOrderRequest
-        when(applicationContext.getBean(DataValidator.class,
-                List.of(DataValidationField.USER, DataValidationField.ORDER,
-                        DataValidationField.PAYORDERREQUEST)))
-                .thenReturn(new DataValidator(
-                        List.of(DataValidationField.USER, DataValidationField.ORDER,
-                                DataValidationField.PAYORDERREQUEST),
-                        orderService, dishService, vendorFacade));
-
-        when(applicationContext.getBean(UserAuthorizationValidator.class))
-                .thenReturn(new UserAuthorizationValidator(customerFacade, vendorFacade, orderService, dishService));
+        validationPipelines = spy(ValidationPipelines.sequential(orderService, dishService, customerFacade,
+                vendorFacade, null));
 
         paymentMock = new PaymentMock();
         paymentMock.setPaymentSuccessDecider(paymentSuccessDecider);
@@ -201,13 +128,11 @@ class CustomerControllerTest {
 
         payOrderRequest = new PayOrderRequest();
 
-        userAuthorizationValidator = new UserAuthorizationValidator(customerFacade, vendorFacade, orderService, dishService);
-
         updateSpecialRequirementsRequest = new UpdateSpecialRequirementsRequest();
         createOrderRequest = new CreateOrderRequest();
 
         customerController = new CustomerController(IVendorMapper, serviceManager, customerFacade,
-                vendorFacade, applicationContext, paymentMock);
+                vendorFacade, validationPipelines, paymentMock);
         when(orderService.findById(orderId)).thenReturn(order);
         when(dishService.findById(dishId)).thenReturn(new Dish());
     }
@@ -271,6 +196,56 @@ class CustomerControllerTest {
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
+    private CustomerController parallelController() {
+        ValidationPipelines parallel = new ValidationPipelines(orderService, dishService, customerFacade, vendorFacade,
+                null, null, new SimpleMeterRegistry(), AuthorizationMode.PARALLEL.name());
+        return new CustomerController(IVendorMapper, serviceManager, customerFacade, vendorFacade, parallel,
+                paymentMock);
+    }
+
+    private void customerChecks(UUID userId, boolean hasRole, boolean exists) {
+        when(customerFacade.checkRoleByIdAsync(userId)).thenReturn(CompletableFuture.completedFuture(hasRole));
+        when(customerFacade.existsByIdAsync(userId)).thenReturn(CompletableFuture.completedFuture(exists));
+    }
+
+    @Test
+    void getOrderParallelSuccess() {
+        customerChecks(customerId, true, true);
+
+        ResponseEntity<Order> responseEntity = parallelController().getOrder(customerId, orderId);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isEqualTo(order);
+    }
+
+    @Test
+    void getOrderParallelUnauthorized() {
+        customerChecks(customerId, false, true);
+
+        ResponseEntity<Order> responseEntity = parallelController().getOrder(customerId, orderId);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void getOrderParallelNotFoundCustomer() {
+        customerChecks(customerId, true, false);
+
+        ResponseEntity<Order> responseEntity = parallelController().getOrder(customerId, orderId);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void getOrderParallelUnauthorizedCustomerMismatch() {
+        UUID anotherCustomerId = UUID.randomUUID();
+        customerChecks(anotherCustomerId, true, true);
+
+        ResponseEntity<Order> responseEntity = parallelController().getOrder(anotherCustomerId, orderId);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
     @Test
     void getDishFromOrderSuccess() {
         Dish dish = new Dish();
@@ -475,8 +450,7 @@ class CustomerControllerTest {
 
     @Test
     void getVendorsNullCustomerLocation() {
-        when(applicationContext.getBean(eq(DataValidator.class), eq(List.of(DataValidationField.USER))))
-                .thenReturn(dataValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(ValidatedOperation.GET_VENDORS);
 
         CustomerDTO customerDTO = new CustomerDTO();
         when(customerFacade.requestCustomer(customerId)).thenReturn(customerDTO);
@@ -513,13 +487,7 @@ class CustomerControllerTest {
 
     @Test
     void addDishToOrderDishExists() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.DISH,
-                        DataValidationField.ORDER, DataValidationField.UPDATEDISHQTYREQUEST))))
-                .thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(ValidatedOperation.ADD_DISH_TO_ORDER);
         UpdateDishQtyRequest updateDishQtyRequest = new UpdateDishQtyRequest();
         updateDishQtyRequest.setQuantity(2);
         OrderedDish existingOrderedDish = new OrderedDish();
@@ -540,13 +508,7 @@ class CustomerControllerTest {
 
     @Test
     void addDishToOrderDishNotExists() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.DISH,
-                        DataValidationField.ORDER, DataValidationField.UPDATEDISHQTYREQUEST))))
-                .thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(ValidatedOperation.ADD_DISH_TO_ORDER);
         UpdateDishQtyRequest updateDishQtyRequest = new UpdateDishQtyRequest();
         updateDishQtyRequest.setQuantity(2);
 
@@ -589,12 +551,7 @@ class CustomerControllerTest {
 
     @Test
     void removeDishFromOrderSuccess() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER, DataValidationField.DISH))))
-                .thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(ValidatedOperation.REMOVE_DISH_FROM_ORDER);
 
         OrderedDish existingOrderedDish = new OrderedDish();
         Dish dish = new Dish();
@@ -626,12 +583,7 @@ class CustomerControllerTest {
 
     @Test
     void removeDishFromOrderDishNotFound() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER, DataValidationField.DISH))))
-                .thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(ValidatedOperation.REMOVE_DISH_FROM_ORDER);
 
         Order mockOrder = new Order();
         mockOrder.setDishes(new ArrayList<>());
@@ -680,10 +632,7 @@ class CustomerControllerTest {
 
     @Test
     void updateDishQtyDishExists() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class), anyList())).thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(any());
 
         UpdateDishQtyRequest updateDishQtyRequest = new UpdateDishQtyRequest();
         updateDishQtyRequest.setQuantity(3);
@@ -710,10 +659,7 @@ class CustomerControllerTest {
 
     @Test
     void updateDishQtyDishNotExists() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class), anyList())).thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(any());
 
         UpdateDishQtyRequest updateDishQtyRequest = new UpdateDishQtyRequest();
         updateDishQtyRequest.setQuantity(3);
@@ -734,7 +680,7 @@ class CustomerControllerTest {
 
     @Test
     void getPersonalOrderHistoryWithNullCustomerId() {
-        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(null);
+        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(null, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
@@ -743,7 +689,7 @@ class CustomerControllerTest {
     void getPersonalOrderHistoryWithUnauthorizedCustomer() {
         when(customerFacade.checkRoleById(customerId)).thenReturn(false);
 
-        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId);
+        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
@@ -753,7 +699,7 @@ class CustomerControllerTest {
         when(customerFacade.checkRoleById(customerId)).thenReturn(true);
         when(customerFacade.existsById(customerId)).thenReturn(false);
 
-        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId);
+        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
@@ -762,9 +708,10 @@ class CustomerControllerTest {
     void getPersonalOrderHistoryWithNoOrders() {
         when(customerFacade.checkRoleById(customerId)).thenReturn(true);
         when(customerFacade.existsById(customerId)).thenReturn(true);
-        when(orderService.findOrdersByCustomerId(customerId)).thenReturn(new ArrayList<>());
+        when(orderService.findOrdersByCustomerId(customerId, null, OrderPage.DEFAULT_LIMIT))
+                .thenReturn(new OrderPage(new ArrayList<>(), null));
 
-        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId);
+        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
@@ -774,9 +721,10 @@ class CustomerControllerTest {
         List<Order> orders = List.of(new Order());
         when(customerFacade.checkRoleById(customerId)).thenReturn(true);
         when(customerFacade.existsById(customerId)).thenReturn(true);
-        when(orderService.findOrdersByCustomerId(customerId)).thenReturn(orders);
+        when(orderService.findOrdersByCustomerId(customerId, null, OrderPage.DEFAULT_LIMIT))
+                .thenReturn(new OrderPage(orders, null));
 
-        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId);
+        ResponseEntity<List<Order>> response = customerController.getPersonalOrderHistory(customerId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(orders);
@@ -937,7 +885,7 @@ class CustomerControllerTest {
         assertThat(response.getBody()).isEqualTo(result);
         verify(customerFacade).existsById(customerId);
         verify(customerFacade).checkRoleById(customerId);
-        verify(orderService, times(4)).findById(orderId);
+        verify(orderService, times(1)).findById(orderId);
     }
 
     @Test
@@ -1059,12 +1007,35 @@ class CustomerControllerTest {
         assertThat(order.getTotalPrice()).isEqualTo(previousOrder.getTotalPrice());
     }
 
+    @Test
+    void testReorderCopiesDishes() {
+        Order previousOrder = createOrder();
+        Dish dish = new Dish();
+        dish.setID(UUID.randomUUID());
+        OrderedDish orderedDish = new OrderedDish();
+        orderedDish.setId(UUID.randomUUID());
+        orderedDish.setDish(dish);
+        orderedDish.setQuantity(3);
+        previousOrder.addDishesItem(orderedDish);
+
+        when(customerFacade.checkRoleById(customerId)).thenReturn(true);
+        when(customerFacade.existsById(customerId)).thenReturn(true);
+        when(orderService.findById(orderId)).thenReturn(previousOrder);
+        when(orderService.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ResponseEntity<Order> response = customerController.reorder(customerId, orderId, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getDishes()).hasSize(1);
+        OrderedDish copy = response.getBody().getDishes().get(0);
+        assertThat(copy.getId()).isNull();
+        assertThat(copy.getDish()).isEqualTo(dish);
+        assertThat(copy.getQuantity()).isEqualTo(3);
+    }
+
     @Test
     void testCorrectNewPriceDishQty() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class), anyList())).thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(any());
 
         UpdateDishQtyRequest updateDishQtyRequest = new UpdateDishQtyRequest();
         updateDishQtyRequest.setQuantity(5);
@@ -1099,10 +1070,7 @@ class CustomerControllerTest {
 
     @Test
     void testCorrectNewPriceAddingDish() {
-        DataValidator mockDataValidator = mock(DataValidator.class);
-        UserAuthorizationValidator mockUserAuthorizationValidator = mock(UserAuthorizationValidator.class);
-        when(applicationContext.getBean(eq(DataValidator.class), anyList())).thenReturn(mockDataValidator);
-        when(applicationContext.getBean(UserAuthorizationValidator.class)).thenReturn(mockUserAuthorizationValidator);
+        doReturn(passingPipeline).when(validationPipelines).get(any());
 
         UpdateDishQtyRequest updateDishQtyRequest = new UpdateDishQtyRequest();
         updateDishQtyRequest.setQuantity(2);
@@ -0,0 +1,203 @@
+package nl.tudelft.sem.template.orders.controllers;
+
+import nl.tudelft.sem.template.model.Address;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.OrderedDish;
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.model.UpdateDishQtyRequest;
+import nl.tudelft.sem.template.model.UpdateSpecialRequirementsRequest;
+import nl.tudelft.sem.template.orders.integration.AdminFacade;
+import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.integration.VendorFacade;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import nl.tudelft.sem.template.orders.repositories.OrderRepository;
+import nl.tudelft.sem.template.orders.services.DishService;
+import nl.tudelft.sem.template.orders.services.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that every endpoint loads its order and dish from the database at most once,
+ * even though both the validators and the controller need them.
+ */
+@SpringBootTest
+@Transactional
+public class EntityLoadCountIntegrationTest {
+
+    @Autowired
+    private CustomerController customerController;
+    @Autowired
+    private VendorController vendorController;
+    @Autowired
+    private AdminController adminController;
+
+    @Autowired
+    private OrderRepository orderRepo;
+    @Autowired
+    private DishRepository dishRepo;
+
+    @SpyBean
+    private OrderService orderService;
+    @SpyBean
+    private DishService dishService;
+
+    @MockBean
+    private CustomerFacade customerFacade;
+    @MockBean
+    private VendorFacade vendorFacade;
+    @MockBean
+    private AdminFacade adminFacade;
+
+    private final UUID customerId = UUID.randomUUID();
+    private final UUID vendorId = UUID.randomUUID();
+    private final UUID adminId = UUID.randomUUID();
+
+    private Order order;
+    private Dish dish;
+
+    @BeforeEach
+    void setup() {
+        when(customerFacade.checkRoleById(any())).thenReturn(true);
+        when(customerFacade.existsById(any())).thenReturn(true);
+        when(vendorFacade.checkRoleById(any())).thenReturn(true);
+        when(vendorFacade.existsById(any())).thenReturn(true);
+        when(adminFacade.checkRoleById(any())).thenReturn(true);
+        when(adminFacade.existsById(any())).thenReturn(true);
+        when(customerFacade.checkRoleByIdAsync(any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(customerFacade.existsByIdAsync(any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(vendorFacade.checkRoleByIdAsync(any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(vendorFacade.existsByIdAsync(any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(adminFacade.checkRoleByIdAsync(any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(adminFacade.existsByIdAsync(any())).thenReturn(CompletableFuture.completedFuture(true));
+
+        dish = new Dish();
+        dish.setName("Chicken & Rice");
+        dish.setVendorId(vendorId);
+        dish.setPrice(10.0);
+        dish.setIsDeleted(false);
+        dish = dishRepo.save(dish);
+
+        OrderedDish orderedDish = new OrderedDish();
+        orderedDish.setDish(dish);
+        orderedDish.setQuantity(1);
+
+        Address address = new Address();
+        address.setHouseNumber(1);
+        address.setZipCode("1234AB");
+
+        order = new Order();
+        order.addDishesItem(orderedDish);
+        order.setLocation(address);
+        order.setVendorId(vendorId);
+        order.setCustomerId(customerId);
+        order.setStatus(Status.PENDING);
+        order.setTotalPrice(10.0);
+        order = orderRepo.save(order);
+    }
+
+    private void assertLoadedOnce(boolean orderUsed, boolean dishUsed) {
+        verify(orderService, orderUsed ? times(1) : never()).findById(order.getID());
+        verify(dishService, dishUsed ? times(1) : never()).findById(dish.getID());
+    }
+
+    @Test
+    void addDishToOrder() {
+        UpdateDishQtyRequest req = new UpdateDishQtyRequest();
+        req.setQuantity(2);
+
+        ResponseEntity<Order> res = customerController.addDishToOrder(customerId, order.getID(), dish.getID(), req);
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(true, true);
+    }
+
+    @Test
+    void removeDishFromOrder() {
+        ResponseEntity<Order> res = customerController.removeDishFromOrder(customerId, order.getID(), dish.getID());
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(true, true);
+    }
+
+    @Test
+    void updateDishQty() {
+        UpdateDishQtyRequest req = new UpdateDishQtyRequest();
+        req.setQuantity(3);
+
+        ResponseEntity<Order> res = customerController.updateDishQty(customerId, order.getID(), dish.getID(), req);
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(true, true);
+    }
+
+    @Test
+    void getDishFromOrder() {
+        ResponseEntity<OrderedDish> res = customerController.getDishFromOrder(customerId, order.getID(), dish.getID());
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(true, true);
+    }
+
+    @Test
+    void getOrder() {
+        ResponseEntity<Order> res = customerController.getOrder(customerId, order.getID());
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(true, false);
+    }
+
+    @Test
+    void updateSpecialRequirements() {
+        UpdateSpecialRequirementsRequest req = new UpdateSpecialRequirementsRequest();
+        req.setSpecialRequirements("Leave it at the door");
+
+        ResponseEntity<Order> res = customerController.updateSpecialRequirements(customerId, order.getID(), req);
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(true, false);
+    }
+
+    @Test
+    void vendorGetDish() {
+        ResponseEntity<Dish> res = vendorController.getDish(vendorId, dish.getID());
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(false, true);
+    }
+
+    @Test
+    void vendorGetOrderDetails() {
+        ResponseEntity<Order> res = vendorController.getOrderDetails(vendorId, order.getID());
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertLoadedOnce(true, false);
+    }
+
+    @Test
+    void adminGetOrder() {
+        ResponseEntity<Order> res = adminController.adminGetOrder(adminId, order.getID());
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(res.getBody().getDishes()).extracting(OrderedDish::getQuantity).isEqualTo(List.of(1));
+        assertLoadedOnce(true, false);
+    }
+}
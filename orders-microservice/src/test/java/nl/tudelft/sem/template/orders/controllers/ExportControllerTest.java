@@ -0,0 +1,99 @@
+package nl.tudelft.sem.template.orders.controllers;
+
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.orders.integration.AdminFacade;
+import nl.tudelft.sem.template.orders.services.OrderExportService;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExportControllerTest {
+
+    private AdminFacade adminFacade;
+    private OrderExportService exportService;
+    private ExportController exportController;
+    private UUID adminId;
+
+    @BeforeEach
+    void setUp() {
+        adminFacade = mock(AdminFacade.class);
+        exportService = mock(OrderExportService.class);
+        exportController = new ExportController(exportService,
+                ValidationPipelines.sequential(null, null, null, null, adminFacade));
+
+        adminId = UUID.randomUUID();
+        when(adminFacade.checkRoleById(adminId)).thenReturn(true);
+        when(adminFacade.existsById(adminId)).thenReturn(true);
+    }
+
+    @Test
+    void exportWhenAdminIdIsNull() {
+        ResponseEntity<StreamingResponseBody> response = exportController.adminExportOrders(null, null, null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(adminFacade);
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportWhenUserIsNotAdmin() {
+        when(adminFacade.checkRoleById(adminId)).thenReturn(false);
+
+        ResponseEntity<StreamingResponseBody> response = exportController.adminExportOrders(adminId, null, null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportWhenStatusIsInvalid() {
+        ResponseEntity<StreamingResponseBody> response =
+                exportController.adminExportOrders(adminId, "lost", null, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportWhenTimeRangeIsEmpty() {
+        OffsetDateTime time = OffsetDateTime.now();
+
+        ResponseEntity<StreamingResponseBody> response =
+                exportController.adminExportOrders(adminId, null, time, time);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportStreamsFilteredOrders() throws IOException {
+        OffsetDateTime from = OffsetDateTime.now().minusDays(1);
+        OffsetDateTime to = OffsetDateTime.now();
+        when(exportService.export(any(), any(), any(), any())).thenReturn(0L);
+
+        ResponseEntity<StreamingResponseBody> response =
+                exportController.adminExportOrders(adminId, "delivered", from, to);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verifyNoInteractions(exportService);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(exportService).export(Status.DELIVERED, from, to, out);
+    }
+}
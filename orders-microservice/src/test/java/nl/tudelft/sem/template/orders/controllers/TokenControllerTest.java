@@ -0,0 +1,86 @@
+package nl.tudelft.sem.template.orders.controllers;
+
+import nl.tudelft.sem.template.model.ExchangeRoleTokenRequest;
+import nl.tudelft.sem.template.model.Role;
+import nl.tudelft.sem.template.model.RoleToken;
+import nl.tudelft.sem.template.orders.authentication.JwtTokenService;
+import nl.tudelft.sem.template.orders.integration.RoleResolver;
+import nl.tudelft.sem.template.orders.integration.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenControllerTest {
+    private static final String SECRET = "a-secret-for-signing-test-tokens-only";
+
+    private RoleResolver roleResolver;
+    private JwtTokenService tokenService;
+    private TokenController tokenController;
+
+    private final UUID vendorId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        roleResolver = mock(RoleResolver.class);
+        tokenService = new JwtTokenService(SECRET, Duration.ofMinutes(30), Clock.systemUTC());
+        tokenController = new TokenController(roleResolver, tokenService);
+    }
+
+    private static ExchangeRoleTokenRequest exchange(Role role) {
+        ExchangeRoleTokenRequest request = new ExchangeRoleTokenRequest();
+        request.setRole(role);
+        return request;
+    }
+
+    @Test
+    void issuesTokenForRoleOfUser() {
+        when(roleResolver.hasRole(vendorId, UserRole.VENDOR)).thenReturn(true);
+        when(roleResolver.hasNoRoleOtherThan(vendorId, UserRole.VENDOR)).thenReturn(true);
+
+        ResponseEntity<RoleToken> response = tokenController.exchangeRoleToken(vendorId, exchange(Role.VENDOR));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getExpiresIn()).isEqualTo(1800L);
+        assertThat(tokenService.verify(response.getBody().getToken()).orElseThrow().getRole())
+                .isEqualTo(UserRole.VENDOR);
+    }
+
+    @Test
+    void refusesRoleTheUserDoesNotHave() {
+        when(roleResolver.hasRole(vendorId, UserRole.ADMIN)).thenReturn(false);
+
+        ResponseEntity<RoleToken> response = tokenController.exchangeRoleToken(vendorId, exchange(Role.ADMIN));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void refusesUserWithAnotherRole() {
+        when(roleResolver.hasRole(vendorId, UserRole.VENDOR)).thenReturn(true);
+        when(roleResolver.hasRole(vendorId, UserRole.CUSTOMER)).thenReturn(true);
+        when(roleResolver.hasNoRoleOtherThan(vendorId, UserRole.VENDOR)).thenReturn(false);
+        when(roleResolver.hasNoRoleOtherThan(vendorId, UserRole.CUSTOMER)).thenReturn(false);
+
+        assertThat(tokenController.exchangeRoleToken(vendorId, exchange(Role.VENDOR)).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(tokenController.exchangeRoleToken(vendorId, exchange(Role.CUSTOMER)).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void badRequest() {
+        assertThat(tokenController.exchangeRoleToken(null, exchange(Role.VENDOR)).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(tokenController.exchangeRoleToken(vendorId, exchange(null)).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -95,7 +95,7 @@ public class VendorControllerIntegrationClaireTest {
 
     @Test
     public void testGetVendorOrders() {
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorUUID1);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorUUID1, null, null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).contains(orderService.findById(orderIDList.get(0)));
         assertThat(response.getBody()).contains(orderService.findById(orderIDList.get(1)));
@@ -103,14 +103,14 @@ public class VendorControllerIntegrationClaireTest {
 
     @Test
     public void testGetVendorOrdersNoOrders() {
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorUUID2);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorUUID2, null, null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEmpty();
     }
 
     @Test
     public void testGetVendorOrdersNonexistentVendor() {
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(UUID.randomUUID());
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(UUID.randomUUID(), null, null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 }
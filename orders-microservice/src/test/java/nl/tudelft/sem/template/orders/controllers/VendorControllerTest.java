@@ -4,17 +4,15 @@ import nl.tudelft.sem.template.model.Dish;
 import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.orders.VendorNotFoundException;
 import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
 import nl.tudelft.sem.template.orders.repositories.OrderRepository;
 import nl.tudelft.sem.template.orders.services.DishService;
 import nl.tudelft.sem.template.orders.services.OrderService;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
 import nl.tudelft.sem.template.orders.services.VendorService;
-import nl.tudelft.sem.template.orders.validator.DataValidationField;
-import nl.tudelft.sem.template.orders.validator.DataValidator;
-import nl.tudelft.sem.template.orders.validator.UserAuthorizationValidator;
+import nl.tudelft.sem.template.orders.validator.ValidationPipelines;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -24,7 +22,6 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.mock;
@@ -53,24 +50,8 @@ class VendorControllerTest {
         vendorService = mock(VendorService.class);
         customerFacade = mock(CustomerFacade.class);
 
-        ApplicationContext applicationContext = mock(ApplicationContext.class);
-
-        //Validators need to be defined for the mocked application context, including each combination of used
-        //DataValidationFields. Unfortunately capturing the argument that getBean is called with is not an option
-        when(applicationContext.getBean(eq(DataValidator.class), eq(List.of(DataValidationField.USER))))
-                .thenReturn(new DataValidator(List.of(DataValidationField.USER), orderService, dishService, vendorFacade));
-        when(applicationContext.getBean(eq(DataValidator.class),
-                eq(List.of(DataValidationField.USER, DataValidationField.ORDER))))
-                .thenReturn(new DataValidator(List.of(DataValidationField.USER,
-                        DataValidationField.ORDER), orderService, dishService, vendorFacade));
-        when(applicationContext.getBean(UserAuthorizationValidator.class))
-                .thenReturn(new UserAuthorizationValidator(null, vendorFacade, orderService, dishService));
-        when(applicationContext.getBean(eq(DataValidator.class),
-                    eq(List.of(DataValidationField.USER, DataValidationField.DISH))))
-            .thenReturn(new DataValidator(List.of(DataValidationField.USER,
-                    DataValidationField.DISH), orderService, dishService, vendorFacade));
-
-        vendorController = new VendorController(dishService, orderService, vendorService, applicationContext);
+        vendorController = new VendorController(dishService, orderService, vendorService,
+                ValidationPipelines.sequential(orderService, dishService, null, vendorFacade, null));
 
         orderRepository = mock(OrderRepository.class);
 
@@ -485,7 +466,7 @@ class VendorControllerTest {
     void testGetVendorOrdersWrongUserType() {
         when(vendorFacade.checkRoleById(vendorId)).thenReturn(false);
 
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
@@ -495,7 +476,7 @@ class VendorControllerTest {
         when(vendorFacade.checkRoleById(vendorId)).thenReturn(true);
         when(vendorFacade.existsById(vendorId)).thenReturn(false);
 
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
@@ -505,8 +486,10 @@ class VendorControllerTest {
         when(vendorFacade.checkRoleById(vendorId)).thenReturn(true);
         when(vendorFacade.existsById(vendorId)).thenReturn(true);
         when(orderRepository.findByVendorId(vendorId)).thenReturn(new ArrayList<>());
+        when(vendorService.getVendorOrders(vendorId, null, OrderPage.DEFAULT_LIMIT))
+                .thenReturn(new OrderPage(new ArrayList<>(), null));
 
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEmpty();
@@ -514,7 +497,7 @@ class VendorControllerTest {
 
     @Test
     void testGetVendorOrdersBadResponse() {
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(null);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(null, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
@@ -532,9 +515,10 @@ class VendorControllerTest {
 
         when(vendorFacade.checkRoleById(vendorId)).thenReturn(true);
         when(vendorFacade.existsById(vendorId)).thenReturn(true);
-        when(vendorService.getVendorOrders(vendorId)).thenReturn(orders);
+        when(vendorService.getVendorOrders(vendorId, null, OrderPage.DEFAULT_LIMIT))
+                .thenReturn(new OrderPage(orders, null));
 
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).containsExactlyInAnyOrder(order1, order2, order3);
@@ -670,7 +654,7 @@ class VendorControllerTest {
         ResponseEntity<Dish> response = vendorController.getDish(vendorId, dishId);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
-        verify(dishService, times(2)).findById(dishId);
+        verify(dishService, times(1)).findById(dishId);
     }
 
     @Test
@@ -687,7 +671,7 @@ class VendorControllerTest {
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(expectedDish);
-        verify(dishService, times(3)).findById(dishId);
+        verify(dishService, times(1)).findById(dishId);
     }
 
     @Test
@@ -833,9 +817,9 @@ class VendorControllerTest {
     void getVendorOrdersInternalServerError() {
         when(vendorFacade.checkRoleById(vendorId)).thenReturn(true);
         when(vendorFacade.existsById(vendorId)).thenReturn(true);
-        when(vendorService.getVendorOrders(vendorId)).thenThrow(new RuntimeException());
+        when(vendorService.getVendorOrders(vendorId, null, OrderPage.DEFAULT_LIMIT)).thenThrow(new RuntimeException());
 
-        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId);
+        ResponseEntity<List<Order>> response = vendorController.getVendorOrders(vendorId, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
     }
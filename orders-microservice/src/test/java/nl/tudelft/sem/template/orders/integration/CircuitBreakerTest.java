@@ -0,0 +1,86 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CircuitBreakerTest {
+    private static final Instant START = Instant.parse("2024-01-01T10:00:00Z");
+
+    private Clock clock;
+    private CircuitBreaker sut;
+
+    @BeforeEach
+    void setup() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START);
+        sut = new CircuitBreaker(3, Duration.ofSeconds(10), clock);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(sut.tryAcquire()).isTrue();
+            sut.onFailure();
+        }
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        fail(2);
+        assertThat(sut.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(1);
+        assertThat(sut.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(sut.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        fail(2);
+        sut.tryAcquire();
+        sut.onSuccess();
+        fail(2);
+
+        assertThat(sut.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void allowsSingleTrialAfterOpenDuration() {
+        fail(3);
+        when(clock.instant()).thenReturn(START.plusSeconds(10));
+
+        assertThat(sut.tryAcquire()).isTrue();
+        assertThat(sut.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(sut.tryAcquire()).isFalse();
+
+        sut.onSuccess();
+        assertThat(sut.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(sut.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void failedTrialReopens() {
+        fail(3);
+        when(clock.instant()).thenReturn(START.plusSeconds(10));
+        sut.tryAcquire();
+        sut.onFailure();
+
+        assertThat(sut.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        when(clock.instant()).thenReturn(START.plusSeconds(19));
+        assertThat(sut.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidThreshold() {
+        assertThatThrownBy(() -> new CircuitBreaker(0, Duration.ofSeconds(1), clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
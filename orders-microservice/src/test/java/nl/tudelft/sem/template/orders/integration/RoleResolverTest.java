@@ -0,0 +1,240 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoleResolverTest {
+    private static final String USERS_URL = "http://users";
+
+    private HttpClient client;
+    private RoleResolver sut;
+
+    private final UUID customerId = UUID.randomUUID();
+    private final UUID vendorId = UUID.randomUUID();
+    private final UUID unknownId = UUID.randomUUID();
+    private Map<UUID, UserRole> users;
+    private Map<UserRole, Integer> failingRoles = Map.of();
+
+    @BeforeEach
+    void setup() throws Exception {
+        client = mock(HttpClient.class);
+        users = Map.of(customerId, UserRole.CUSTOMER, vendorId, UserRole.VENDOR);
+
+        when(client.sendAsync(any(), any())).thenAnswer(invocation -> {
+            HttpRequest request = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(respond(request));
+        });
+
+        sut = new RoleResolver(new UsersClient(client, USERS_URL, new SimpleMeterRegistry()),
+                new UnknownUserCache(30, 100, null), 60, 120, 100);
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private HttpResponse<String> respond(HttpRequest request) {
+        String path = request.uri().getPath();
+        UUID id = UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+        UserRole role = users.get(id);
+
+        @SuppressWarnings("unchecked")
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(failingRoles.entrySet().stream()
+                .filter(failing -> path.startsWith(failing.getKey().getPath()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(role != null && path.startsWith(role.getPath()) ? 200 : 404));
+        return response;
+    }
+
+    @Test
+    void resolvesRoles() {
+        assertThat(sut.resolveRoles(customerId)).containsExactly(UserRole.CUSTOMER);
+        assertThat(sut.resolveRoles(vendorId)).containsExactly(UserRole.VENDOR);
+        assertThat(sut.resolveRoles(unknownId)).isEmpty();
+    }
+
+    @Test
+    void cachesResolvedRoles() throws Exception {
+        sut.resolveRoles(customerId);
+        sut.hasRole(customerId, UserRole.CUSTOMER);
+        sut.hasNoRoleOtherThan(customerId, UserRole.CUSTOMER);
+
+        verify(client, times(UserRole.values().length)).sendAsync(any(), any());
+    }
+
+    @Test
+    void remembersUnknownUsers() throws Exception {
+        sut.resolveRoles(unknownId);
+        assertThat(sut.hasRole(unknownId, UserRole.CUSTOMER)).isFalse();
+        assertThat(sut.hasNoRoleOtherThan(unknownId, UserRole.CUSTOMER)).isTrue();
+
+        verify(client, times(UserRole.values().length)).sendAsync(any(), any());
+    }
+
+    @Test
+    void invalidateForgetsUnknownUser() throws Exception {
+        sut.resolveRoles(unknownId);
+        sut.invalidate(unknownId);
+        sut.resolveRoles(unknownId);
+
+        verify(client, times(2 * UserRole.values().length)).sendAsync(any(), any());
+    }
+
+    @Test
+    void invalidateForcesNewLookup() throws Exception {
+        sut.resolveRoles(customerId);
+        sut.invalidate(customerId);
+        sut.resolveRoles(customerId);
+
+        verify(client, times(2 * UserRole.values().length)).sendAsync(any(), any());
+    }
+
+    @Test
+    void hasNoRoleOtherThan() {
+        assertThat(sut.hasNoRoleOtherThan(customerId, UserRole.CUSTOMER)).isTrue();
+        assertThat(sut.hasNoRoleOtherThan(vendorId, UserRole.CUSTOMER)).isFalse();
+        assertThat(sut.hasNoRoleOtherThan(unknownId, UserRole.ADMIN)).isTrue();
+        assertThat(sut.hasRole(unknownId, UserRole.ADMIN)).isFalse();
+        assertThat(EnumSet.copyOf(sut.resolveRoles(vendorId))).isEqualTo(EnumSet.of(UserRole.VENDOR));
+    }
+
+    @Test
+    void completesAsSoonAsAnswerIsKnown() {
+        CompletableFuture<HttpResponse<String>> vendorResponse = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<String>> pending = new CompletableFuture<>();
+        doAnswer(invocation -> {
+            HttpRequest request = invocation.getArgument(0);
+            return request.uri().getPath().startsWith(UserRole.VENDOR.getPath()) ? vendorResponse : pending;
+        }).when(client).sendAsync(any(), any());
+
+        CompletableFuture<Boolean> isVendor = sut.hasRoleAsync(vendorId, UserRole.VENDOR);
+        CompletableFuture<Boolean> onlyCustomer = sut.hasNoRoleOtherThanAsync(vendorId, UserRole.CUSTOMER);
+        assertThat(isVendor).isNotDone();
+        assertThat(onlyCustomer).isNotDone();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(USERS_URL + "/vendors/" + vendorId)).build();
+        vendorResponse.complete(respond(request));
+
+        assertThat(isVendor).isCompletedWithValue(true);
+        assertThat(onlyCustomer).isCompletedWithValue(false);
+        verify(client, times(UserRole.values().length)).sendAsync(any(), any());
+    }
+
+    @Test
+    void servesStaleRolesWhileRefreshing() {
+        sut = new RoleResolver(new UsersClient(client, USERS_URL, new SimpleMeterRegistry()),
+                new UnknownUserCache(30, 100, null), 0, 120, 100);
+        sut.resolveRoles(customerId);
+        users = Map.of(customerId, UserRole.VENDOR);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        assertThat(sut.hasRole(customerId, UserRole.CUSTOMER)).isTrue();
+
+        assertThat(response.getHeader(StaleResponse.HEADER)).isEqualTo(StaleResponse.VALUE);
+        assertThat(sut.resolveRoles(customerId)).containsExactly(UserRole.VENDOR);
+    }
+
+    @Test
+    void freshRolesAreNotMarkedStale() {
+        sut.resolveRoles(customerId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        sut.resolveRoles(customerId);
+
+        assertThat(response.getHeader(StaleResponse.HEADER)).isNull();
+        verify(client, times(UserRole.values().length)).sendAsync(any(), any());
+    }
+
+    @Test
+    void refreshForgetsRemovedUser() {
+        sut = new RoleResolver(new UsersClient(client, USERS_URL, new SimpleMeterRegistry()),
+                new UnknownUserCache(30, 100, null), 0, 120, 100);
+        sut.resolveRoles(customerId);
+        users = Map.of();
+
+        sut.resolveRoles(customerId);
+
+        assertThat(sut.resolveRoles(customerId)).isEmpty();
+    }
+
+    @Test
+    void serverErrorIsNotCachedNorMarkedUnknown() throws Exception {
+        failingRoles = Arrays.stream(UserRole.values()).collect(Collectors.toMap(role -> role, role -> 500));
+
+        assertThatThrownBy(() -> sut.resolveRoles(customerId)).isInstanceOf(DownstreamUnavailableException.class);
+
+        failingRoles = Map.of();
+        assertThat(sut.hasRole(customerId, UserRole.CUSTOMER)).isTrue();
+        assertThat(sut.resolveRoles(customerId)).containsExactly(UserRole.CUSTOMER);
+        verify(client, times(2 * UserRole.values().length)).sendAsync(any(), any());
+    }
+
+    @Test
+    void partialAnswerIsNotCached() throws Exception {
+        failingRoles = Map.of(UserRole.CUSTOMER, 429);
+
+        assertThat(sut.hasRole(customerId, UserRole.VENDOR)).isFalse();
+        assertThatThrownBy(() -> sut.resolveRoles(customerId)).isInstanceOf(DownstreamUnavailableException.class);
+
+        failingRoles = Map.of();
+        assertThat(sut.resolveRoles(customerId)).containsExactly(UserRole.CUSTOMER);
+    }
+
+    @Test
+    void failedRefreshKeepsStaleRoles() {
+        sut = new RoleResolver(new UsersClient(client, USERS_URL, new SimpleMeterRegistry()),
+                new UnknownUserCache(30, 100, null), 0, 120, 100);
+        sut.resolveRoles(customerId);
+        failingRoles = Arrays.stream(UserRole.values()).collect(Collectors.toMap(role -> role, role -> 500));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        assertThat(sut.hasRole(customerId, UserRole.CUSTOMER)).isTrue();
+        assertThat(sut.resolveRoles(customerId)).containsExactly(UserRole.CUSTOMER);
+
+        assertThat(response.getHeader(StaleResponse.HEADER)).isEqualTo(StaleResponse.VALUE);
+    }
+
+    @Test
+    void partialRefreshKeepsStaleRoles() {
+        sut = new RoleResolver(new UsersClient(client, USERS_URL, new SimpleMeterRegistry()),
+                new UnknownUserCache(30, 100, null), 0, 120, 100);
+        sut.resolveRoles(customerId);
+        failingRoles = Map.of(UserRole.CUSTOMER, 503);
+
+        assertThat(sut.hasRole(customerId, UserRole.CUSTOMER)).isTrue();
+        assertThat(sut.hasNoRoleOtherThan(customerId, UserRole.CUSTOMER)).isTrue();
+        assertThat(sut.resolveRoles(customerId)).containsExactly(UserRole.CUSTOMER);
+    }
+}
@@ -0,0 +1,81 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RotatingBloomFilterTest {
+    private static final Instant START = Instant.parse("2024-01-01T10:00:00Z");
+
+    private final Clock clock = Clock.fixed(START, ZoneOffset.UTC);
+    private RotatingBloomFilter sut;
+
+    @BeforeEach
+    void setup() {
+        sut = new RotatingBloomFilter(10_000, 0.001, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void containsAddedIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            sut.put(id);
+        }
+
+        assertThat(ids).allMatch(sut::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateIsBounded() {
+        for (int i = 0; i < 10_000; i++) {
+            sut.put(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sut.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Expected around 100, allow for randomness
+        assertThat(falsePositives).isLessThan(500);
+    }
+
+    @Test
+    void entriesExpireAfterTwoRotations() {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START);
+        sut = new RotatingBloomFilter(10_000, 0.001, Duration.ofSeconds(30), clock);
+        UUID id = UUID.randomUUID();
+        sut.put(id);
+
+        when(clock.instant()).thenReturn(START.plusSeconds(30));
+        assertThat(sut.mightContain(id)).isTrue();
+
+        when(clock.instant()).thenReturn(START.plusSeconds(60));
+        assertThat(sut.mightContain(id)).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> new RotatingBloomFilter(0, 0.01, Duration.ofSeconds(1), clock))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RotatingBloomFilter(100, 1.0, Duration.ofSeconds(1), clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,231 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UsersClientTest {
+    private static final String USERS_URL = "http://users";
+
+    private HttpClient client;
+    private SimpleMeterRegistry registry;
+    private UsersClient sut;
+    private CompletableFuture<HttpResponse<String>> pending;
+
+    @BeforeEach
+    void setup() {
+        client = mock(HttpClient.class);
+        registry = new SimpleMeterRegistry();
+        pending = new CompletableFuture<>();
+        when(client.sendAsync(any(), any())).thenAnswer(invocation -> pending);
+
+        sut = new UsersClient(client, USERS_URL, registry);
+    }
+
+    private double count(String outcome) {
+        return registry.get("users.client.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void coalescesIdenticalRequestsInFlight() throws Exception {
+        CompletableFuture<HttpResponse<String>> first = sut.getAsync("/vendors");
+        CompletableFuture<HttpResponse<String>> second = sut.getAsync("/vendors");
+
+        @SuppressWarnings("unchecked")
+        HttpResponse<String> response = mock(HttpResponse.class);
+        pending.complete(response);
+
+        assertThat(first.get()).isSameAs(response);
+        assertThat(second.get()).isSameAs(response);
+        verify(client, times(1)).sendAsync(any(), any());
+        assertThat(count("sent")).isEqualTo(1.0);
+        assertThat(count("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    void doesNotCoalesceDifferentRequests() {
+        sut.getAsync("/vendors");
+        sut.getAsync("/customers/1");
+        sut.sendAsync(sut.newRequest("/vendors").header("If-None-Match", "\"v1\"").build());
+
+        verify(client, times(3)).sendAsync(any(), any());
+    }
+
+    @Test
+    void doesNotCoalesceIdenticalPosts() {
+        HttpRequest post = sut.newRequest("/vendors").POST(HttpRequest.BodyPublishers.ofString("{}")).build();
+        sut.sendAsync(post);
+        sut.sendAsync(post);
+
+        verify(client, times(2)).sendAsync(any(), any());
+        assertThat(count("sent")).isEqualTo(2.0);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void sendsAgainAfterCompletion() {
+        sut.getAsync("/vendors");
+        pending.complete(null);
+        sut.getAsync("/vendors");
+
+        verify(client, times(2)).sendAsync(any(), any());
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void failuresReachAllCallers() {
+        CompletableFuture<HttpResponse<String>> first = sut.getAsync("/vendors");
+        CompletableFuture<HttpResponse<String>> second = sut.getAsync("/vendors");
+        pending.completeExceptionally(new IOException("down"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotAffectOthers() {
+        CompletableFuture<HttpResponse<String>> first = sut.getAsync("/vendors");
+        CompletableFuture<HttpResponse<String>> second = sut.getAsync("/vendors");
+        first.cancel(true);
+        pending.complete(null);
+
+        assertThat(second).isCompletedWithValue(null);
+    }
+
+    @Test
+    void failsWhenDeadlineExpires() {
+        sut = new UsersClient(client, USERS_URL, registry, Duration.ofMillis(50), false, 0.95, Duration.ZERO);
+
+        CompletableFuture<HttpResponse<String>> call = sut.getAsync("/vendors");
+
+        assertThat(call).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withRootCauseInstanceOf(TimeoutException.class);
+        assertThat(registry.get("users.client.deadline.exceeded").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void hedgesSlowRequest() throws Exception {
+        CompletableFuture<HttpResponse<String>> hedge = new CompletableFuture<>();
+        when(client.sendAsync(any(), any())).thenAnswer(invocation -> pending)
+                .thenAnswer(invocation -> hedge);
+        sut = new UsersClient(client, USERS_URL, registry, Duration.ofSeconds(5), true, 0.95, Duration.ofMillis(10));
+
+        CompletableFuture<HttpResponse<String>> call = sut.getAsync("/vendors");
+        verify(client, timeout(2000).times(2)).sendAsync(any(), any());
+
+        @SuppressWarnings("unchecked")
+        HttpResponse<String> response = mock(HttpResponse.class);
+        hedge.complete(response);
+
+        assertThat(call.get(1, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(registry.get("users.client.hedged").counter().count()).isEqualTo(1.0);
+        assertThat(count("sent")).isEqualTo(2.0);
+    }
+
+    @Test
+    void doesNotHedgeFastRequest() {
+        sut = new UsersClient(client, USERS_URL, registry, Duration.ofSeconds(5), true, 0.95, Duration.ofSeconds(5));
+
+        CompletableFuture<HttpResponse<String>> call = sut.getAsync("/vendors");
+        pending.complete(null);
+
+        assertThat(call).isCompletedWithValue(null);
+        verify(client, times(1)).sendAsync(any(), any());
+        assertThat(registry.get("users.client.hedged").counter().count()).isZero();
+    }
+
+    @Test
+    void failedAttemptWaitsForHedge() throws Exception {
+        CompletableFuture<HttpResponse<String>> hedge = new CompletableFuture<>();
+        when(client.sendAsync(any(), any())).thenAnswer(invocation -> pending)
+                .thenAnswer(invocation -> hedge);
+        sut = new UsersClient(client, USERS_URL, registry, Duration.ofSeconds(5), true, 0.95, Duration.ofMillis(10));
+
+        CompletableFuture<HttpResponse<String>> call = sut.getAsync("/vendors");
+        verify(client, timeout(2000).times(2)).sendAsync(any(), any());
+        pending.completeExceptionally(new IOException("reset"));
+
+        assertThat(call).isNotDone();
+        hedge.complete(null);
+        assertThat(call.get(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    private UsersClient guarded(int failureThreshold, int maxConcurrent) {
+        registry = new SimpleMeterRegistry();
+        DownstreamGuard guard = new DownstreamGuard(Downstream.USERS,
+                new CircuitBreaker(failureThreshold, Duration.ofMinutes(1), Clock.systemUTC()), maxConcurrent, registry);
+        return new UsersClient(client, USERS_URL, registry, Duration.ofSeconds(5), false, 0, Duration.ZERO, guard);
+    }
+
+    private double rejected(String reason) {
+        return registry.get("downstream.rejected").tag("downstream", "users").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void openCircuitFailsFast() {
+        when(client.sendAsync(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new IOException("down")));
+        sut = guarded(2, 10);
+
+        sut.getAsync("/vendors");
+        sut.getAsync("/customers/1");
+        CompletableFuture<HttpResponse<String>> rejected = sut.getAsync("/vendors");
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(DownstreamUnavailableException.class);
+        assertThatThrownBy(() -> sut.get("/vendors")).isInstanceOf(DownstreamUnavailableException.class);
+        verify(client, times(2)).sendAsync(any(), any());
+        assertThat(rejected("circuit_open")).isEqualTo(2.0);
+        assertThat(registry.get("downstream.circuit.state").tag("downstream", "users").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void serverErrorsCountAsFailures() {
+        @SuppressWarnings("unchecked")
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(503);
+        pending.complete(response);
+        sut = guarded(1, 10);
+
+        sut.getAsync("/vendors");
+
+        assertThat(sut.getAsync("/vendors")).isCompletedExceptionally();
+    }
+
+    @Test
+    void fullBulkheadRejectsCalls() {
+        sut = guarded(5, 1);
+
+        CompletableFuture<HttpResponse<String>> first = sut.getAsync("/vendors");
+        CompletableFuture<HttpResponse<String>> coalesced = sut.getAsync("/vendors");
+        CompletableFuture<HttpResponse<String>> rejected = sut.getAsync("/customers/1");
+        pending.complete(null);
+
+        assertThat(first).isCompletedWithValue(null);
+        assertThat(coalesced).isCompletedWithValue(null);
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(rejected("bulkhead_full")).isEqualTo(1.0);
+        assertThat(sut.getAsync("/customers/1")).isNotCompletedExceptionally();
+    }
+}
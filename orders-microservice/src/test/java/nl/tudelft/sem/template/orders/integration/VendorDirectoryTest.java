@@ -0,0 +1,224 @@
+package nl.tudelft.sem.template.orders.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.tudelft.sem.template.orders.external.VendorDTO;
+import nl.tudelft.sem.template.orders.mappers.VendorMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VendorDirectoryTest {
+    private static final String USERS_URL = "http://users";
+    private static final Instant START = Instant.parse("2024-01-01T10:00:00Z");
+
+    private HttpClient client;
+    private Clock clock;
+    private SimpleMeterRegistry registry;
+    private VendorDirectory sut;
+
+    private final VendorDTO vendor = new VendorDTO(UUID.randomUUID(), "Vendor", false, "v@mail.com", true, null);
+    private final VendorDTO other = new VendorDTO(UUID.randomUUID(), "Other", false, "o@mail.com", true, null);
+
+    @BeforeEach
+    void setup() {
+        client = mock(HttpClient.class);
+        clock = mock(Clock.class);
+        registry = new SimpleMeterRegistry();
+        when(clock.instant()).thenReturn(START);
+
+        sut = new VendorDirectory(new UsersClient(client, USERS_URL, registry), new VendorMapper(), registry, clock,
+                Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ofSeconds(600));
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static String json(List<VendorDTO> vendors) {
+        return vendors.stream()
+                .map(v -> String.format("{\"vendorId\":\"%s\",\"name\":\"%s\",\"isBlocked\":false,"
+                        + "\"email\":\"%s\",\"approved\":true}", v.getVendorId(), v.getName(), v.getEmail()))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    /**
+     * Answers a sendAsync call by running the body handler of the request on the given response,
+     * the same way the HttpClient would.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Answer<CompletableFuture<HttpResponse<T>>> respond(int status, String etag, String body) {
+        return invocation -> {
+            HttpResponse.BodyHandler<T> handler = invocation.getArgument(1);
+            HttpHeaders headers = HttpHeaders.of(etag == null ? Map.of() : Map.of("ETag", List.of(etag)),
+                    (name, value) -> true);
+            HttpResponse.ResponseInfo info = mock(HttpResponse.ResponseInfo.class);
+            when(info.statusCode()).thenReturn(status);
+            when(info.headers()).thenReturn(headers);
+
+            HttpResponse.BodySubscriber<T> subscriber = handler.apply(info);
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private boolean sent;
+
+                @Override
+                public void request(long n) {
+                    if (!sent) {
+                        sent = true;
+                        subscriber.onNext(List.of(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8))));
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+
+            HttpResponse<T> response = mock(HttpResponse.class);
+            when(response.statusCode()).thenReturn(status);
+            when(response.headers()).thenReturn(headers);
+            when(response.body()).thenReturn(subscriber.getBody().toCompletableFuture().join());
+            return CompletableFuture.completedFuture(response);
+        };
+    }
+
+    @Test
+    void loadsOnFirstReadAndServesFromMemory() throws Exception {
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))));
+
+        assertThat(sut.getVendors()).containsExactly(vendor);
+        assertThat(sut.findById(vendor.getVendorId())).contains(vendor);
+        assertThat(sut.findById(other.getVendorId())).isEmpty();
+
+        verify(client, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void notModifiedKeepsSnapshot() throws Exception {
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))))
+                .thenAnswer(respond(304, "\"v1\"", ""));
+
+        sut.refresh();
+        sut.refresh();
+
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(client, times(2)).sendAsync(requests.capture(), any());
+        assertThat(requests.getAllValues().get(0).headers().firstValue("If-None-Match")).isEmpty();
+        assertThat(requests.getAllValues().get(1).headers().firstValue("If-None-Match")).contains("\"v1\"");
+        assertThat(sut.getVendors()).containsExactly(vendor);
+    }
+
+    @Test
+    void refreshSwapsSnapshot() throws Exception {
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))))
+                .thenAnswer(respond(200, "\"v2\"", json(List.of(vendor, other))));
+
+        sut.refresh();
+        List<VendorDTO> before = sut.getVendors();
+        sut.refresh();
+
+        assertThat(before).containsExactly(vendor);
+        assertThat(sut.getVendors()).containsExactly(vendor, other);
+        assertThat(sut.findById(other.getVendorId())).contains(other);
+    }
+
+    @Test
+    void failedRefreshKeepsSnapshot() throws Exception {
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new IOException("down")))
+                .thenAnswer(respond(500, null, "error"));
+
+        sut.refresh();
+        sut.refresh();
+        sut.refresh();
+
+        assertThat(sut.getVendors()).containsExactly(vendor);
+    }
+
+    @Test
+    void stalenessMetric() throws Exception {
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))));
+
+        assertThat(registry.get("vendor.directory.staleness").gauge().value()).isNaN();
+
+        sut.refresh();
+        when(clock.instant()).thenReturn(START.plusSeconds(42));
+
+        assertThat(registry.get("vendor.directory.staleness").gauge().value()).isEqualTo(42.0);
+    }
+
+    @Test
+    void servesStaleSnapshotAndRefreshesInBackground() throws Exception {
+        CompletableFuture<HttpResponse<Object>> slow = new CompletableFuture<>();
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))))
+                .thenAnswer(invocation -> slow);
+        sut.refresh();
+        when(clock.instant()).thenReturn(START.plusSeconds(61));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        assertThat(sut.getVendors()).containsExactly(vendor);
+        assertThat(sut.getVendors()).containsExactly(vendor);
+
+        assertThat(response.getHeader(StaleResponse.HEADER)).isEqualTo(StaleResponse.VALUE);
+        verify(client, timeout(2000).times(2)).sendAsync(any(), any());
+    }
+
+    @Test
+    void freshSnapshotIsNotMarkedStale() throws Exception {
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))));
+        sut.refresh();
+        when(clock.instant()).thenReturn(START.plusSeconds(59));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        assertThat(sut.getVendors()).containsExactly(vendor);
+
+        assertThat(response.getHeader(StaleResponse.HEADER)).isNull();
+        verify(client, times(1)).sendAsync(any(), any());
+    }
+
+    @Test
+    void blocksPastHardTtl() throws Exception {
+        when(client.sendAsync(any(), any())).thenAnswer(respond(200, "\"v1\"", json(List.of(vendor))))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new IOException("down")))
+                .thenAnswer(respond(200, "\"v2\"", json(List.of(vendor, other))));
+        sut.refresh();
+        when(clock.instant()).thenReturn(START.plusSeconds(600));
+
+        assertThatThrownBy(() -> sut.getVendors()).isInstanceOf(RuntimeException.class);
+        assertThat(sut.getVendors()).containsExactly(vendor, other);
+    }
+}
@@ -3,6 +3,9 @@ package nl.tudelft.sem.template.orders.mappers;
 import nl.tudelft.sem.template.orders.external.CustomerDTO;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -49,4 +52,20 @@ public class CustomerMapperTest {
 
         assertThatThrownBy(() -> customerMapper.toDTO(responseBody)).isInstanceOf(RuntimeException.class);
     }
+
+    @Test
+    public void testToDTOInputStream() {
+        String responseBody = """
+                {
+                "customerId":"c00b0bcf-189a-45c7-afff-28a130e661a0",
+                "name":"John Doe",
+                "allergens":["Nuts"]
+                }""";
+
+        InputStream body = new ByteArrayInputStream(responseBody.getBytes(StandardCharsets.UTF_8));
+        CustomerDTO customerDTO = customerMapper.toDTO(body);
+
+        assertThat(customerDTO).isEqualTo(customerMapper.toDTO(responseBody));
+        assertThat(customerDTO.getAllergens()).containsExactly("Nuts");
+    }
 }
@@ -7,8 +7,13 @@ import nl.tudelft.sem.template.orders.mappers.interfaces.IVendorMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -105,4 +110,47 @@ public class VendorMapperTest {
 
         assertThatThrownBy(() -> vendorMapper.toDTO(responseBody)).isInstanceOf(RuntimeException.class);
     }
+
+    @Test
+    public void testToDTOStreamParsesIncrementally() {
+        String responseBody = """
+                [
+                    {
+                        "vendorId": "550e8400-e29b-41d4-a716-446655440000",
+                        "name": "Vendor 1",
+                        "location": {}
+                    },
+                    {
+                        "Invalid": "Data"
+                    }
+                ]""";
+
+        try (Stream<VendorDTO> vendors = vendorMapper.toDTOStream(toStream(responseBody))) {
+            Iterator<VendorDTO> iterator = vendors.iterator();
+            assertThat(iterator.next().getName()).isEqualTo("Vendor 1");
+            assertThatThrownBy(iterator::next).isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Test
+    public void testToDTOInputStreamMatchesString() {
+        String responseBody = """
+                [
+                    {
+                        "vendorId": "550e8400-e29b-41d4-a716-446655440000",
+                        "name": "Vendor 1",
+                        "isBlocked": false,
+                        "email": "vendor1@example.com",
+                        "approved": true,
+                        "location": {},
+                        "unknown": 1
+                    }
+                ]""";
+
+        assertThat(vendorMapper.toDTO(toStream(responseBody))).isEqualTo(vendorMapper.toDTO(responseBody));
+    }
+
+    private static InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
 }
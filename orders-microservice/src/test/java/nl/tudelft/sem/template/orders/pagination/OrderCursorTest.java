@@ -0,0 +1,59 @@
+package nl.tudelft.sem.template.orders.pagination;
+
+import nl.tudelft.sem.template.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCursorTest {
+
+    @Test
+    void tokenRoundTrip() {
+        Order order = new Order();
+        order.setID(UUID.randomUUID());
+        order.setOrderTime(OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 678_000, ZoneOffset.ofHours(2)));
+
+        OrderCursor cursor = OrderCursor.fromToken(OrderCursor.of(order).toToken());
+
+        assertThat(cursor.getId()).isEqualTo(order.getID());
+        assertThat(cursor.getOrderTime().toInstant()).isEqualTo(order.getOrderTime().toInstant());
+    }
+
+    @Test
+    void tokenRoundTripWithoutTime() {
+        Order order = new Order();
+        order.setID(UUID.randomUUID());
+
+        OrderCursor cursor = OrderCursor.fromToken(OrderCursor.of(order).toToken());
+
+        assertThat(cursor.getId()).isEqualTo(order.getID());
+        assertThat(cursor.getOrderTime()).isNull();
+    }
+
+    @Test
+    void noTokenIsFirstPage() {
+        assertThat(OrderCursor.fromToken(null)).isNull();
+    }
+
+    @Test
+    void invalidTokens() {
+        assertThatThrownBy(() -> OrderCursor.fromToken("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderCursor.fromToken("bm8gc2VwYXJhdG9y")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderCursor.fromToken("eWVzdGVyZGF5L25vdC1hLXV1aWQ"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageSizeLimits() {
+        assertThat(OrderPage.checkLimit(null)).isEqualTo(OrderPage.DEFAULT_LIMIT);
+        assertThat(OrderPage.checkLimit(OrderPage.MAX_LIMIT)).isEqualTo(OrderPage.MAX_LIMIT);
+        assertThatThrownBy(() -> OrderPage.checkLimit(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderPage.checkLimit(OrderPage.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
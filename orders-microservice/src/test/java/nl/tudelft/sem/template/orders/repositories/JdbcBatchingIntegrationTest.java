@@ -0,0 +1,157 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.OrderedDish;
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.orders.services.DishService;
+import nl.tudelft.sem.template.orders.services.OrderService;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that multi-row writes are sent as JDBC batches: every write is run once with batching turned off
+ * for the session, and once with the configured batch size, and the number of prepared statements is compared.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class JdbcBatchingIntegrationTest {
+    private static final int ROWS = 20;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private DishService dishService;
+    @Autowired
+    private DishRepository dishRepo;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID vendorId = UUID.randomUUID();
+    private final List<Dish> menu = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < ROWS; i++) {
+            menu.add(dishRepo.save(dish("Dish " + i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Dish dish(String name) {
+        List<String> allergens = new ArrayList<>();
+        List<String> ingredients = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            allergens.add("allergen " + i);
+            ingredients.add("ingredient " + i);
+        }
+
+        Dish dish = new Dish();
+        dish.setName(name);
+        dish.setVendorId(vendorId);
+        dish.setPrice(10.0);
+        dish.setAllergens(allergens);
+        dish.setIngredients(ingredients);
+        return dish;
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setVendorId(vendorId);
+        order.setCustomerId(UUID.randomUUID());
+        order.setStatus(Status.PENDING);
+        for (Dish dish : menu) {
+            OrderedDish orderedDish = new OrderedDish();
+            orderedDish.setDish(entityManager.getReference(Dish.class, dish.getID()));
+            orderedDish.setQuantity(1);
+            order.addDishesItem(orderedDish);
+        }
+        return order;
+    }
+
+    private UUID addDish() {
+        UUID dishId = dishService.addDish(vendorId, dish("Added")).getID();
+        entityManager.flush();
+        entityManager.clear();
+        return dishId;
+    }
+
+    /**
+     * Runs a write and flushes it
+     *
+     * @param batchSize JDBC batch size of the session, or null for the configured one
+     * @return the number of statements that were prepared
+     */
+    private long statements(Integer batchSize, Supplier<?> write) {
+        Session session = entityManager.unwrap(Session.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            statistics.clear();
+            write.get();
+            entityManager.flush();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            session.setJdbcBatchSize(null);
+            entityManager.clear();
+        }
+    }
+
+    @Test
+    void savingOrderBatchesOrderedDishes() {
+        long unbatched = statements(1, () -> orderService.save(order()));
+        long batched = statements(null, () -> orderService.save(order()));
+
+        //The order, its ordered dishes and the rows linking them
+        assertThat(unbatched).isGreaterThanOrEqualTo(1 + 2 * ROWS);
+        assertThat(batched).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void addingDishBatchesAllergensAndIngredients() {
+        long unbatched = statements(1, () -> dishService.addDish(vendorId, dish("Unbatched")));
+        long batched = statements(null, () -> dishService.addDish(vendorId, dish("Batched")));
+
+        assertThat(batched).isLessThanOrEqualTo(unbatched - 2 * (ROWS - 1));
+    }
+
+    @Test
+    void removingDishBatchesRebuiltCollections() {
+        UUID unbatchedDish = addDish();
+        UUID batchedDish = addDish();
+
+        long unbatched = statements(1, () -> dishService.removeDish(vendorId, unbatchedDish));
+        long batched = statements(null, () -> dishService.removeDish(vendorId, batchedDish));
+
+        assertThat(batched).isLessThanOrEqualTo(unbatched - 2 * (ROWS - 1));
+    }
+
+    @Test
+    void updatingDishBatchesRebuiltCollections() {
+        UUID unbatchedDish = addDish();
+        UUID batchedDish = addDish();
+
+        long unbatched = statements(1, () -> dishService.updateDish(unbatchedDish, dish("Updated")));
+        long batched = statements(null, () -> dishService.updateDish(batchedDish, dish("Updated")));
+
+        assertThat(batched).isLessThanOrEqualTo(unbatched - 2 * (ROWS - 1));
+    }
+}
@@ -0,0 +1,149 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import nl.tudelft.sem.template.model.Address;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.OrderedDish;
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.orders.external.PaymentMock;
+import nl.tudelft.sem.template.orders.external.PaymentSuccessDecider;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
+import nl.tudelft.sem.template.orders.services.OrderService;
+import nl.tudelft.sem.template.orders.services.VendorService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the order list endpoints against N+1 loading: listing orders with all their dishes, allergens and
+ * ingredients must take the same few queries however many orders there are.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class OrderFetchPlanIntegrationTest {
+    private static final int ORDERS = 30;
+    private static final int DISHES = 10;
+    /**
+     * Ids of the page, orders with their ordered dishes and dishes, then the allergens and the ingredients
+     */
+    private static final int MAX_QUERIES = 4;
+
+    @Autowired
+    private OrderRepository orderRepo;
+    @Autowired
+    private DishRepository dishRepo;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private VendorService vendorService;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PaymentMock paymentMock;
+
+    private final UUID vendorId = UUID.randomUUID();
+    private final UUID customerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        PaymentSuccessDecider alwaysSucceeds = mock(PaymentSuccessDecider.class);
+        when(alwaysSucceeds.doesPaymentSucceed(any())).thenReturn(true);
+        paymentMock.setPaymentSuccessDecider(alwaysSucceeds);
+        orderRepo.deleteAll();
+
+        List<Dish> dishes = new ArrayList<>();
+        for (int i = 0; i < DISHES; i++) {
+            Dish dish = new Dish();
+            dish.setName("Dish " + i);
+            dish.setVendorId(vendorId);
+            dish.setPrice(10.0);
+            dish.setIsDeleted(false);
+            dish.setAllergens(List.of("nuts", "gluten"));
+            dish.setIngredients(List.of("rice", "chicken"));
+            dishes.add(dishRepo.save(dish));
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            for (int j = 0; j < 2; j++) {
+                OrderedDish orderedDish = new OrderedDish();
+                orderedDish.setDish(dishes.get((i + j) % DISHES));
+                orderedDish.setQuantity(1);
+                order.addDishesItem(orderedDish);
+            }
+            Address address = new Address();
+            address.setHouseNumber(i);
+            address.setZipCode("1234AB");
+            order.setLocation(address);
+            order.setVendorId(vendorId);
+            order.setCustomerId(customerId);
+            order.setStatus(Status.PENDING);
+            order.setTotalPrice(20.0);
+            order.setOrderTime(OffsetDateTime.now().minusMinutes(i));
+            paymentMock.pay(orderRepo.save(order).getID(), null);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Lists a page of the orders and reads everything serializing them reads
+     *
+     * @return the number of queries it took
+     */
+    private long countQueries(Supplier<OrderPage> listOrders) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Order> orders = listOrders.get().getOrders();
+        assertThat(orders).hasSize(ORDERS).doesNotHaveDuplicates();
+        for (Order order : orders) {
+            assertThat(order.getDishes()).hasSize(2);
+            for (OrderedDish orderedDish : order.getDishes()) {
+                assertThat(orderedDish.getDish().getAllergens()).hasSize(2);
+                assertThat(orderedDish.getDish().getIngredients()).hasSize(2);
+            }
+        }
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void getVendorOrders() {
+        assertThat(countQueries(() -> vendorService.getVendorOrders(vendorId, null, OrderPage.MAX_LIMIT)))
+                .isLessThanOrEqualTo(MAX_QUERIES);
+    }
+
+    @Test
+    void getPersonalOrderHistory() {
+        assertThat(countQueries(() -> orderService.findOrdersByCustomerId(customerId, null, OrderPage.MAX_LIMIT)))
+                .isLessThanOrEqualTo(MAX_QUERIES);
+    }
+
+    @Test
+    void adminGetAllOrders() {
+        assertThat(countQueries(() -> orderService.findPage(null, OrderPage.MAX_LIMIT)))
+                .isLessThanOrEqualTo(MAX_QUERIES);
+    }
+}
@@ -0,0 +1,139 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.orders.pagination.OrderCursor;
+import nl.tudelft.sem.template.orders.pagination.OrderPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks the order lists page by page, and checks that every order is returned exactly once, newest first,
+ * also when orders were placed at the same time or have no order time.
+ */
+@SpringBootTest
+@Transactional
+public class OrderPaginationIntegrationTest {
+    private static final int ORDERS = 25;
+    private static final int ORDERS_WITHOUT_TIME = 12;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private OrderRepository orderRepo;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID vendorId = UUID.randomUUID();
+    private final UUID customerId = UUID.randomUUID();
+    private final List<UUID> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        orderRepo.deleteAll();
+        OffsetDateTime now = OffsetDateTime.now();
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setVendorId(vendorId);
+            order.setCustomerId(customerId);
+            order.setStatus(Status.PENDING);
+            //Groups of three orders are placed at the same time
+            order.setOrderTime(now.minusMinutes(i / 3));
+            orderIds.add(orderRepo.save(order).getID());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<UUID> walk(BiFunction<OrderCursor, Integer, OrderPage> findPage) {
+        List<UUID> seen = new ArrayList<>();
+        OrderCursor after = null;
+        int pages = 0;
+        do {
+            OrderPage page = findPage.apply(after, PAGE_SIZE);
+            assertThat(page.getOrders()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            page.getOrders().forEach(order -> seen.add(order.getID()));
+            after = page.getNext() == null ? null : OrderCursor.fromToken(page.getNext().toToken());
+            pages++;
+        } while (after != null);
+
+        assertThat(pages).isEqualTo((orderIds.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        return seen;
+    }
+
+    private void assertEachOrderOnce(List<UUID> seen) {
+        assertThat(seen).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(orderIds);
+    }
+
+    @Test
+    void allOrders() {
+        assertEachOrderOnce(walk(orderRepo::findPage));
+    }
+
+    @Test
+    void vendorOrders() {
+        assertEachOrderOnce(walk((after, limit) -> orderRepo.findPageByVendorId(vendorId, after, limit)));
+    }
+
+    @Test
+    void customerOrders() {
+        assertEachOrderOnce(walk((after, limit) -> orderRepo.findPageByCustomerId(customerId, after, limit)));
+    }
+
+    @Test
+    void pagesAreNewestFirst() {
+        List<UUID> seen = walk(orderRepo::findPage);
+        List<OffsetDateTime> times = orderRepo.findAllById(seen).stream()
+                .sorted(Comparator.comparing(o -> seen.indexOf(o.getID())))
+                .map(Order::getOrderTime)
+                .collect(Collectors.toList());
+        assertThat(times).isSortedAccordingTo(Comparator.comparing(OffsetDateTime::toInstant).reversed());
+    }
+
+    @Test
+    void ordersWithoutTimeComeLast() {
+        List<UUID> withoutTime = new ArrayList<>();
+        for (int i = 0; i < ORDERS_WITHOUT_TIME; i++) {
+            Order order = new Order();
+            order.setVendorId(vendorId);
+            order.setCustomerId(customerId);
+            order.setStatus(Status.PENDING);
+            withoutTime.add(orderRepo.save(order).getID());
+        }
+        orderIds.addAll(withoutTime);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BiFunction<OrderCursor, Integer, OrderPage>> lists = List.of(orderRepo::findPage,
+                (after, limit) -> orderRepo.findPageByVendorId(vendorId, after, limit),
+                (after, limit) -> orderRepo.findPageByCustomerId(customerId, after, limit));
+        for (BiFunction<OrderCursor, Integer, OrderPage> findPage : lists) {
+            List<UUID> seen = walk(findPage);
+            assertEachOrderOnce(seen);
+            assertThat(seen.subList(ORDERS, seen.size())).containsExactlyInAnyOrderElementsOf(withoutTime);
+        }
+    }
+
+    @Test
+    void lastPageHasNoToken() {
+        OrderPage page = orderRepo.findPageByCustomerId(customerId, null, ORDERS);
+
+        assertThat(page.getOrders()).hasSize(ORDERS);
+        assertThat(page.getNext()).isNull();
+        assertThat(page.toResponse().getHeaders().containsKey(OrderPage.NEXT_PAGE_TOKEN_HEADER)).isFalse();
+    }
+}
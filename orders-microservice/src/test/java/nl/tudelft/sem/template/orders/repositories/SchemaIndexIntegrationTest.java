@@ -0,0 +1,62 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the schema has the secondary indexes of the order history and menu lookups,
+ * and that the repository queries use them instead of scanning the tables.
+ */
+@SpringBootTest
+public class SchemaIndexIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<String> indexColumns(String index) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE INDEX_NAME = ? ORDER BY ORDINAL_POSITION", String.class, index.toUpperCase());
+    }
+
+    private String plan(String query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+    }
+
+    @Test
+    void vendorStatusTimeIndex() {
+        assertThat(indexColumns("idx_customer_order_vendor_status_time"))
+                .containsExactly("VENDOR_ID", "STATUS", "ORDER_TIME");
+        assertThat(plan("SELECT * FROM customer_order WHERE vendor_id = RANDOM_UUID()"))
+                .containsIgnoringCase("idx_customer_order_vendor_status_time");
+    }
+
+    @Test
+    void customerTimeIndex() {
+        assertThat(indexColumns("idx_customer_order_customer_time"))
+                .containsExactly("CUSTOMER_ID", "ORDER_TIME");
+        assertThat(plan("SELECT * FROM customer_order WHERE customer_id = RANDOM_UUID()"))
+                .containsIgnoringCase("idx_customer_order_customer_time");
+    }
+
+    @Test
+    void dishVendorDeletedIndex() {
+        assertThat(indexColumns("idx_dish_vendor_deleted"))
+                .containsExactly("VENDOR_ID", "IS_DELETED");
+        assertThat(plan("SELECT * FROM dish WHERE vendor_id = RANDOM_UUID() AND is_deleted = FALSE"))
+                .containsIgnoringCase("idx_dish_vendor_deleted");
+    }
+
+    @Test
+    void dishDeletedAtIndex() {
+        assertThat(indexColumns("idx_dish_deleted_at"))
+                .containsExactly("IS_DELETED", "DELETED_AT");
+        assertThat(plan("SELECT * FROM dish WHERE is_deleted = TRUE AND deleted_at < CURRENT_TIMESTAMP()"))
+                .containsIgnoringCase("idx_dish_deleted_at");
+    }
+}
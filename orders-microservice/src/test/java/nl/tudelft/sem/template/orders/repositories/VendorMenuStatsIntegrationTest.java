@@ -0,0 +1,215 @@
+package nl.tudelft.sem.template.orders.repositories;
+
+import nl.tudelft.sem.template.model.Address;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.VendorMenuStats;
+import nl.tudelft.sem.template.orders.external.VendorDTO;
+import nl.tudelft.sem.template.orders.services.DishService;
+import nl.tudelft.sem.template.orders.services.VendorService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Changes menus through the DishService, and checks that the menu statistics of the vendors still match
+ * their dishes, and that searching vendors reads only the statistics.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class VendorMenuStatsIntegrationTest {
+    private static final int VENDORS = 10;
+
+    @Autowired
+    private DishService dishService;
+    @Autowired
+    private VendorService vendorService;
+    @Autowired
+    private DishRepository dishRepo;
+    @Autowired
+    private VendorMenuStatsRepository menuStatsRepo;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<VendorDTO> vendors = new ArrayList<>();
+    private final List<UUID> cheapestDishIds = new ArrayList<>();
+    private final Address location = new Address();
+
+    private Dish addDish(UUID vendorId, double price, List<String> allergens) {
+        Dish dish = new Dish();
+        dish.setName("Dish");
+        dish.setPrice(price);
+        dish.setAllergens(allergens);
+        dish.setIngredients(List.of("rice"));
+        return dishService.addDish(vendorId, dish);
+    }
+
+    private VendorMenuStats stats(int vendor) {
+        entityManager.flush();
+        entityManager.clear();
+        return menuStatsRepo.findById(vendors.get(vendor).getVendorId()).orElseThrow();
+    }
+
+    @BeforeEach
+    void setup() {
+        location.setLatitude(52.0);
+        location.setLongitude(4.0);
+
+        //Vendor i has dishes priced i, i + 2 and i + 4, and a removed dish priced 1000
+        for (int i = 0; i < VENDORS; i++) {
+            UUID vendorId = UUID.randomUUID();
+            cheapestDishIds.add(addDish(vendorId, i, List.of("nuts", "gluten")).getID());
+            addDish(vendorId, i + 2, List.of("nuts"));
+            addDish(vendorId, i + 4, List.of());
+            dishService.removeDish(vendorId, addDish(vendorId, 1000, List.of("fish")).getID());
+            vendors.add(new VendorDTO(vendorId, "Vendor " + i, false, "vendor@example.com", true, location));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void statsMatchDishes() {
+        VendorMenuStats stats = stats(3);
+
+        assertThat(stats.getDishCount()).isEqualTo(3);
+        assertThat(stats.getPriceSum()).isEqualTo(3 + 5 + 7);
+        assertThat(stats.getAveragePrice()).isEqualTo(5.0);
+        assertThat(stats.getMinPrice()).isEqualTo(3.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(7.0);
+        assertThat(stats.getAllergenCounts()).isEqualTo(Map.of("nuts", 2L, "gluten", 1L));
+    }
+
+    @Test
+    void statsMatchAggregateOfDishTable() {
+        for (VendorDTO vendor : vendors) {
+            List<Dish> dishes = dishRepo.getActiveDishesByVendorId(vendor.getVendorId());
+            if (dishes.isEmpty()) {
+                continue;
+            }
+            VendorMenuStats stats = menuStatsRepo.findById(vendor.getVendorId()).orElseThrow();
+            assertThat(stats.getDishCount()).isEqualTo((long) dishes.size());
+            assertThat(stats.getAveragePrice())
+                    .isEqualTo(dishes.stream().mapToDouble(Dish::getPrice).average().orElseThrow());
+        }
+    }
+
+    @Test
+    void updatingCheapestDishQueriesNewMinimum() {
+        Dish repriced = new Dish();
+        repriced.setName("Dish");
+        repriced.setPrice(100.0);
+        repriced.setAllergens(List.of("fish"));
+        dishService.updateDish(cheapestDishIds.get(3), repriced);
+
+        VendorMenuStats stats = stats(3);
+        assertThat(stats.getDishCount()).isEqualTo(3);
+        assertThat(stats.getAveragePrice()).isEqualTo((5 + 7 + 100) / 3.0);
+        assertThat(stats.getMinPrice()).isEqualTo(5.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(100.0);
+        assertThat(stats.getAllergenCounts()).isEqualTo(Map.of("nuts", 1L, "fish", 1L));
+    }
+
+    @Test
+    void removingAllDishesEmptiesStats() {
+        UUID vendorId = vendors.get(0).getVendorId();
+        for (Dish dish : dishService.findAllByVendorIdNotDeleted(vendorId)) {
+            dishService.removeDish(vendorId, dish.getID());
+        }
+
+        VendorMenuStats stats = stats(0);
+        assertThat(stats.getDishCount()).isZero();
+        assertThat(stats.getAveragePrice()).isZero();
+        assertThat(stats.getMinPrice()).isNull();
+        assertThat(stats.getMaxPrice()).isNull();
+        assertThat(stats.getAllergenCounts()).isEmpty();
+    }
+
+    @Test
+    void filterVendorsReadsOnlyStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<VendorDTO> filtered = vendorService.filterVendors(vendors, null, 5, 8, location);
+
+        //Average prices 5 to 8 belong to vendors 3 to 6
+        assertThat(filtered).containsExactlyElementsOf(vendors.subList(3, 7));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentFirstDishesOfVendorAreAllCounted() throws Exception {
+        UUID vendorId = UUID.randomUUID();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Dish>> added = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                added.add(executor.submit(() -> {
+                    start.await();
+                    return addDish(vendorId, 10.0, List.of("nuts"));
+                }));
+            }
+            start.countDown();
+            for (Future<Dish> dish : added) {
+                dish.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        VendorMenuStats stats = menuStatsRepo.findById(vendorId).orElseThrow();
+        assertThat(stats.getDishCount()).isEqualTo(threads);
+        assertThat(stats.getAllergenCounts()).isEqualTo(Map.of("nuts", (long) threads));
+    }
+
+    @Test
+    void concurrentFirstDishesOfMoreVendorsThanConnectionsDoNotWaitForConnections() throws Exception {
+        // Twice the connection pool of application-dev.properties, each vendor creates its statistics
+        int threads = 20;
+        List<UUID> vendorIds = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Dish>> added = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                UUID vendorId = UUID.randomUUID();
+                vendorIds.add(vendorId);
+                added.add(executor.submit(() -> {
+                    start.await();
+                    return addDish(vendorId, 10.0, List.of());
+                }));
+            }
+            start.countDown();
+            // Well within the connection timeout, which a transaction waiting for a second connection would reach
+            for (Future<Dish> dish : added) {
+                dish.get(20, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(menuStatsRepo.findAllById(vendorIds)).hasSize(threads)
+                .allSatisfy(stats -> assertThat(stats.getDishCount()).isEqualTo(1));
+    }
+}
@@ -0,0 +1,139 @@
+package nl.tudelft.sem.template.orders.services;
+
+import nl.tudelft.sem.template.model.ArchivedDish;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.OrderedDish;
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.orders.repositories.ArchivedDishRepository;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import nl.tudelft.sem.template.orders.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that deleted dishes are filtered out by the database, and that only dishes deleted longer ago than
+ * the retention period, that no order refers to, are archived.
+ */
+@SpringBootTest
+@Transactional
+public class DishArchiveServiceIntegrationTest {
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2024, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final Duration RETENTION = Duration.ofDays(90);
+
+    @Autowired
+    private DishService dishService;
+    @Autowired
+    private DishRepository dishRepo;
+    @Autowired
+    private ArchivedDishRepository archivedDishRepo;
+    @Autowired
+    private OrderRepository orderRepo;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID vendorId = UUID.randomUUID();
+    private Dish active;
+    private Dish recentlyDeleted;
+    private Dish longDeleted;
+    private Dish longDeletedInOrder;
+
+    private Dish saveDish(String name, OffsetDateTime deletedAt) {
+        Dish dish = new Dish();
+        dish.setName(name);
+        dish.setVendorId(vendorId);
+        dish.setPrice(10.0);
+        dish.setAllergens(List.of("nuts"));
+        dish.setIngredients(List.of("rice"));
+        dish.setIsDeleted(deletedAt != null);
+        dish.setDeletedAt(deletedAt);
+        return dishRepo.save(dish);
+    }
+
+    @BeforeEach
+    void setup() {
+        active = saveDish("Active", null);
+        recentlyDeleted = saveDish("Recently deleted", NOW.minusDays(10));
+        longDeleted = saveDish("Long deleted", NOW.minusDays(100));
+        longDeletedInOrder = saveDish("Long deleted, ordered", NOW.minusDays(200));
+
+        OrderedDish orderedDish = new OrderedDish();
+        orderedDish.setDish(longDeletedInOrder);
+        orderedDish.setQuantity(1);
+        Order order = new Order();
+        order.setVendorId(vendorId);
+        order.setCustomerId(UUID.randomUUID());
+        order.setStatus(Status.DELIVERED);
+        order.addDishesItem(orderedDish);
+        orderRepo.save(order);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private DishArchiveService archiveService(int batchSize) {
+        return new DishArchiveService(dishRepo, archivedDishRepo, transactionManager,
+                Clock.fixed(NOW.toInstant(), ZoneOffset.UTC), RETENTION, batchSize);
+    }
+
+    @Test
+    void deletedDishesAreFilteredByQuery() {
+        assertThat(dishService.findAllByVendorIdNotDeleted(vendorId)).extracting(Dish::getID)
+                .containsExactly(active.getID());
+        assertThat(dishService.findByIdNotDeleted(active.getID())).isNotNull();
+        assertThat(dishService.findByIdNotDeleted(longDeleted.getID())).isNull();
+    }
+
+    @Test
+    void removeDishRecordsDeletionTime() {
+        dishService.removeDish(vendorId, active.getID());
+
+        assertThat(dishRepo.findById(active.getID()).orElseThrow().getDeletedAt()).isNotNull();
+    }
+
+    @Test
+    void archivesOnlyLongDeletedDishesWithoutOrders() {
+        int archived = archiveService(10).archive();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(dishRepo.findById(longDeleted.getID())).isEmpty();
+        assertThat(dishRepo.findAllById(List.of(active.getID(), recentlyDeleted.getID(),
+                longDeletedInOrder.getID()))).hasSize(3);
+
+        ArchivedDish archivedDish = archivedDishRepo.findById(longDeleted.getID()).orElseThrow();
+        assertThat(archivedDish.getName()).isEqualTo("Long deleted");
+        assertThat(archivedDish.getVendorId()).isEqualTo(vendorId);
+        assertThat(archivedDish.getAllergens()).containsExactly("nuts");
+        assertThat(archivedDish.getIngredients()).containsExactly("rice");
+        assertThat(archivedDish.getArchivedAt().toInstant()).isEqualTo(NOW.toInstant());
+    }
+
+    @Test
+    void archivesInBatches() {
+        for (int i = 0; i < 4; i++) {
+            saveDish("Old " + i, NOW.minusDays(365));
+        }
+        entityManager.flush();
+
+        assertThat(archiveService(2).archive()).isEqualTo(5);
+        assertThat(archiveService(2).archive()).isZero();
+    }
+}
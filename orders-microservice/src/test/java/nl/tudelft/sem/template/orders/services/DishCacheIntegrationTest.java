@@ -0,0 +1,200 @@
+package nl.tudelft.sem.template.orders.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.orders.config.CacheConfig;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that dishes and vendor menus are read from the second-level cache, and that updating or removing
+ * a dish is visible to the next read. Every step runs in its own transaction, like requests do.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class DishCacheIntegrationTest {
+    @Autowired
+    private DishService dishService;
+    @Autowired
+    private DishRepository dishRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final UUID vendorId = UUID.randomUUID();
+    private final UUID newVendorId = UUID.randomUUID();
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanup() {
+        dishRepo.deleteAll(dishRepo.getDishesByVendorId(vendorId));
+        dishRepo.deleteAll(dishRepo.getDishesByVendorId(newVendorId));
+    }
+
+    private Dish addDish(String name, double price) {
+        Dish dish = new Dish();
+        dish.setName(name);
+        dish.setPrice(price);
+        dish.setAllergens(List.of("nuts"));
+        dish.setIngredients(List.of("rice"));
+        return dishService.addDish(vendorId, dish);
+    }
+
+    private <T> T inTransaction(Supplier<T> read) {
+        return transactionTemplate.execute(status -> read.get());
+    }
+
+    private Dish readDish(UUID dishId) {
+        return inTransaction(() -> {
+            Dish dish = dishService.findByIdNotDeleted(dishId);
+            if (dish != null) {
+                dish.getAllergens().size();
+                dish.getIngredients().size();
+            }
+            return dish;
+        });
+    }
+
+    private List<String> readMenu() {
+        return inTransaction(() -> dishService.findAllByVendorIdNotDeleted(vendorId).stream()
+                .map(Dish::getName)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void dishIsReadFromCache() {
+        Dish dish = addDish("Pasta", 10.0);
+        readDish(dish.getID());
+
+        statistics.clear();
+        Dish cached = readDish(dish.getID());
+
+        assertThat(cached.getName()).isEqualTo("Pasta");
+        assertThat(cached.getAllergens()).containsExactly("nuts");
+        assertThat(cached.getIngredients()).containsExactly("rice");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void firstDishOfNewVendorKeepsCachedDishesOfOtherVendors() {
+        Dish dish = addDish("Pasta", 10.0);
+        readDish(dish.getID());
+
+        Dish first = new Dish();
+        first.setName("Soup");
+        first.setPrice(5.0);
+        dishService.addDish(newVendorId, first);
+
+        statistics.clear();
+        Dish cached = readDish(dish.getID());
+
+        assertThat(cached.getName()).isEqualTo("Pasta");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void updatedDishIsReadAfterUpdate() {
+        Dish dish = addDish("Pasta", 10.0);
+        readDish(dish.getID());
+
+        Dish update = new Dish();
+        update.setName("Pizza");
+        update.setPrice(12.0);
+        update.setAllergens(List.of("gluten"));
+        update.setIngredients(List.of("dough", "cheese"));
+        dishService.updateDish(dish.getID(), update);
+
+        Dish updated = readDish(dish.getID());
+        assertThat(updated.getName()).isEqualTo("Pizza");
+        assertThat(updated.getPrice()).isEqualTo(12.0);
+        assertThat(updated.getAllergens()).containsExactly("gluten");
+        assertThat(updated.getIngredients()).containsExactly("dough", "cheese");
+    }
+
+    @Test
+    void removedDishIsNotReadAfterRemoval() {
+        Dish dish = addDish("Pasta", 10.0);
+        readDish(dish.getID());
+
+        assertThat(dishService.removeDish(vendorId, dish.getID())).isTrue();
+
+        assertThat(readDish(dish.getID())).isNull();
+        assertThat(dishService.findById(dish.getID()).getIsDeleted()).isTrue();
+        assertThat(dishService.updateDish(dish.getID(), new Dish())).isNull();
+    }
+
+    @Test
+    void menuIsReadFromQueryCache() {
+        addDish("Pasta", 10.0);
+        addDish("Soup", 5.0);
+        readMenu();
+
+        statistics.clear();
+        List<String> menu = readMenu();
+
+        assertThat(menu).containsExactly("Pasta", "Soup");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void menuIsInvalidatedByDishChanges() {
+        Dish pasta = addDish("Pasta", 10.0);
+        assertThat(readMenu()).containsExactly("Pasta");
+
+        Dish soup = addDish("Soup", 5.0);
+        assertThat(readMenu()).containsExactly("Pasta", "Soup");
+
+        Dish update = new Dish();
+        update.setName("Salad");
+        update.setPrice(7.0);
+        dishService.updateDish(soup.getID(), update);
+        assertThat(readMenu()).containsExactly("Pasta", "Salad");
+
+        dishService.removeDish(vendorId, pasta.getID());
+        assertThat(readMenu()).containsExactly("Salad");
+    }
+
+    @Test
+    void hitRatioIsPublished() {
+        Dish dish = addDish("Pasta", 10.0);
+        readDish(dish.getID());
+        readDish(dish.getID());
+
+        double hits = meterRegistry.get("cache.gets").tag("cache", CacheConfig.DISH_REGION)
+                .tag("result", "hit").functionCounter().count();
+        double hitRatio = meterRegistry.get("cache.hit.ratio").tag("cache", CacheConfig.DISH_REGION)
+                .gauge().value();
+
+        assertThat(hits).isPositive();
+        assertThat(hitRatio).isGreaterThan(0.0).isLessThanOrEqualTo(1.0);
+    }
+}
@@ -5,10 +5,13 @@ import nl.tudelft.sem.template.model.Order;
 import nl.tudelft.sem.template.orders.repositories.DishRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.UUID;
 import java.util.Optional;
@@ -17,23 +20,31 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 public class DishServiceTest {
 
     @Mock
     private DishRepository dishRepository;
 
+    @Mock
+    private MenuStatsService menuStatsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private DishService dishService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
-        dishService = new DishService(dishRepository);
+        dishService = new DishService(dishRepository, menuStatsService, transactionManager);
     }
 
     @Test
@@ -41,7 +52,7 @@ public class DishServiceTest {
         UUID dishId = UUID.randomUUID();
         Dish dish = new Dish();
         dish.setID(dishId);
-        when(dishRepository.findById(dishId)).thenReturn(Optional.of(dish));
+        when(dishRepository.findActiveById(dishId)).thenReturn(Optional.of(dish));
 
         Dish result = dishService.findByIdNotDeleted(dishId);
 
@@ -53,7 +64,7 @@ public class DishServiceTest {
     public void testFindByIdInvalid() {
         UUID nonExistentDishId = UUID.randomUUID();
 
-        when(dishRepository.findById(nonExistentDishId)).thenReturn(Optional.empty()); // Unsuccessful query
+        when(dishRepository.findActiveById(nonExistentDishId)).thenReturn(Optional.empty()); // Unsuccessful query
         Dish dish = dishService.findByIdNotDeleted(nonExistentDishId);
 
         assertThat(dish).isNull();
@@ -64,7 +75,7 @@ public class DishServiceTest {
         UUID vendorId = UUID.randomUUID();
         Dish dish = new Dish();
         dish.setID(UUID.randomUUID());
-        when(dishRepository.getDishesByVendorId(vendorId)).thenReturn(Collections.singletonList(dish));
+        when(dishRepository.getActiveDishesByVendorId(vendorId)).thenReturn(Collections.singletonList(dish));
 
         Iterable<Dish> result = dishService.findAllByVendorIdNotDeleted(vendorId);
 
@@ -78,7 +89,7 @@ public class DishServiceTest {
         UUID nonExistentVendorId = UUID.randomUUID();
         UUID existentVendorId = UUID.randomUUID();
         Dish dish = new Dish();
-        when(dishRepository.getDishesByVendorId(existentVendorId)).thenReturn(Collections.singletonList(dish));
+        when(dishRepository.getActiveDishesByVendorId(existentVendorId)).thenReturn(Collections.singletonList(dish));
 
         Iterable<Dish> result = dishService.findAllByVendorIdNotDeleted(nonExistentVendorId);
 
@@ -96,6 +107,7 @@ public class DishServiceTest {
 
         assertThat(savedDish).isEqualTo(dish);
         verify(dishRepository).save(dish);
+        verify(menuStatsService).dishAdded(dish);
     }
 
     @Test
@@ -128,6 +140,7 @@ public class DishServiceTest {
         assertThat(result).isFalse();
         verify(dishRepository).findById(dishId);
         verify(dishRepository, never()).delete(any(Dish.class));
+        verifyNoInteractions(menuStatsService);
     }
 
     @Test
@@ -146,6 +159,8 @@ public class DishServiceTest {
         verify(dishRepository).findById(dishId);
         verify(dishRepository).save(dish);
         assertThat(dish.getIsDeleted()).isTrue();
+        assertThat(dish.getDeletedAt()).isNotNull();
+        verify(menuStatsService).dishRemoved(dish);
     }
 
     @Test
@@ -153,13 +168,14 @@ public class DishServiceTest {
         UUID dishId = UUID.randomUUID();
         Dish updatedDish = new Dish();
 
-        when(dishRepository.findById(dishId)).thenReturn(Optional.empty());
+        when(dishRepository.findActiveById(dishId)).thenReturn(Optional.empty());
 
         Dish result = dishService.updateDish(dishId, updatedDish);
 
         assertThat(result).isNull();
-        verify(dishRepository).findById(dishId);
+        verify(dishRepository).findActiveById(dishId);
         verify(dishRepository, never()).save(any(Dish.class));
+        verifyNoInteractions(menuStatsService);
     }
 
     @Test
@@ -171,12 +187,13 @@ public class DishServiceTest {
 
         Dish updatedDish = new Dish();
 
-        when(dishRepository.findById(dishId)).thenReturn(Optional.of(existingDish));
+        // Deleted dishes are filtered out by the repository
+        when(dishRepository.findActiveById(dishId)).thenReturn(Optional.empty());
 
         Dish result = dishService.updateDish(dishId, updatedDish);
 
         assertThat(result).isNull();
-        verify(dishRepository).findById(dishId);
+        verify(dishRepository).findActiveById(dishId);
         verify(dishRepository, never()).save(any(Dish.class));
     }
 
@@ -186,18 +203,21 @@ public class DishServiceTest {
         Dish existingDish = new Dish();
         existingDish.setID(dishId);
         existingDish.setIsDeleted(false);
+        existingDish.setPrice(8.0);
+        existingDish.setAllergens(List.of("Nuts"));
 
         Dish updatedDish = new Dish();
         updatedDish.setName("Updated Name");
 
-        when(dishRepository.findById(dishId)).thenReturn(Optional.of(existingDish));
+        when(dishRepository.findActiveById(dishId)).thenReturn(Optional.of(existingDish));
         when(dishRepository.save(any(Dish.class))).thenReturn(updatedDish);
 
         Dish result = dishService.updateDish(dishId, updatedDish);
 
         assertThat(result).isEqualTo(updatedDish);
-        verify(dishRepository).findById(dishId);
+        verify(dishRepository).findActiveById(dishId);
         verify(dishRepository).save(any(Dish.class));
+        verify(menuStatsService).dishUpdated(8.0, List.of("Nuts"), updatedDish);
     }
     
     @Test
@@ -252,6 +272,34 @@ public class DishServiceTest {
         assertThat(result.getVendorId()).isEqualTo(vendorId);
     }
 
+    @Test
+    void addDishIsNeverDeleted() {
+        Dish dish = createDish(UUID.randomUUID());
+        dish.setIsDeleted(true);
+        dish.setDeletedAt(OffsetDateTime.now());
+        UUID vendorId = UUID.randomUUID();
+
+        when(dishRepository.save(any(Dish.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Dish result = dishService.addDish(vendorId, dish);
+        assertThat(result.getIsDeleted()).isFalse();
+        assertThat(result.getDeletedAt()).isNull();
+        verify(menuStatsService).dishAdded(result);
+    }
+
+    @Test
+    void addDishCreatesStatsBeforeOpeningTransaction() {
+        UUID vendorId = UUID.randomUUID();
+        when(dishRepository.save(any(Dish.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Dish result = dishService.addDish(vendorId, createDish(UUID.randomUUID()));
+
+        InOrder inOrder = inOrder(menuStatsService, transactionManager);
+        inOrder.verify(menuStatsService).ensureStats(vendorId);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(menuStatsService).dishAdded(result);
+    }
+
     @Test
     void checkAttributesUpdateDish() {
         UUID dishId = UUID.randomUUID();
@@ -263,7 +311,7 @@ public class DishServiceTest {
         updatedDish.setAllergens(Collections.singletonList("Gluten"));
         updatedDish.setIngredients(Collections.singletonList("Milk"));
 
-        when(dishRepository.findById(dishId)).thenReturn(Optional.of(createDish(dishId)));
+        when(dishRepository.findActiveById(dishId)).thenReturn(Optional.of(createDish(dishId)));
 
         when(dishRepository.save(any(Dish.class))).thenAnswer(invocation -> {
             return invocation.getArgument(0);
@@ -285,10 +333,13 @@ public class DishServiceTest {
         Dish dish = createDish(dishId);
         dish.setIsDeleted(true);
 
+        // Deleted dishes are filtered out by the repository
+        when(dishRepository.findActiveById(dishId)).thenReturn(Optional.empty());
         when(dishRepository.findById(dishId)).thenReturn(Optional.of(dish));
 
         Dish result = dishService.findByIdNotDeleted(dishId);
         assertThat(result).isNull();
+        verify(dishRepository, never()).findById(dishId);
     }
 
     @Test
@@ -303,10 +354,13 @@ public class DishServiceTest {
         dishes.add(anotherDish);
 
         when(dishRepository.getDishesByVendorId(any(UUID.class))).thenReturn(dishes);
+        // Deleted dishes are filtered out by the repository
+        when(dishRepository.getActiveDishesByVendorId(any(UUID.class))).thenReturn(List.of(anotherDish));
 
         List<Dish> result = dishService.findAllByVendorIdNotDeleted(UUID.randomUUID());
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(Collections.singletonList(createDish(anotherDishId)));
+        verify(dishRepository, never()).getDishesByVendorId(any(UUID.class));
     }
 
     @Test
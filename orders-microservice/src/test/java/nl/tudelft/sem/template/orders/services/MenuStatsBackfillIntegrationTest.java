@@ -0,0 +1,107 @@
+package nl.tudelft.sem.template.orders.services;
+
+import nl.tudelft.sem.template.model.Address;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.VendorMenuStats;
+import nl.tudelft.sem.template.orders.external.VendorDTO;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import nl.tudelft.sem.template.orders.repositories.VendorMenuStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds dishes without the DishService, like the dishes that existed before menu statistics did,
+ * and checks that they are counted by the backfill, or by the first change to the menu of their vendor.
+ * The seeded dishes are committed, as the statistics of new vendors are computed in a transaction of their own.
+ */
+@SpringBootTest
+public class MenuStatsBackfillIntegrationTest {
+    @Autowired
+    private MenuStatsService menuStatsService;
+    @Autowired
+    private DishService dishService;
+    @Autowired
+    private VendorService vendorService;
+    @Autowired
+    private DishRepository dishRepo;
+    @Autowired
+    private VendorMenuStatsRepository menuStatsRepo;
+
+    private final Address location = new Address();
+
+    @BeforeEach
+    void setup() {
+        location.setLatitude(52.0);
+        location.setLongitude(4.0);
+    }
+
+    private VendorDTO seedVendor(double... prices) {
+        UUID vendorId = UUID.randomUUID();
+        List<Dish> dishes = new ArrayList<>();
+        for (double price : prices) {
+            Dish dish = new Dish();
+            dish.setName("Seeded");
+            dish.setVendorId(vendorId);
+            dish.setPrice(price);
+            dish.setAllergens(List.of("nuts"));
+            dishes.add(dish);
+        }
+        dishRepo.saveAll(dishes);
+        return new VendorDTO(vendorId, "Seeded vendor", false, "vendor@example.com", true, location);
+    }
+
+    @Test
+    void backfillCreatesStatsOfExistingDishes() {
+        VendorDTO cheap = seedVendor(10.0, 20.0);
+        VendorDTO expensive = seedVendor(40.0);
+        List<VendorDTO> seeded = List.of(cheap, expensive);
+
+        menuStatsService.backfill();
+
+        assertThat(vendorService.filterVendors(seeded, null, 10, 20, location)).containsExactly(cheap);
+        assertThat(vendorService.filterVendors(seeded, null, 30, null, location)).containsExactly(expensive);
+        VendorMenuStats stats = menuStatsRepo.findById(cheap.getVendorId()).orElseThrow();
+        assertThat(stats.getDishCount()).isEqualTo(2);
+        assertThat(stats.getMinPrice()).isEqualTo(10.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(20.0);
+    }
+
+    @Test
+    void firstChangeCountsExistingDishes() {
+        VendorDTO vendor = seedVendor(10.0, 20.0);
+
+        Dish dish = new Dish();
+        dish.setName("Added");
+        dish.setPrice(30.0);
+        dish.setAllergens(List.of());
+        dishService.addDish(vendor.getVendorId(), dish);
+
+        VendorMenuStats stats = menuStatsRepo.findById(vendor.getVendorId()).orElseThrow();
+        assertThat(stats.getDishCount()).isEqualTo(3);
+        assertThat(stats.getAveragePrice()).isEqualTo(20.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(30.0);
+    }
+
+    @Test
+    void backfillSkipsVendorsWithStats() {
+        VendorDTO vendor = seedVendor(10.0);
+        menuStatsService.backfill();
+        Dish unseen = new Dish();
+        unseen.setVendorId(vendor.getVendorId());
+        unseen.setPrice(20.0);
+        dishRepo.save(unseen);
+
+        menuStatsService.backfill();
+
+        assertThat(menuStatsRepo.findById(vendor.getVendorId()).orElseThrow().getDishCount()).isEqualTo(1);
+    }
+}
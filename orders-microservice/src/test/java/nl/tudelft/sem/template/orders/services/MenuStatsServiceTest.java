@@ -0,0 +1,212 @@
+package nl.tudelft.sem.template.orders.services;
+
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.VendorMenuStats;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import nl.tudelft.sem.template.orders.repositories.VendorMenuStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MenuStatsServiceTest {
+    private VendorMenuStatsRepository menuStatsRepository;
+    private DishRepository dishRepository;
+    private MenuStatsService menuStatsService;
+    private UUID vendorId;
+    private VendorMenuStats stats;
+
+    @BeforeEach
+    void setup() {
+        menuStatsRepository = mock(VendorMenuStatsRepository.class);
+        dishRepository = mock(DishRepository.class);
+        menuStatsService = new MenuStatsService(menuStatsRepository, dishRepository,
+                mock(PlatformTransactionManager.class));
+        vendorId = UUID.randomUUID();
+
+        stats = new VendorMenuStats();
+        stats.setVendorId(vendorId);
+        when(menuStatsRepository.findForUpdate(vendorId)).thenReturn(Optional.of(stats));
+    }
+
+    private Dish dish(double price, String... allergens) {
+        Dish dish = new Dish();
+        dish.setVendorId(vendorId);
+        dish.setPrice(price);
+        dish.setAllergens(List.of(allergens));
+        return dish;
+    }
+
+    @Test
+    void dishAddedCreatesStats() {
+        when(menuStatsRepository.findForUpdate(vendorId)).thenReturn(Optional.empty(), Optional.of(stats));
+
+        menuStatsService.dishAdded(dish(10.0, "nuts", "nuts"));
+
+        verify(menuStatsRepository).insertEmpty(vendorId);
+        assertThat(stats.getDishCount()).isEqualTo(1);
+        assertThat(stats.getAveragePrice()).isEqualTo(10.0);
+        assertThat(stats.getAllergenCounts()).isEqualTo(Map.of("nuts", 1L));
+    }
+
+    @Test
+    void dishAddedCountsExistingDishesOfVendorWithoutStats() {
+        when(menuStatsRepository.findForUpdate(vendorId)).thenReturn(Optional.empty(), Optional.of(stats));
+        when(dishRepository.getActiveDishesByVendorId(vendorId)).thenReturn(List.of(dish(20.0, "fish")));
+
+        menuStatsService.dishAdded(dish(10.0, "nuts"));
+
+        assertThat(stats.getDishCount()).isEqualTo(2);
+        assertThat(stats.getAveragePrice()).isEqualTo(15.0);
+        assertThat(stats.getMinPrice()).isEqualTo(10.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(20.0);
+        assertThat(stats.getAllergenCounts()).isEqualTo(Map.of("nuts", 1L, "fish", 1L));
+    }
+
+    @Test
+    void backfillCreatesStatsOfVendorsWithoutStats() {
+        when(dishRepository.findVendorIdsWithoutMenuStats(any())).thenReturn(List.of(vendorId), List.of());
+        when(dishRepository.getActiveDishesByVendorId(vendorId)).thenReturn(List.of(dish(20.0), dish(30.0)));
+
+        menuStatsService.backfill();
+
+        verify(menuStatsRepository).insertEmpty(vendorId);
+        assertThat(stats.getDishCount()).isEqualTo(2);
+        assertThat(stats.getAveragePrice()).isEqualTo(25.0);
+    }
+
+    @Test
+    @Timeout(10)
+    void backfillTriesEveryVendorOnce() {
+        UUID otherVendorId = UUID.randomUUID();
+        when(dishRepository.findVendorIdsWithoutMenuStats(any())).thenReturn(List.of(vendorId),
+                List.of(vendorId, otherVendorId));
+        doThrow(new DataIntegrityViolationException("check constraint")).when(menuStatsRepository).insertEmpty(any());
+
+        menuStatsService.backfill();
+
+        verify(menuStatsRepository).insertEmpty(vendorId);
+        verify(menuStatsRepository).insertEmpty(otherVendorId);
+    }
+
+    @Test
+    void ensureStatsCreatesMissingStats() {
+        when(menuStatsRepository.existsById(vendorId)).thenReturn(false);
+
+        menuStatsService.ensureStats(vendorId);
+
+        verify(menuStatsRepository).insertEmpty(vendorId);
+    }
+
+    @Test
+    void ensureStatsKeepsExistingStats() {
+        when(menuStatsRepository.existsById(vendorId)).thenReturn(true);
+
+        menuStatsService.ensureStats(vendorId);
+
+        verify(menuStatsRepository, never()).insertEmpty(vendorId);
+    }
+
+    @Test
+    void dishAddedLocksStatsInsertedConcurrently() {
+        when(menuStatsRepository.findForUpdate(vendorId)).thenReturn(Optional.empty(), Optional.of(stats));
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(menuStatsRepository).insertEmpty(vendorId);
+
+        menuStatsService.dishAdded(dish(10.0));
+
+        assertThat(stats.getDishCount()).isEqualTo(1);
+        verify(dishRepository, never()).getActiveDishesByVendorId(vendorId);
+        verify(menuStatsRepository).save(stats);
+    }
+
+    @Test
+    void dishAddedUpdatesStats() {
+        menuStatsService.dishAdded(dish(10.0, "nuts"));
+        menuStatsService.dishAdded(dish(20.0, "nuts", "fish"));
+
+        assertThat(stats.getDishCount()).isEqualTo(2);
+        assertThat(stats.getPriceSum()).isEqualTo(30.0);
+        assertThat(stats.getAveragePrice()).isEqualTo(15.0);
+        assertThat(stats.getMinPrice()).isEqualTo(10.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(20.0);
+        assertThat(stats.getAllergenCounts()).isEqualTo(Map.of("nuts", 2L, "fish", 1L));
+        verifyNoInteractions(dishRepository);
+    }
+
+    @Test
+    void dishRemovedInTheMiddleDoesNotQuery() {
+        menuStatsService.dishAdded(dish(10.0));
+        menuStatsService.dishAdded(dish(20.0, "fish"));
+        menuStatsService.dishAdded(dish(30.0));
+
+        menuStatsService.dishRemoved(dish(20.0, "fish"));
+
+        assertThat(stats.getDishCount()).isEqualTo(2);
+        assertThat(stats.getAveragePrice()).isEqualTo(20.0);
+        assertThat(stats.getMinPrice()).isEqualTo(10.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(30.0);
+        assertThat(stats.getAllergenCounts()).isEmpty();
+        verifyNoInteractions(dishRepository);
+    }
+
+    @Test
+    void dishRemovedWithMinimumPriceQueriesNewMinimum() {
+        menuStatsService.dishAdded(dish(10.0));
+        menuStatsService.dishAdded(dish(20.0));
+        when(dishRepository.getMinPriceByVendorId(vendorId)).thenReturn(20.0);
+
+        menuStatsService.dishRemoved(dish(10.0));
+
+        assertThat(stats.getMinPrice()).isEqualTo(20.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(20.0);
+        verify(dishRepository, never()).getMaxPriceByVendorId(vendorId);
+    }
+
+    @Test
+    void lastDishRemovedEmptiesStats() {
+        menuStatsService.dishAdded(dish(10.0, "nuts"));
+
+        menuStatsService.dishRemoved(dish(10.0, "nuts"));
+
+        assertThat(stats.getDishCount()).isZero();
+        assertThat(stats.getPriceSum()).isZero();
+        assertThat(stats.getAveragePrice()).isZero();
+        assertThat(stats.getMinPrice()).isNull();
+        assertThat(stats.getMaxPrice()).isNull();
+        verifyNoInteractions(dishRepository);
+    }
+
+    @Test
+    void dishUpdatedReplacesPriceAndAllergens() {
+        menuStatsService.dishAdded(dish(10.0, "nuts"));
+        menuStatsService.dishAdded(dish(20.0));
+
+        menuStatsService.dishUpdated(20.0, List.of(), dish(40.0, "fish"));
+
+        assertThat(stats.getDishCount()).isEqualTo(2);
+        assertThat(stats.getAveragePrice()).isEqualTo(25.0);
+        assertThat(stats.getMaxPrice()).isEqualTo(40.0);
+        assertThat(stats.getAllergenCounts()).isEqualTo(Map.of("nuts", 1L, "fish", 1L));
+    }
+
+    @Test
+    void findByVendorIdsWithoutVendorsDoesNotQuery() {
+        assertThat(menuStatsService.findByVendorIds(List.of())).isEmpty();
+        verifyNoInteractions(menuStatsRepository);
+    }
+}
@@ -0,0 +1,134 @@
+package nl.tudelft.sem.template.orders.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.tudelft.sem.template.model.Dish;
+import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.OrderedDish;
+import nl.tudelft.sem.template.model.Status;
+import nl.tudelft.sem.template.orders.repositories.DishRepository;
+import nl.tudelft.sem.template.orders.repositories.OrderRepository;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports more orders than fit in one chunk, and checks that every order is written once, oldest first,
+ * with its dishes, and that no order is left in the persistence context.
+ */
+@SpringBootTest(properties = "orders.export.fetch-size=2")
+@Transactional
+public class OrderExportServiceIntegrationTest {
+    private static final int ORDERS = 7;
+
+    @Autowired
+    private OrderExportService exportService;
+    @Autowired
+    private OrderRepository orderRepo;
+    @Autowired
+    private DishRepository dishRepo;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<UUID> orderIds = new ArrayList<>();
+    private OffsetDateTime start;
+
+    @BeforeEach
+    void setup() {
+        orderRepo.deleteAll();
+        start = OffsetDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        Dish dish = new Dish();
+        dish.setVendorId(UUID.randomUUID());
+        dish.setName("Pizza");
+        dish.setPrice(10.0);
+        dish = dishRepo.save(dish);
+
+        for (int i = 0; i < ORDERS; i++) {
+            OrderedDish orderedDish = new OrderedDish();
+            orderedDish.setDish(dish);
+            orderedDish.setQuantity(i + 1);
+
+            Order order = new Order();
+            order.setVendorId(dish.getVendorId());
+            order.setCustomerId(UUID.randomUUID());
+            order.setStatus(i % 2 == 0 ? Status.PENDING : Status.DELIVERED);
+            order.setOrderTime(start.plusMinutes(i));
+            order.addDishesItem(orderedDish);
+            orderIds.add(orderRepo.save(order).getID());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Order> export(Status status, OffsetDateTime from, OffsetDateTime to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.export(status, from, to, out);
+
+        List<Order> orders = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                orders.add(objectMapper.readValue(line, Order.class));
+            }
+        }
+        assertThat(orders).hasSize((int) exported);
+        return orders;
+    }
+
+    private List<UUID> ids(List<Order> orders) {
+        List<UUID> ids = new ArrayList<>();
+        orders.forEach(order -> ids.add(order.getID()));
+        return ids;
+    }
+
+    @Test
+    void exportsAllOrdersOldestFirst() throws IOException {
+        List<Order> orders = export(null, null, null);
+
+        assertThat(ids(orders)).containsExactlyElementsOf(orderIds);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getDishes()).hasSize(1));
+        assertThat(orders.get(ORDERS - 1).getDishes().get(0).getQuantity()).isEqualTo(ORDERS);
+    }
+
+    @Test
+    void exportsOrdersWithStatus() throws IOException {
+        List<Order> orders = export(Status.DELIVERED, null, null);
+
+        assertThat(ids(orders)).containsExactly(orderIds.get(1), orderIds.get(3), orderIds.get(5));
+    }
+
+    @Test
+    void exportsOrdersInTimeRange() throws IOException {
+        List<Order> orders = export(null, start.plusMinutes(2), start.plusMinutes(5));
+
+        assertThat(ids(orders)).containsExactly(orderIds.get(2), orderIds.get(3), orderIds.get(4));
+    }
+
+    @Test
+    void exportsNothingWhenNoOrderMatches() throws IOException {
+        assertThat(export(Status.REJECTED, null, null)).isEmpty();
+    }
+
+    @Test
+    void exportedOrdersAreNotKeptInPersistenceContext() throws IOException {
+        export(null, null, null);
+
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
@@ -1,31 +1,34 @@
 package nl.tudelft.sem.template.orders.services;
 
 import nl.tudelft.sem.template.model.Address;
-import nl.tudelft.sem.template.model.Dish;
 import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.model.VendorMenuStats;
 import nl.tudelft.sem.template.model.Vendor;
 import nl.tudelft.sem.template.orders.external.PaymentMock;
 import nl.tudelft.sem.template.orders.external.VendorDTO;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
 import nl.tudelft.sem.template.orders.mappers.VendorMapper;
 import nl.tudelft.sem.template.orders.mappers.interfaces.IVendorMapper;
-import nl.tudelft.sem.template.orders.repositories.DishRepository;
 import nl.tudelft.sem.template.orders.repositories.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 class VendorServiceTest {
 
-    private DishRepository dishRepository;
+    private MenuStatsService menuStatsService;
 
     private OrderRepository orderRepository;
 
@@ -40,16 +43,23 @@ class VendorServiceTest {
 
     @BeforeEach
     void setup() {
-        dishRepository = mock(DishRepository.class);
+        menuStatsService = mock(MenuStatsService.class);
         orderRepository = mock(OrderRepository.class);
         vendorFacade = mock(VendorFacade.class);
         vendorMapper = new VendorMapper();
         paymentMock = new PaymentMock();
-        vendorService = new VendorService(dishRepository, orderRepository, paymentMock, vendorFacade, vendorMapper);
+        vendorService = new VendorService(menuStatsService, orderRepository, paymentMock, vendorFacade, vendorMapper);
         vendorLocation = new Address();
         customerLocation = new Address();
     }
 
+    private VendorMenuStats menuStats(UUID vendorId, double averagePrice) {
+        VendorMenuStats stats = new VendorMenuStats();
+        stats.setVendorId(vendorId);
+        stats.setAveragePrice(averagePrice);
+        return stats;
+    }
+
     @Test
     void testIsInRangeWithinRangeCenter() {
         vendorLocation.setLatitude(40.0);
@@ -107,16 +117,8 @@ class VendorServiceTest {
         VendorDTO vendor = new VendorDTO();
         vendor.setVendorId(UUID.randomUUID());
 
-        Dish dish1 = new Dish();
-        dish1.setPrice(10.0);
-        Dish dish2 = new Dish();
-        dish2.setPrice(20.0);
-        Dish dish3 = new Dish();
-        dish3.setPrice(30.0);
-
-        List<Dish> dishes = Arrays.asList(dish1, dish2, dish3);
-
-        when(dishRepository.getDishesByVendorId(vendor.getVendorId())).thenReturn(dishes);
+        when(menuStatsService.findByVendorIds(List.of(vendor.getVendorId())))
+                .thenReturn(Map.of(vendor.getVendorId(), menuStats(vendor.getVendorId(), 20.0)));
 
         Double averagePrice = vendorService.getAveragePrice(vendor);
 
@@ -162,19 +164,10 @@ class VendorServiceTest {
         vendorLocation.setLongitude(52.0);
         vendorLocation.setLatitude(4.0);
 
-
-        Dish dish1 = new Dish();
-        dish1.setPrice(10.0);
-        Dish dish2 = new Dish();
-        dish2.setPrice(20.0);
-        Dish dish3 = new Dish();
-        dish3.setPrice(30.0);
-
-        List<Dish> dishes = Arrays.asList(dish1, dish2, dish3);
-
         VendorDTO vendor = new VendorDTO(UUID.randomUUID(), "Vendor", false, "vendor@example.com", true, vendorLocation);
 
-        when(dishRepository.getDishesByVendorId(vendor.getVendorId())).thenReturn(dishes);
+        when(menuStatsService.findByVendorIds(Set.of(vendor.getVendorId())))
+                .thenReturn(Map.of(vendor.getVendorId(), menuStats(vendor.getVendorId(), 20.0)));
 
         List<VendorDTO> vendors = List.of(vendor);
 
@@ -183,6 +176,47 @@ class VendorServiceTest {
         assertThat(filteredVendors).containsExactlyInAnyOrder(vendor);
     }
 
+    @Test
+    void testFilterVendorsReadsMenuStatsOnce() {
+        vendorLocation.setLongitude(52.0);
+        vendorLocation.setLatitude(4.0);
+        Address farAway = new Address();
+        farAway.setLongitude(0.0);
+        farAway.setLatitude(0.0);
+
+        VendorDTO cheap = new VendorDTO(UUID.randomUUID(), "Cheap", false, "cheap@example.com", true, vendorLocation);
+        VendorDTO pricey = new VendorDTO(UUID.randomUUID(), "Pricey", false, "pricey@example.com", true,
+                vendorLocation);
+        VendorDTO empty = new VendorDTO(UUID.randomUUID(), "Empty", false, "empty@example.com", true, vendorLocation);
+        VendorDTO far = new VendorDTO(UUID.randomUUID(), "Far", false, "far@example.com", true, farAway);
+
+        when(menuStatsService.findByVendorIds(any())).thenReturn(Map.of(
+                cheap.getVendorId(), menuStats(cheap.getVendorId(), 5.0),
+                pricey.getVendorId(), menuStats(pricey.getVendorId(), 50.0)));
+
+        List<VendorDTO> filteredVendors = vendorService.filterVendors(List.of(cheap, pricey, empty, far), null,
+                0, 10, vendorLocation);
+
+        assertThat(filteredVendors).containsExactly(cheap, empty);
+        verify(menuStatsService).findByVendorIds(
+                Set.of(cheap.getVendorId(), pricey.getVendorId(), empty.getVendorId()));
+        verifyNoMoreInteractions(menuStatsService);
+    }
+
+    @Test
+    void testFilterVendorsNoCandidates() {
+        customerLocation.setLongitude(52.0);
+        customerLocation.setLatitude(4.0);
+        vendorLocation.setLongitude(0.0);
+        vendorLocation.setLatitude(0.0);
+        VendorDTO vendor = new VendorDTO(UUID.randomUUID(), "Vendor", false, "vendor@example.com", true, vendorLocation);
+
+        List<VendorDTO> filteredVendors = vendorService.filterVendors(List.of(vendor), null, null, null,
+                customerLocation);
+
+        assertThat(filteredVendors).isEmpty();
+    }
+
     @Test
     void testGetVendorOrders() {
         Order order1 = new Order();
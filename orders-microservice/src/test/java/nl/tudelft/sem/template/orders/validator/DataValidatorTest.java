@@ -22,7 +22,10 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DataValidatorTest {
@@ -319,4 +322,31 @@ class DataValidatorTest {
 
         assertThat(sut.handle(request)).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFieldsCheckedInDeclarationOrder() {
+        sut = new DataValidator(orderService, dishService, vendorFacade,
+                List.of(DataValidationField.DISH, DataValidationField.USER));
+
+        ValidatorRequest request = new ValidatorRequest();
+        request.setDishUUID(UUID.randomUUID());
+
+        assertThatThrownBy(() -> {
+            sut.handle(request);
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.BAD_REQUEST));
+        verify(dishService, never()).findById(any());
+    }
+
+    @Test
+    public void testFailuresArePreallocatedAndStackless() {
+        sut = new DataValidator(orderService, dishService, vendorFacade, List.of(DataValidationField.USER));
+
+        ValidatorRequest request = new ValidatorRequest();
+
+        Throwable first = catchThrowable(() -> sut.handle(request));
+        Throwable second = catchThrowable(() -> sut.handle(request));
+
+        assertThat(first).isSameAs(second).isSameAs(ValidationFailureException.of(HttpStatus.BAD_REQUEST));
+        assertThat(first.getStackTrace()).isEmpty();
+    }
+}
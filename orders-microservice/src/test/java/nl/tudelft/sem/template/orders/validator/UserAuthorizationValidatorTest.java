@@ -1,26 +1,45 @@
 package nl.tudelft.sem.template.orders.validator;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.tudelft.sem.template.model.Dish;
 import nl.tudelft.sem.template.model.Order;
+import nl.tudelft.sem.template.orders.authentication.JwtTokenService;
 import nl.tudelft.sem.template.orders.integration.AdminFacade;
 import nl.tudelft.sem.template.orders.integration.CustomerFacade;
+import nl.tudelft.sem.template.orders.integration.Downstream;
+import nl.tudelft.sem.template.orders.integration.DownstreamUnavailableException;
+import nl.tudelft.sem.template.orders.integration.UserRole;
 import nl.tudelft.sem.template.orders.integration.VendorFacade;
 import nl.tudelft.sem.template.orders.services.DishService;
 import nl.tudelft.sem.template.orders.services.OrderService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class UserAuthorizationValidatorTest {
+    private static final String SECRET = "a-secret-for-signing-test-tokens-only";
+
     @Mock
     CustomerFacade customerFacade;
     @Mock
@@ -76,6 +95,11 @@ class UserAuthorizationValidatorTest {
         sut = new UserAuthorizationValidator(customerFacade, vendorFacade, orderService, dishService, adminFacade);
     }
 
+    @AfterEach
+    public void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     public void testCustomerSuccessNoOrder() {
         ValidatorRequest request = new ValidatorRequest();
@@ -261,4 +285,167 @@ class UserAuthorizationValidatorTest {
             sut.handle(request);
         }).isInstanceOf(IllegalArgumentException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUsersServiceUnavailable() {
+        when(vendorFacade.checkRoleById(vendorUUID))
+                .thenThrow(new DownstreamUnavailableException(Downstream.USERS, "circuit open"));
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(vendorUUID);
+        request.setUserType(UserType.VENDOR);
+
+        assertThatThrownBy(() -> {
+            sut.handle(request);
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private UserAuthorizationValidator withToken(UUID userId, UserRole role) {
+        JwtTokenService tokenService = new JwtTokenService(SECRET, Duration.ofHours(1), Clock.systemUTC());
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(JwtTokenService.AUTHORIZATION_HEADER, "Bearer " + tokenService.issue(userId, role));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+        return new UserAuthorizationValidator(customerFacade, vendorFacade, orderService, dishService, adminFacade,
+                tokenService);
+    }
+
+    @Test
+    public void testTokenSkipsUsersService() {
+        order.setCustomerId(customerUUID);
+        sut = withToken(customerUUID, UserRole.CUSTOMER);
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(customerUUID);
+        request.setUserType(UserType.CUSTOMER);
+        request.setOrderUUID(order.getID());
+
+        assertThat(sut.handle(request)).isTrue();
+        verifyNoInteractions(customerFacade);
+    }
+
+    @Test
+    public void testTokenStillChecksOwnership() {
+        order.setVendorId(UUID.randomUUID());
+        sut = withToken(vendorUUID, UserRole.VENDOR);
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(vendorUUID);
+        request.setUserType(UserType.VENDOR);
+        request.setOrderUUID(order.getID());
+
+        assertThatThrownBy(() -> {
+            sut.handle(request);
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Test
+    public void testTokenOfOtherUserOrRole() {
+        sut = withToken(customerUUID, UserRole.CUSTOMER);
+        ValidatorRequest otherUser = new ValidatorRequest();
+        otherUser.setUserUUID(UUID.randomUUID());
+        otherUser.setUserType(UserType.CUSTOMER);
+        ValidatorRequest otherRole = new ValidatorRequest();
+        otherRole.setUserUUID(customerUUID);
+        otherRole.setUserType(UserType.ADMIN);
+
+        assertThatThrownBy(() -> {
+            sut.handle(otherUser);
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.UNAUTHORIZED));
+        assertThatThrownBy(() -> {
+            sut.handle(otherRole);
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.UNAUTHORIZED));
+        verifyNoInteractions(customerFacade, adminFacade);
+    }
+
+    @Test
+    public void testInvalidToken() {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(JwtTokenService.AUTHORIZATION_HEADER, "Bearer not-a-token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+        sut = new UserAuthorizationValidator(customerFacade, vendorFacade, orderService, dishService, adminFacade,
+                new JwtTokenService(SECRET, Duration.ofHours(1), Clock.systemUTC()));
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(customerUUID);
+        request.setUserType(UserType.CUSTOMER);
+
+        assertThatThrownBy(() -> {
+            sut.handle(request);
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.UNAUTHORIZED));
+        verifyNoInteractions(customerFacade);
+    }
+
+    private UserAuthorizationValidator parallel(MeterRegistry registry) {
+        return new UserAuthorizationValidator(customerFacade, vendorFacade, orderService, dishService, adminFacade,
+                null, AuthorizationMode.PARALLEL, registry);
+    }
+
+    private ValidatorRequest customerOrderRequest() {
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(customerUUID);
+        request.setUserType(UserType.CUSTOMER);
+        request.setOrderUUID(order.getID());
+        return request;
+    }
+
+    @Test
+    public void testParallelSuccessIsTimed() {
+        order.setCustomerId(customerUUID);
+        when(customerFacade.checkRoleByIdAsync(customerUUID)).thenReturn(CompletableFuture.completedFuture(true));
+        when(customerFacade.existsByIdAsync(customerUUID)).thenReturn(CompletableFuture.completedFuture(true));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        sut = parallel(registry);
+
+        assertThat(sut.handle(customerOrderRequest())).isTrue();
+        Timer timer = registry.get("validation.authorization")
+                .tag("userType", "customer").tag("mode", "parallel").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        verify(customerFacade, never()).checkRoleById(any());
+        verify(customerFacade, never()).existsById(any());
+    }
+
+    @Test
+    public void testParallelFailsFastWithoutCancellingSharedChecks() {
+        order.setCustomerId(customerUUID);
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(customerFacade.checkRoleByIdAsync(customerUUID)).thenReturn(CompletableFuture.completedFuture(false));
+        when(customerFacade.existsByIdAsync(customerUUID)).thenReturn(pending);
+        sut = parallel(new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> {
+            sut.handle(customerOrderRequest());
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.UNAUTHORIZED));
+        assertThat(pending).isNotDone();
+    }
+
+    @Test
+    public void testParallelKeepsSequentialPrecedence() {
+        order.setCustomerId(UUID.randomUUID());
+        when(customerFacade.checkRoleByIdAsync(customerUUID)).thenReturn(CompletableFuture.completedFuture(true));
+        when(customerFacade.existsByIdAsync(customerUUID)).thenReturn(CompletableFuture.completedFuture(false));
+        sut = parallel(new SimpleMeterRegistry());
+
+        //The user does not exist and does not own the order, the existence check comes first
+        assertThatThrownBy(() -> {
+            sut.handle(customerOrderRequest());
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.NOT_FOUND));
+
+        when(customerFacade.existsByIdAsync(customerUUID)).thenReturn(CompletableFuture.completedFuture(true));
+        assertThatThrownBy(() -> {
+            sut.handle(customerOrderRequest());
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Test
+    public void testParallelUsersServiceUnavailable() {
+        when(vendorFacade.checkRoleByIdAsync(vendorUUID)).thenReturn(CompletableFuture.failedFuture(
+                new DownstreamUnavailableException(Downstream.USERS, "circuit open")));
+        when(vendorFacade.existsByIdAsync(vendorUUID)).thenReturn(CompletableFuture.completedFuture(true));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        sut = parallel(registry);
+        ValidatorRequest request = new ValidatorRequest();
+        request.setUserUUID(vendorUUID);
+        request.setUserType(UserType.VENDOR);
+
+        assertThatThrownBy(() -> {
+            sut.handle(request);
+        }).matches((e) -> ((ValidationFailureException) e).getFailureStatus().equals(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(registry.get("validation.authorization").tag("userType", "vendor").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,60 @@
+package nl.tudelft.sem.template.orders.validator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ValidationPipelineTest {
+
+    @Test
+    void linksValidatorsInOrder() {
+        Validator first = mock(Validator.class);
+        Validator second = mock(Validator.class);
+
+        new ValidationPipeline(first, second);
+
+        verify(first).setNext(second);
+        verify(second, never()).setNext(any());
+    }
+
+    @Test
+    void validatesThroughHead() {
+        Validator first = mock(Validator.class);
+        Validator second = mock(Validator.class);
+        ValidatorRequest request = new ValidatorRequest();
+        when(first.handle(request)).thenReturn(true);
+
+        assertThat(new ValidationPipeline(first, second).validate(request)).isTrue();
+        verify(second, never()).handle(any());
+    }
+
+    @Test
+    void emptyPipeline() {
+        assertThatThrownBy(ValidationPipeline::new).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pipelineIsReusedAcrossRequests() {
+        ValidationPipelines pipelines = ValidationPipelines.sequential(null, null, null, null, null);
+        ValidationPipeline pipeline = pipelines.get(ValidatedOperation.UPDATE_ORDER_STATUS);
+
+        ValidatorRequest invalid = new ValidatorRequest();
+        invalid.setUserUUID(UUID.randomUUID());
+
+        assertThat(pipelines.get(ValidatedOperation.UPDATE_ORDER_STATUS)).isSameAs(pipeline);
+        assertThatThrownBy(() -> pipeline.validate(invalid))
+                .isInstanceOf(ValidationFailureException.class)
+                .extracting("failureStatus").isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> pipeline.validate(invalid))
+                .isInstanceOf(ValidationFailureException.class);
+    }
+}